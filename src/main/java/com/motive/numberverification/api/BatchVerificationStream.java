@@ -0,0 +1,136 @@
+package com.motive.numberverification.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.motive.numberverification.api.model.BatchVerificationResult;
+import com.motive.numberverification.api.model.VerificationRequest;
+import com.motive.numberverification.service.BatchVerificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Streams a batch verification on the servlet stack: items are read one at a time from a JSON array or
+ * NDJSON body and results are written as NDJSON in the order they complete.
+ *
+ * <p>The calling thread reads, dispatches and writes. At most {@code maxConcurrency} items are in flight;
+ * when all are taken it writes the next completed result before reading on, so a slow client or provider
+ * holds back reading rather than letting results pile up. Memory use depends on the concurrency limit,
+ * not on the size of the batch. Results completed while the thread waits for more input are written
+ * once the next item has been read.
+ */
+class BatchVerificationStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchVerificationStream.class);
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader itemReader;
+    private final ObjectWriter resultWriter;
+    private final BatchVerificationService batchVerificationService;
+
+    BatchVerificationStream(ObjectMapper objectMapper, BatchVerificationService batchVerificationService) {
+        this.objectMapper = objectMapper;
+        this.itemReader = objectMapper.readerFor(VerificationRequest.class);
+        // Flushed once per round of results rather than after every line
+        this.resultWriter = objectMapper.writerFor(BatchVerificationResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.batchVerificationService = batchVerificationService;
+    }
+
+    /**
+     * Verify every item of the body and write one result line per item. A body that stops parsing ends the
+     * batch with an error line for the item that could not be read.
+     *
+     * @return The number of items read
+     */
+    long process(InputStream body, OutputStream out, String clientKey) throws IOException {
+        int maxConcurrency = batchVerificationService.maxConcurrency();
+        BlockingQueue<BatchVerificationResult> completed = new ArrayBlockingQueue<>(maxConcurrency);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+
+        long index = 0;
+        int inFlight = 0;
+        JsonProcessingException malformed = null;
+        try (MappingIterator<VerificationRequest> items = itemReader.readValues(body)) {
+            while (true) {
+                VerificationRequest item;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    item = items.nextValue();
+                } catch (JsonProcessingException e) {
+                    malformed = e;
+                    break;
+                }
+
+                int written = 0;
+                if (inFlight == maxConcurrency) {
+                    write(generator, take(completed));
+                    written++;
+                }
+                // Never blocks: the queue has room for every item in flight
+                batchVerificationService.verifyItem(index++, item, clientKey).thenAccept(completed::add);
+                inFlight++;
+                written += drain(generator, completed);
+                inFlight -= written;
+                if (written > 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        for (; inFlight > 0; inFlight--) {
+            write(generator, take(completed));
+        }
+        if (malformed != null) {
+            logger.warn("Batch body unreadable at item {}: {}", index, malformed.getOriginalMessage());
+            write(generator, BatchVerificationResult.error(index, "VALIDATION_ERROR",
+                    "Malformed batch item: " + malformed.getOriginalMessage()));
+        }
+        generator.flush();
+        return index;
+    }
+
+    /**
+     * Write the results already completed, without flushing.
+     *
+     * @return The number of results written
+     */
+    private int drain(JsonGenerator generator, BlockingQueue<BatchVerificationResult> completed) throws IOException {
+        int written = 0;
+        BatchVerificationResult result;
+        while ((result = completed.poll()) != null) {
+            write(generator, result);
+            written++;
+        }
+        return written;
+    }
+
+    private void write(JsonGenerator generator, BatchVerificationResult result) throws IOException {
+        resultWriter.writeValue(generator, result);
+        generator.writeRaw('\n');
+    }
+
+    private static BatchVerificationResult take(BlockingQueue<BatchVerificationResult> completed)
+            throws InterruptedIOException {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for batch results");
+        }
+    }
+}
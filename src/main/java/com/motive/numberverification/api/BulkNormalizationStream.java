@@ -0,0 +1,126 @@
+package com.motive.numberverification.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.motive.numberverification.api.model.PhoneNumberNormalizationResult;
+import com.motive.numberverification.service.PhoneNumberNormalizationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Streams a bulk normalization on the servlet stack. The body is a JSON array, or a stream of JSON values,
+ * of phone numbers; results are written as NDJSON in input order.
+ *
+ * <p>Numbers are read in chunks. While one chunk is normalized on the fork-join pool the next is read,
+ * and a chunk's results are written once the following chunk has been submitted, so at most two chunks
+ * are held at a time whatever the size of the input. Values that are not strings or numbers are invalid
+ * items.
+ */
+class BulkNormalizationStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkNormalizationStream.class);
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter resultWriter;
+    private final PhoneNumberNormalizationService normalizationService;
+
+    BulkNormalizationStream(ObjectMapper objectMapper, PhoneNumberNormalizationService normalizationService) {
+        this.objectMapper = objectMapper;
+        this.resultWriter = objectMapper.writerFor(PhoneNumberNormalizationResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.normalizationService = normalizationService;
+    }
+
+    /**
+     * Normalize every number of the body and write one result line per number. A body that stops parsing
+     * ends the output with an error line for the value that could not be read.
+     *
+     * @return The number of phone numbers read
+     */
+    long process(InputStream body, OutputStream out) throws IOException {
+        int chunkSize = normalizationService.chunkSize();
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+
+        long index = 0;
+        List<String> chunk = new ArrayList<>(chunkSize);
+        CompletableFuture<List<PhoneNumberNormalizationResult>> pending = null;
+        JsonProcessingException malformed = null;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                chunk.add(phoneNumber(parser, token));
+                if (chunk.size() == chunkSize) {
+                    CompletableFuture<List<PhoneNumberNormalizationResult>> next =
+                            normalizationService.normalize(chunk, index);
+                    index += chunk.size();
+                    chunk = new ArrayList<>(chunkSize);
+                    write(generator, pending);
+                    pending = next;
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            malformed = e;
+        }
+
+        CompletableFuture<List<PhoneNumberNormalizationResult>> last = chunk.isEmpty()
+                ? null
+                : normalizationService.normalize(chunk, index);
+        index += chunk.size();
+        write(generator, pending);
+        write(generator, last);
+        if (malformed != null) {
+            logger.warn("Bulk normalization body unreadable at item {}: {}", index, malformed.getOriginalMessage());
+            PhoneNumberNormalizationResult error = PhoneNumberNormalizationResult.invalid(index);
+            error.setErrorCode("VALIDATION_ERROR");
+            error.setMessage("Malformed phone number list: " + malformed.getOriginalMessage());
+            resultWriter.writeValue(generator, error);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return index;
+    }
+
+    /**
+     * The phone number at the current token; null for objects and arrays, which are skipped.
+     */
+    private static String phoneNumber(JsonParser parser, JsonToken token) throws IOException {
+        if (token.isScalarValue()) {
+            return token == JsonToken.VALUE_NULL ? null : parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * Write the results of a chunk, once it completes, and flush them to the client.
+     */
+    private void write(JsonGenerator generator, CompletableFuture<List<PhoneNumberNormalizationResult>> results)
+            throws IOException {
+        if (results == null) {
+            return;
+        }
+        for (PhoneNumberNormalizationResult result : results.join()) {
+            resultWriter.writeValue(generator, result);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+}
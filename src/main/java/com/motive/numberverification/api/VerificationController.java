@@ -1,70 +1,156 @@
 package com.motive.numberverification.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.motive.numberverification.api.model.DevicePhoneNumberResponse;
 import com.motive.numberverification.api.model.VerificationRequest;
 import com.motive.numberverification.api.model.VerificationResponse;
+import com.motive.numberverification.common.exception.ValidationError;
+import com.motive.numberverification.security.RateLimiter;
+import com.motive.numberverification.service.BatchVerificationService;
+import com.motive.numberverification.service.IdempotentVerificationService;
+import com.motive.numberverification.service.PhoneNumberNormalizationService;
 import com.motive.numberverification.service.VerificationService;
-import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Number Verification", description = "Number Verification API")
 public class VerificationController {
 
     private static final Logger logger = LoggerFactory.getLogger(VerificationController.class);
     
     private final VerificationService verificationService;
+    private final IdempotentVerificationService idempotentVerificationService;
+    private final BatchVerificationStream batchVerificationStream;
+    private final BulkNormalizationStream bulkNormalizationStream;
 
     @Autowired
-    public VerificationController(VerificationService verificationService) {
+    public VerificationController(VerificationService verificationService,
+                                  IdempotentVerificationService idempotentVerificationService,
+                                  BatchVerificationService batchVerificationService,
+                                  PhoneNumberNormalizationService normalizationService,
+                                  ObjectMapper objectMapper) {
         this.verificationService = verificationService;
+        this.idempotentVerificationService = idempotentVerificationService;
+        this.batchVerificationStream = new BatchVerificationStream(objectMapper, batchVerificationService);
+        this.bulkNormalizationStream = new BulkNormalizationStream(objectMapper, normalizationService);
     }
 
+    /**
+     * The request is validated by {@link VerificationRequest#validate()} rather than bean validation, so
+     * an invalid request is rejected at about the cost of accepting a valid one. Requests carrying an
+     * {@code Idempotency-Key} go through {@link IdempotentVerificationService}.
+     */
     @PostMapping("/verify")
     @Operation(summary = "Verify if provided phone number matches the user's device",
-               description = "Validates whether the provided phone number matches the one associated with the user's device")
-    public ResponseEntity<VerificationResponse> verifyPhoneNumber(@Valid @RequestBody VerificationRequest request) {
+               description = "Validates whether the provided phone number matches the one associated with the user's device. "
+                       + "Retries sent with the same Idempotency-Key and body get the first result replayed.")
+    public CompletableFuture<ResponseEntity<VerificationResponse>> verifyPhoneNumber(
+            @RequestBody VerificationRequest request,
+            @RequestHeader(value = IdempotentVerificationService.HEADER, required = false) String idempotencyKey) {
         logger.info("Received verification request");
         
+        ValidationError invalid = request.validate();
+        if (invalid == null && idempotencyKey != null) {
+            invalid = IdempotentVerificationService.validateKey(idempotencyKey);
+        }
+        if (invalid != null) {
+            throw invalid.exception();
+        }
+        
         if (request.getPhoneNumber() != null) {
             logger.info("Verifying phone number: {}", maskPhoneNumber(request.getPhoneNumber()));
         } else if (request.getHashedPhoneNumber() != null) {
             logger.info("Verifying hashed phone number");
         }
         
-        // Call the service layer to process the verification
-        boolean verified = verificationService.verifyPhoneNumber(request);
+        // Call the service layer to process the verification; the servlet thread is released meanwhile
+        CompletableFuture<Boolean> verification = idempotencyKey != null
+                ? idempotentVerificationService.verifyPhoneNumberAsync(idempotencyKey, request)
+                : verificationService.verifyPhoneNumberAsync(request);
+        // The response is built on the thread that completes the verification: it does no blocking work,
+        // and handing it to a saturated executor would leave the request unanswered
+        return verification
+                .thenApply(verified -> {
+                    // Create response with verification result
+                    VerificationResponse response = new VerificationResponse(verified);
+                    
+                    logger.info("Verification completed with result: {}", verified);
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+    /**
+     * Streams the batch on the request thread, so it is not cut short by the async request timeout; with
+     * virtual threads enabled that thread is cheap to hold.
+     */
+    @PostMapping(value = "/verify/batch",
+                 consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Verify a batch of phone numbers",
+               description = "Accepts a JSON array or NDJSON stream of verification requests and streams back one "
+                       + "NDJSON result per item, tagged with its index, as items complete. Each item counts "
+                       + "against the rate limit.")
+    public void verifyPhoneNumberBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        logger.info("Received batch verification request");
+        
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        String clientKey = RateLimiter.clientKey(request.getHeader("X-API-Key"), request.getRemoteAddr());
+        long items = batchVerificationStream.process(request.getInputStream(), response.getOutputStream(), clientKey);
         
-        // Create response with verification result
-        VerificationResponse response = new VerificationResponse(verified);
+        logger.info("Batch verification completed for {} items", items);
+    }
+
+    /**
+     * Streams on the request thread, like the batch verification.
+     */
+    @PostMapping(value = "/phone-numbers/normalize",
+                 consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Normalize and validate a list of phone numbers",
+               description = "Accepts a JSON array or NDJSON stream of phone numbers and streams back one NDJSON "
+                       + "result per number, in input order: its E.164 form if it is valid, an error otherwise")
+    public void normalizePhoneNumbers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        logger.info("Received bulk normalization request");
+        
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        long phoneNumbers = bulkNormalizationStream.process(request.getInputStream(), response.getOutputStream());
         
-        logger.info("Verification completed with result: {}", verified);
-        return ResponseEntity.ok(response);
+        logger.info("Bulk normalization completed for {} phone numbers", phoneNumbers);
     }
 
     @GetMapping("/device-phone-number")
     @Operation(summary = "Retrieve phone number from user's device",
                description = "Retrieves the phone number associated with the user's device")
-    public ResponseEntity<DevicePhoneNumberResponse> getDevicePhoneNumber() {
+    public CompletableFuture<ResponseEntity<DevicePhoneNumberResponse>> getDevicePhoneNumber() {
         logger.info("Received request to retrieve device phone number");
         
         // Call the service layer to retrieve the device phone number
-        String phoneNumber = verificationService.getDevicePhoneNumber();
-        
-        // Create response with phone number
-        DevicePhoneNumberResponse response = new DevicePhoneNumberResponse(phoneNumber);
-        
-        logger.info("Retrieved device phone number: {}", maskPhoneNumber(phoneNumber));
-        return ResponseEntity.ok(response);
+        return verificationService.getDevicePhoneNumberAsync()
+                .thenApply(phoneNumber -> {
+                    // Create response with phone number
+                    DevicePhoneNumberResponse response = new DevicePhoneNumberResponse(phoneNumber);
+                    
+                    logger.info("Retrieved device phone number: {}", maskPhoneNumber(phoneNumber));
+                    return ResponseEntity.ok(response);
+                });
     }
     
     /**
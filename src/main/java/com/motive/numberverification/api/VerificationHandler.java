@@ -0,0 +1,237 @@
+package com.motive.numberverification.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.motive.numberverification.api.model.BatchVerificationResult;
+import com.motive.numberverification.api.model.DevicePhoneNumberResponse;
+import com.motive.numberverification.api.model.PhoneNumberNormalizationResult;
+import com.motive.numberverification.api.model.VerificationRequest;
+import com.motive.numberverification.api.model.VerificationResponse;
+import com.motive.numberverification.common.exception.ApiError;
+import com.motive.numberverification.common.exception.ApiException;
+import com.motive.numberverification.common.exception.CorrelationIds;
+import com.motive.numberverification.common.exception.ValidationError;
+import com.motive.numberverification.common.util.PhoneNumberUtils;
+import com.motive.numberverification.security.ReactiveRateLimitingFilter;
+import com.motive.numberverification.service.IdempotentVerificationService;
+import com.motive.numberverification.service.PhoneNumberNormalizationService;
+import com.motive.numberverification.service.ReactiveVerificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Functional WebFlux handler for the verification endpoints, the reactive counterpart of
+ * {@link VerificationController}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class VerificationHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationHandler.class);
+    
+    private final ReactiveVerificationService verificationService;
+    private final PhoneNumberUtils phoneNumberUtils;
+    private final PhoneNumberNormalizationService normalizationService;
+    private final Duration requestTimeout;
+
+    public VerificationHandler(ReactiveVerificationService verificationService,
+                               PhoneNumberUtils phoneNumberUtils,
+                               PhoneNumberNormalizationService normalizationService,
+                               @Value("${verification.async.request-timeout:5s}") Duration requestTimeout) {
+        this.verificationService = verificationService;
+        this.phoneNumberUtils = phoneNumberUtils;
+        this.normalizationService = normalizationService;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Verify if provided phone number matches the user's device.
+     */
+    public Mono<ServerResponse> verifyPhoneNumber(ServerRequest request) {
+        logger.info("Received verification request");
+        
+        String idempotencyKey = request.headers().firstHeader(IdempotentVerificationService.HEADER);
+        return request.bodyToMono(VerificationRequest.class)
+                .flatMap(body -> {
+                    ValidationError invalid = body.validate();
+                    if (invalid == null && idempotencyKey != null) {
+                        invalid = IdempotentVerificationService.validateKey(idempotencyKey);
+                    }
+                    if (invalid != null) {
+                        logger.debug("Validation error: {}", invalid.getMessage());
+                        return error(request, invalid);
+                    }
+                    
+                    if (body.getPhoneNumber() != null) {
+                        logger.info("Verifying phone number: {}", phoneNumberUtils.maskPhoneNumber(body.getPhoneNumber()));
+                    } else if (body.getHashedPhoneNumber() != null) {
+                        logger.info("Verifying hashed phone number");
+                    }
+                    
+                    Mono<Boolean> verification = idempotencyKey != null
+                            ? verificationService.verifyPhoneNumber(body, idempotencyKey)
+                            : verificationService.verifyPhoneNumber(body);
+                    return verification
+                            .timeout(requestTimeout)
+                            .flatMap(verified -> {
+                                logger.info("Verification completed with result: {}", verified);
+                                return ServerResponse.ok()
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .bodyValue(new VerificationResponse(verified));
+                            });
+                })
+                .switchIfEmpty(Mono.defer(() -> error(request, ValidationError.MALFORMED_BODY)))
+                .onErrorResume(TimeoutException.class, e -> timeout(request))
+                .onErrorResume(ApiException.class, e -> error(request, e));
+    }
+
+    /**
+     * Verify a batch of phone numbers. The body is a JSON array or NDJSON stream of verification requests,
+     * decoded item by item; one NDJSON result per item is streamed back as items complete. The batch is not
+     * bounded by the request timeout: each item is verified under its own deadline.
+     */
+    public Mono<ServerResponse> verifyPhoneNumberBatch(ServerRequest request) {
+        logger.info("Received batch verification request");
+        
+        AtomicLong read = new AtomicLong();
+        Flux<VerificationRequest> items = request.bodyToFlux(VerificationRequest.class)
+                .doOnNext(item -> read.incrementAndGet());
+        Flux<BatchVerificationResult> results = verificationService
+                .verifyBatch(items, ReactiveRateLimitingFilter.clientKey(request.exchange().getRequest()))
+                .onErrorResume(ServerWebInputException.class, e -> {
+                    String reason = reason(e);
+                    logger.warn("Batch body unreadable at item {}: {}", read.get(), reason);
+                    return Flux.just(BatchVerificationResult.error(read.get(), "VALIDATION_ERROR",
+                            "Malformed batch item: " + reason));
+                })
+                .doOnComplete(() -> logger.info("Batch verification completed for {} items", read.get()));
+        
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(results, BatchVerificationResult.class);
+    }
+
+    /**
+     * Normalize and validate a list of phone numbers. The body is a JSON array or NDJSON stream of phone
+     * numbers, normalized in chunks on the fork-join pool, two chunks at a time; one NDJSON result per
+     * number is streamed back in input order.
+     */
+    public Mono<ServerResponse> normalizePhoneNumbers(ServerRequest request) {
+        logger.info("Received bulk normalization request");
+        
+        int chunkSize = normalizationService.chunkSize();
+        AtomicLong read = new AtomicLong();
+        AtomicReference<String> malformed = new AtomicReference<>();
+        Flux<PhoneNumberNormalizationResult> results = request.bodyToFlux(JsonNode.class)
+                .doOnNext(node -> read.incrementAndGet())
+                // Objects and arrays are invalid items; Reactor does not carry nulls
+                .map(node -> node.isValueNode() && !node.isNull() ? node.asText() : "")
+                .onErrorResume(ServerWebInputException.class, e -> {
+                    malformed.set(reason(e));
+                    return Flux.empty();
+                })
+                .buffer(chunkSize)
+                .index()
+                .flatMapSequential(chunk -> Mono.fromFuture(() ->
+                        normalizationService.normalize(chunk.getT2(), chunk.getT1() * chunkSize)), 2)
+                .flatMapIterable(Function.identity())
+                .concatWith(Flux.defer(() -> {
+                    if (malformed.get() == null) {
+                        return Flux.empty();
+                    }
+                    logger.warn("Bulk normalization body unreadable at item {}: {}", read.get(), malformed.get());
+                    PhoneNumberNormalizationResult error = PhoneNumberNormalizationResult.invalid(read.get());
+                    error.setErrorCode("VALIDATION_ERROR");
+                    error.setMessage("Malformed phone number list: " + malformed.get());
+                    return Flux.just(error);
+                }))
+                .doOnComplete(() -> logger.info("Bulk normalization completed for {} phone numbers", read.get()));
+        
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(results, PhoneNumberNormalizationResult.class);
+    }
+
+    /**
+     * Retrieve phone number from user's device.
+     */
+    public Mono<ServerResponse> getDevicePhoneNumber(ServerRequest request) {
+        logger.info("Received request to retrieve device phone number");
+        
+        return verificationService.getDevicePhoneNumber()
+                .timeout(requestTimeout)
+                .map(DevicePhoneNumberResponse::new)
+                .defaultIfEmpty(new DevicePhoneNumberResponse())
+                .flatMap(response -> {
+                    logger.info("Retrieved device phone number: {}",
+                            phoneNumberUtils.maskPhoneNumber(response.getPhoneNumber()));
+                    return ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(response);
+                })
+                .onErrorResume(TimeoutException.class, e -> timeout(request));
+    }
+    
+    /**
+     * Why the body could not be decoded, without Jackson's location details.
+     */
+    private static String reason(ServerWebInputException e) {
+        Throwable cause = e.getMostSpecificCause();
+        return cause instanceof JsonProcessingException json ? json.getOriginalMessage() : cause.getMessage();
+    }
+    
+    private Mono<ServerResponse> timeout(ServerRequest request) {
+        logger.error("Request timed out: {}", request.path());
+        return error(request, HttpStatus.GATEWAY_TIMEOUT, "REQUEST_TIMEOUT",
+                "The request did not complete in time. Please try again later.");
+    }
+    
+    private Mono<ServerResponse> error(ServerRequest request, ValidationError error) {
+        return ServerResponse.status(error.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(error.toApiError(request.path()));
+    }
+    
+    private Mono<ServerResponse> error(ServerRequest request, ApiException e) {
+        ServerResponse.BodyBuilder response = ServerResponse.status(e.getStatus());
+        if (e.getRetryAfterSeconds() > 0) {
+            response.header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()));
+        }
+        return error(request, response, e.getErrorCode(), e.getMessage());
+    }
+    
+    private Mono<ServerResponse> error(ServerRequest request, HttpStatus status, String errorCode, String message) {
+        return error(request, ServerResponse.status(status), errorCode, message);
+    }
+    
+    private Mono<ServerResponse> error(ServerRequest request, ServerResponse.BodyBuilder response,
+                                       String errorCode, String message) {
+        ApiError error = ApiError.builder()
+                .errorCode(errorCode)
+                .message(message)
+                .path(request.path())
+                .correlationId(CorrelationIds.next())
+                .build();
+        
+        return response
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(error);
+    }
+}
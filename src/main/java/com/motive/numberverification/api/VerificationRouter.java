@@ -0,0 +1,26 @@
+package com.motive.numberverification.api;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Functional WebFlux routes for the verification endpoints, active in the reactive profile.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class VerificationRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> verificationRoutes(VerificationHandler verificationHandler) {
+        return RouterFunctions.route()
+                .POST("/verify", verificationHandler::verifyPhoneNumber)
+                .POST("/verify/batch", verificationHandler::verifyPhoneNumberBatch)
+                .POST("/phone-numbers/normalize", verificationHandler::normalizePhoneNumbers)
+                .GET("/device-phone-number", verificationHandler::getDevicePhoneNumber)
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.motive.numberverification.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of one item of a batch verification, written as one NDJSON line.
+ * Carries either the verification result or an error, with the item's position in the batch.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchVerificationResult {
+
+    private long index;
+    private Boolean devicePhoneNumberVerified;
+    private String errorCode;
+    private String message;
+
+    public BatchVerificationResult() {
+    }
+
+    public static BatchVerificationResult verified(long index, boolean devicePhoneNumberVerified) {
+        BatchVerificationResult result = new BatchVerificationResult();
+        result.index = index;
+        result.devicePhoneNumberVerified = devicePhoneNumberVerified;
+        return result;
+    }
+
+    public static BatchVerificationResult error(long index, String errorCode, String message) {
+        BatchVerificationResult result = new BatchVerificationResult();
+        result.index = index;
+        result.errorCode = errorCode;
+        result.message = message;
+        return result;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public Boolean getDevicePhoneNumberVerified() {
+        return devicePhoneNumberVerified;
+    }
+
+    public void setDevicePhoneNumberVerified(Boolean devicePhoneNumberVerified) {
+        this.devicePhoneNumberVerified = devicePhoneNumberVerified;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
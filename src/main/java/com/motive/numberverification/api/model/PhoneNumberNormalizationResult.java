@@ -0,0 +1,79 @@
+package com.motive.numberverification.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.motive.numberverification.common.exception.ValidationError;
+
+/**
+ * Result of normalizing one phone number of a bulk request, written as one NDJSON line.
+ * A valid number carries its E.164 form; an invalid one an error code and message.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PhoneNumberNormalizationResult {
+
+    public static final String INVALID_PHONE_NUMBER = ValidationError.INVALID_PHONE_NUMBER.getErrorCode();
+
+    private long index;
+    private boolean valid;
+    private String phoneNumber;
+    private String errorCode;
+    private String message;
+
+    public PhoneNumberNormalizationResult() {
+    }
+
+    public static PhoneNumberNormalizationResult valid(long index, String phoneNumber) {
+        PhoneNumberNormalizationResult result = new PhoneNumberNormalizationResult();
+        result.index = index;
+        result.valid = true;
+        result.phoneNumber = phoneNumber;
+        return result;
+    }
+
+    public static PhoneNumberNormalizationResult invalid(long index) {
+        PhoneNumberNormalizationResult result = new PhoneNumberNormalizationResult();
+        result.index = index;
+        result.errorCode = INVALID_PHONE_NUMBER;
+        result.message = ValidationError.INVALID_PHONE_NUMBER.getMessage();
+        return result;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
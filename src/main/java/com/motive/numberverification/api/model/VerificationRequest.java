@@ -1,9 +1,14 @@
 package com.motive.numberverification.api.model;
 
+import com.motive.numberverification.common.exception.ValidationError;
 import jakarta.validation.constraints.Pattern;
 
 public class VerificationRequest {
     
+    /** Digits an E.164 number has at most, country code included. */
+    private static final int MAX_E164_DIGITS = 15;
+    
+    // Checked by validate(); the annotation documents the format in the API schema
     @Pattern(regexp = "^\\+?[1-9]\\d{1,14}$", message = "Phone number must be in E.164 format")
     private String phoneNumber;
     
@@ -31,4 +36,28 @@ public class VerificationRequest {
         return (phoneNumber != null && !phoneNumber.isEmpty()) || 
                (hashedPhoneNumber != null && !hashedPhoneNumber.isEmpty());
     }
+    
+    /**
+     * Validate the request without throwing or allocating; equivalent to the bean validation constraints.
+     * 
+     * @return The error to reject the request with, or null if the request is valid
+     */
+    public ValidationError validate() {
+        if (phoneNumber == null) {
+            return null;
+        }
+        // ^\+?[1-9]\d{1,14}$
+        int start = phoneNumber.startsWith("+") ? 1 : 0;
+        int digits = phoneNumber.length() - start;
+        if (digits < 2 || digits > MAX_E164_DIGITS || phoneNumber.charAt(start) == '0') {
+            return ValidationError.PHONE_NUMBER_FORMAT;
+        }
+        for (int i = start; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return ValidationError.PHONE_NUMBER_FORMAT;
+            }
+        }
+        return null;
+    }
 }
\ No newline at end of file
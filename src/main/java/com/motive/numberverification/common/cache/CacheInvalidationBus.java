@@ -0,0 +1,313 @@
+package com.motive.numberverification.common.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Invalidates cache entries on every node: the entry is evicted from both tiers here, and the other
+ * nodes are told to drop their local copies.
+ *
+ * <p>Invalidations are collected for {@code verification.cache.invalidation.batch-window} and published
+ * as one message, with repeated keys sent once. Each message carries a cluster-wide sequence number; a
+ * node that sees a number still missing one check interval after it was allocated, or that had to
+ * resubscribe, assumes it missed invalidations and clears its local tier, falling back to the shared one.
+ */
+@Component
+public class CacheInvalidationBus implements InvalidationTransport.Listener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String RESYNC_MISSED_MESSAGES = "missed_messages";
+    private static final String RESYNC_RESUBSCRIBED = "resubscribed";
+
+    private final TwoTierCacheManager cacheManager;
+    private final InvalidationTransport transport;
+    private final boolean enabled;
+    private final Duration batchWindow;
+    private final int maxBatchSize;
+    private final Duration resyncCheckInterval;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService scheduler;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Object batchLock = new Object();
+    private Batch pending = new Batch();
+    private boolean flushScheduled;
+
+    private final Object sequenceLock = new Object();
+    /** Every sequence up to here has been received or written off by a resync. */
+    private long watermark;
+    private final TreeSet<Long> receivedAboveWatermark = new TreeSet<>();
+    /** Cluster sequence at the previous check; anything up to it should have arrived by now. */
+    private long sequenceAtLastCheck;
+
+    private final Counter batchesPublished;
+    private final Counter batchesFailed;
+    private final Counter keysSent;
+    private final Counter keysReceived;
+
+    public CacheInvalidationBus(
+            TwoTierCacheManager cacheManager,
+            InvalidationTransport transport,
+            @Value("${verification.cache.invalidation.enabled:true}") boolean enabled,
+            @Value("${verification.cache.invalidation.batch-window:50ms}") Duration batchWindow,
+            @Value("${verification.cache.invalidation.max-batch-size:500}") int maxBatchSize,
+            @Value("${verification.cache.invalidation.resync-check-interval:10s}") Duration resyncCheckInterval,
+            MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.transport = transport;
+        this.enabled = enabled;
+        this.batchWindow = batchWindow;
+        this.maxBatchSize = maxBatchSize;
+        this.resyncCheckInterval = resyncCheckInterval;
+        this.meterRegistry = meterRegistry;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-invalidation-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+
+        this.batchesPublished = meterRegistry.counter("cache.invalidation.batches", "result", "published");
+        this.batchesFailed = meterRegistry.counter("cache.invalidation.batches", "result", "failed");
+        this.keysSent = meterRegistry.counter("cache.invalidation.keys", "direction", "sent");
+        this.keysReceived = meterRegistry.counter("cache.invalidation.keys", "direction", "received");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        transport.subscribe(this);
+        long interval = resyncCheckInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkForMissedMessages, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        scheduler.shutdown();
+    }
+
+    /**
+     * Invalidate one entry on every node.
+     */
+    public void invalidate(String cacheName, String key) {
+        cacheManager.getCache(cacheName).evict(key);
+        enqueue(batch -> batch.add(cacheName, key));
+    }
+
+    /**
+     * Invalidate every entry of a cache on every node.
+     */
+    public void invalidateAll(String cacheName) {
+        cacheManager.getCache(cacheName).clear();
+        enqueue(batch -> batch.clear(cacheName));
+    }
+
+    private void enqueue(Consumer<Batch> change) {
+        if (!enabled) {
+            return;
+        }
+        boolean flushNow;
+        boolean scheduleFlush;
+        synchronized (batchLock) {
+            change.accept(pending);
+            flushNow = pending.size() >= maxBatchSize;
+            scheduleFlush = !flushNow && !flushScheduled;
+            if (scheduleFlush) {
+                flushScheduled = true;
+            }
+        }
+        if (flushNow) {
+            scheduler.execute(this::flush);
+        } else if (scheduleFlush) {
+            scheduler.schedule(this::flush, batchWindow.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Publish the invalidations collected so far as one message.
+     */
+    void flush() {
+        Batch batch;
+        synchronized (batchLock) {
+            batch = pending;
+            pending = new Batch();
+            flushScheduled = false;
+        }
+        if (batch.size() == 0) {
+            return;
+        }
+        transport.nextSequence()
+                .thenCompose(sequence -> transport.publish(encode(
+                        new InvalidationMessage(nodeId, sequence, batch.keys, batch.cleared))))
+                .whenComplete((published, e) -> {
+                    if (e != null) {
+                        // Other nodes keep their local copies until the local TTL expires them
+                        batchesFailed.increment();
+                        logger.warn("Failed to publish {} cache invalidations: {}", batch.size(), e.getMessage());
+                    } else {
+                        batchesPublished.increment();
+                        keysSent.increment(batch.size());
+                    }
+                });
+    }
+
+    @Override
+    public void onSubscribed() {
+        // Whatever was published while unsubscribed is lost
+        transport.currentSequence().whenComplete((current, e) -> {
+            if (e != null) {
+                cacheManager.clearLocal();
+                logger.debug("Could not read the invalidation sequence after subscribing: {}", e.getMessage());
+            } else {
+                resync(RESYNC_RESUBSCRIBED, current);
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(String message) {
+        InvalidationMessage invalidation;
+        try {
+            invalidation = objectMapper.readValue(message, InvalidationMessage.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring malformed cache invalidation: {}", e.getMessage());
+            return;
+        }
+        received(invalidation.sequence());
+        if (nodeId.equals(invalidation.node())) {
+            return;
+        }
+        invalidation.keys().forEach((cacheName, keys) -> {
+            TwoTierCache cache = cacheManager.existingCache(cacheName);
+            if (cache != null) {
+                keys.forEach(cache::evictLocal);
+            }
+            keysReceived.increment(keys.size());
+        });
+        invalidation.cleared().forEach(cacheName -> {
+            TwoTierCache cache = cacheManager.existingCache(cacheName);
+            if (cache != null) {
+                cache.clearLocal();
+            }
+            keysReceived.increment();
+        });
+    }
+
+    /**
+     * Resync if a sequence allocated before the previous check has still not arrived.
+     */
+    void checkForMissedMessages() {
+        transport.currentSequence().whenComplete((current, e) -> {
+            if (e != null) {
+                logger.debug("Could not read the invalidation sequence: {}", e.getMessage());
+                return;
+            }
+            boolean missed;
+            synchronized (sequenceLock) {
+                missed = watermark < sequenceAtLastCheck;
+                sequenceAtLastCheck = current;
+            }
+            if (missed) {
+                resync(RESYNC_MISSED_MESSAGES, current);
+            }
+        });
+    }
+
+    private void received(long sequence) {
+        synchronized (sequenceLock) {
+            if (sequence > watermark) {
+                receivedAboveWatermark.add(sequence);
+                advanceWatermark();
+            }
+        }
+    }
+
+    /**
+     * Clear the local tier and write off every sequence up to {@code current}.
+     */
+    private void resync(String reason, long current) {
+        cacheManager.clearLocal();
+        synchronized (sequenceLock) {
+            watermark = Math.max(watermark, current);
+            sequenceAtLastCheck = Math.max(sequenceAtLastCheck, current);
+            receivedAboveWatermark.headSet(watermark, true).clear();
+            advanceWatermark();
+        }
+        meterRegistry.counter("cache.invalidation.resyncs", "reason", reason).increment();
+        logger.info("Cleared local cache tier to resync invalidations ({})", reason);
+    }
+
+    private void advanceWatermark() {
+        while (!receivedAboveWatermark.isEmpty() && receivedAboveWatermark.first() == watermark + 1) {
+            watermark = receivedAboveWatermark.pollFirst();
+        }
+    }
+
+    private static String encode(InvalidationMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode cache invalidation", e);
+        }
+    }
+
+    /**
+     * Published form of a batch: keys to drop per cache, and caches to clear entirely.
+     */
+    record InvalidationMessage(String node, long sequence, Map<String, Set<String>> keys, Set<String> cleared) {
+    }
+
+    /**
+     * Invalidations collected for the next message; keys of a cleared cache are not sent.
+     */
+    private static final class Batch {
+
+        private final Map<String, Set<String>> keys = new LinkedHashMap<>();
+        private final Set<String> cleared = new LinkedHashSet<>();
+        private int size;
+
+        void add(String cacheName, String key) {
+            if (!cleared.contains(cacheName) && keys.computeIfAbsent(cacheName, name -> new LinkedHashSet<>()).add(key)) {
+                size++;
+            }
+        }
+
+        void clear(String cacheName) {
+            Set<String> dropped = keys.remove(cacheName);
+            if (dropped != null) {
+                size -= dropped.size();
+            }
+            if (cleared.add(cacheName)) {
+                size++;
+            }
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.motive.numberverification.common.cache;
+
+import com.motive.numberverification.common.exception.ApiException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint to invalidate cached provider answers on every node, e.g. when a SIM swap or number
+ * reassignment is detected. Device numbers are keyed by caller, verification results by
+ * {@code caller:phoneNumber} with the number in E.164; without a key the whole cache is invalidated.
+ */
+@Component
+@Endpoint(id = "cacheinvalidation")
+public class CacheInvalidationEndpoint {
+
+    private final CacheInvalidationBus invalidationBus;
+    private final TwoTierCacheManager cacheManager;
+
+    public CacheInvalidationEndpoint(CacheInvalidationBus invalidationBus, TwoTierCacheManager cacheManager) {
+        this.invalidationBus = invalidationBus;
+        this.cacheManager = cacheManager;
+    }
+
+    @WriteOperation
+    public void invalidate(String cache, @Nullable String key) {
+        if (!cacheManager.getCacheNames().contains(cache)) {
+            throw new ApiException("Unknown cache " + cache, "UNKNOWN_CACHE");
+        }
+        if (key != null) {
+            invalidationBus.invalidate(cache, key);
+        } else {
+            invalidationBus.invalidateAll(cache);
+        }
+    }
+}
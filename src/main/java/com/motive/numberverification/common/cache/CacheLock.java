@@ -0,0 +1,40 @@
+package com.motive.numberverification.common.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Lock shared between service instances, used so only one instance loads a missing cache entry.
+ */
+public interface CacheLock {
+
+    /**
+     * Try to take the lock without waiting.
+     *
+     * @param token Identifies the holder; only the holder can release the lock
+     * @param ttl The lock is released automatically after this long, in case the holder dies
+     * @return Future of whether the lock was taken
+     */
+    CompletableFuture<Boolean> tryLock(String key, String token, Duration ttl);
+
+    /**
+     * Release the lock if {@code token} still holds it.
+     */
+    void unlock(String key, String token);
+
+    /**
+     * Lock that is always granted, for a single instance.
+     */
+    static CacheLock local() {
+        return new CacheLock() {
+            @Override
+            public CompletableFuture<Boolean> tryLock(String key, String token, Duration ttl) {
+                return CompletableFuture.completedFuture(true);
+            }
+
+            @Override
+            public void unlock(String key, String token) {
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.motive.numberverification.common.cache;
+
+/**
+ * Cache entry stored by {@link StampedeProtectedCache}: the value with its logical expiry and the time
+ * it took to compute. Times are wall-clock milliseconds so entries can be judged on any node.
+ *
+ * @param value Cached value, never null
+ * @param expiresAtMillis When the value stops being fresh; it may still be served stale after that
+ * @param computeMillis How long the provider took to produce it, which scales early refresh
+ */
+public record CachedValue(Object value, long expiresAtMillis, long computeMillis) {
+}
@@ -0,0 +1,249 @@
+package com.motive.numberverification.common.cache;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Binary format for the provider result caches: {@link CachedValue}s holding a {@link VerificationStatus}
+ * or a phone number take around a dozen bytes, where JSON with embedded class names takes over a hundred.
+ *
+ * <p>Every value starts with {@link #MARKER} and a format version, followed by a type tag:
+ * <ul>
+ *   <li>{@code CACHED_VALUE}: expiry and compute time as varints, then the nested value</li>
+ *   <li>{@code STATUS}: one byte status code; codes are fixed, not enum ordinals</li>
+ *   <li>{@code PHONE_NUMBER}: an E.164 number as a digit count and packed decimal digits</li>
+ *   <li>{@code STRING}: length-prefixed UTF-8</li>
+ *   <li>{@code JSON}: any other type, written by {@link GenericJackson2JsonRedisSerializer}</li>
+ * </ul>
+ *
+ * <p>Entries without the marker were written by the JSON serializer before this format, and are still read.
+ * Entries in a newer version than this instance knows, as seen during a rolling deploy, are read as misses.
+ */
+public class CompactCacheValueSerializer implements RedisSerializer<Object> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompactCacheValueSerializer.class);
+
+    /** Never the first byte of JSON or UTF-8 text, so old entries cannot be mistaken for this format. */
+    static final byte MARKER = (byte) 0xC1;
+    static final byte VERSION = 1;
+
+    private static final byte CACHED_VALUE = 1;
+    private static final byte STATUS = 2;
+    private static final byte PHONE_NUMBER = 3;
+    private static final byte STRING = 4;
+    private static final byte JSON = 5;
+
+    private static final int MAX_PHONE_DIGITS = 15;
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        Writer out = new Writer();
+        out.write(MARKER);
+        out.write(VERSION);
+        write(out, value);
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MARKER) {
+            return json.deserialize(bytes);
+        }
+        if (bytes.length < 3 || bytes[1] != VERSION) {
+            logger.debug("Ignoring cache entry in unsupported format version {}", bytes.length > 1 ? bytes[1] : "none");
+            return null;
+        }
+        try {
+            return read(new Reader(bytes, 2));
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated cache entry", e);
+        }
+    }
+
+    private void write(Writer out, Object value) {
+        if (value instanceof CachedValue cached) {
+            out.write(CACHED_VALUE);
+            out.varLong(cached.expiresAtMillis());
+            out.varLong(Math.max(0, cached.computeMillis()));
+            write(out, cached.value());
+        } else if (value instanceof VerificationStatus status) {
+            out.write(STATUS);
+            out.write(statusCode(status));
+        } else if (value instanceof String text && isE164(text)) {
+            int digits = text.length() - 1;
+            out.write(PHONE_NUMBER);
+            out.write(digits);
+            for (int i = 1; i <= digits; i += 2) {
+                int high = text.charAt(i) - '0';
+                int low = i + 1 <= digits ? text.charAt(i + 1) - '0' : 0;
+                out.write(high << 4 | low);
+            }
+        } else if (value instanceof String text) {
+            out.write(STRING);
+            out.bytes(text.getBytes(StandardCharsets.UTF_8));
+        } else {
+            out.write(JSON);
+            out.bytes(json.serialize(value));
+        }
+    }
+
+    private Object read(Reader in) {
+        byte tag = in.next();
+        switch (tag) {
+            case CACHED_VALUE: {
+                long expiresAtMillis = in.varLong();
+                long computeMillis = in.varLong();
+                return new CachedValue(read(in), expiresAtMillis, computeMillis);
+            }
+            case STATUS:
+                return status(in.next());
+            case PHONE_NUMBER: {
+                int digits = in.next();
+                char[] number = new char[digits + 1];
+                number[0] = '+';
+                for (int i = 1; i <= digits; i += 2) {
+                    int packed = in.next() & 0xFF;
+                    number[i] = (char) ('0' + (packed >>> 4));
+                    if (i + 1 <= digits) {
+                        number[i + 1] = (char) ('0' + (packed & 0x0F));
+                    }
+                }
+                return new String(number);
+            }
+            case STRING:
+                return new String(in.bytes(), StandardCharsets.UTF_8);
+            case JSON:
+                return json.deserialize(in.bytes());
+            default:
+                throw new SerializationException("Unknown cache value type " + tag);
+        }
+    }
+
+    private static int statusCode(VerificationStatus status) {
+        switch (status) {
+            case MATCH:
+                return 1;
+            case NO_MATCH:
+                return 2;
+            case INDETERMINATE:
+                return 3;
+            default:
+                throw new SerializationException("No code for verification status " + status);
+        }
+    }
+
+    private static VerificationStatus status(byte code) {
+        switch (code) {
+            case 1:
+                return VerificationStatus.MATCH;
+            case 2:
+                return VerificationStatus.NO_MATCH;
+            case 3:
+                return VerificationStatus.INDETERMINATE;
+            default:
+                throw new SerializationException("Unknown verification status code " + code);
+        }
+    }
+
+    private static boolean isE164(String text) {
+        int length = text.length();
+        if (length < 2 || length > MAX_PHONE_DIGITS + 1 || text.charAt(0) != '+') {
+            return false;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Unsynchronized growable buffer; varints are unsigned LEB128, seven bits per byte with the high bit
+     * set while more bytes follow.
+     */
+    private static final class Writer {
+
+        private byte[] buffer = new byte[32];
+        private int position;
+
+        void write(int b) {
+            if (position == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[position++] = (byte) b;
+        }
+
+        void varLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void bytes(byte[] value) {
+            varLong(value.length);
+            if (position + value.length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + value.length));
+            }
+            System.arraycopy(value, 0, buffer, position, value.length);
+            position += value.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        byte next() {
+            return bytes[position++];
+        }
+
+        long varLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = next();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in cache entry");
+        }
+
+        byte[] bytes() {
+            int length = (int) varLong();
+            byte[] value = new byte[length];
+            System.arraycopy(bytes, position, value, 0, length);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.motive.numberverification.common.cache;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Broadcast channel for {@link CacheInvalidationBus}, with a cluster-wide sequence counter that lets a
+ * node notice messages it never received.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Allocate the sequence number of the next published message.
+     */
+    CompletableFuture<Long> nextSequence();
+
+    /**
+     * Last sequence number allocated by any node, 0 if none.
+     */
+    CompletableFuture<Long> currentSequence();
+
+    /**
+     * Send a message to every subscribed node, including this one.
+     */
+    CompletableFuture<Void> publish(String message);
+
+    /**
+     * Start receiving messages. The transport resubscribes after losing its connection, calling
+     * {@link Listener#onSubscribed()} each time the subscription is (re)established.
+     */
+    void subscribe(Listener listener);
+
+    interface Listener {
+
+        void onSubscribed();
+
+        void onMessage(String message);
+    }
+}
@@ -0,0 +1,57 @@
+package com.motive.numberverification.common.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link CacheLock} on Redis: {@code SET key token NX PX ttl}, released by a compare-and-delete script.
+ * Commands are sent without blocking. If Redis cannot be reached or does not answer within
+ * {@code verification.cache.stampede.lock-timeout}, the lock is granted, so callers fall back to the
+ * per-instance protection rather than failing.
+ */
+@Component
+public class RedisCacheLock implements CacheLock {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCacheLock.class);
+
+    private static final String KEY_PREFIX = "lock:";
+    private static final RedisScript<Long> RELEASE = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final Duration timeout;
+
+    public RedisCacheLock(ReactiveStringRedisTemplate redisTemplate,
+                          @Value("${verification.cache.stampede.lock-timeout:100ms}") Duration timeout) {
+        this.redisTemplate = redisTemplate;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> tryLock(String key, String token, Duration ttl) {
+        return redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, token, ttl)
+                .defaultIfEmpty(false)
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    logger.debug("Cache lock unavailable for {}, continuing without it: {}", key, e.getMessage());
+                    return Mono.just(true);
+                })
+                .toFuture();
+    }
+
+    @Override
+    public void unlock(String key, String token) {
+        redisTemplate.execute(RELEASE, List.of(KEY_PREFIX + key), List.of(token))
+                .subscribe(released -> { }, e -> logger.debug("Failed to release cache lock for {}: {}", key, e.getMessage()));
+    }
+}
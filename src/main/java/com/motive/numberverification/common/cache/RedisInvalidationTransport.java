@@ -0,0 +1,83 @@
+package com.motive.numberverification.common.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link InvalidationTransport} on Redis pub/sub, with the sequence counter kept in a Redis key.
+ * A lost subscription is re-established with exponential backoff.
+ */
+@Component
+public class RedisInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisInvalidationTransport.class);
+
+    static final String CHANNEL = "cache-invalidation";
+    static final String SEQUENCE_KEY = "cache-invalidation:sequence";
+
+    private static final Duration COMMAND_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration MIN_RESUBSCRIBE_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_RESUBSCRIBE_BACKOFF = Duration.ofSeconds(30);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private volatile Disposable subscription;
+
+    public RedisInvalidationTransport(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public CompletableFuture<Long> nextSequence() {
+        return redisTemplate.opsForValue().increment(SEQUENCE_KEY)
+                .timeout(COMMAND_TIMEOUT)
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> currentSequence() {
+        return redisTemplate.opsForValue().get(SEQUENCE_KEY)
+                .map(Long::parseLong)
+                .defaultIfEmpty(0L)
+                .timeout(COMMAND_TIMEOUT)
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String message) {
+        return redisTemplate.convertAndSend(CHANNEL, message)
+                .timeout(COMMAND_TIMEOUT)
+                .then()
+                .toFuture();
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        subscription = Mono.defer(() -> redisTemplate.listenToChannelLater(CHANNEL))
+                .doOnNext(messages -> listener.onSubscribed())
+                .flatMapMany(messages -> messages)
+                .map(ReactiveSubscription.Message::getMessage)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_RESUBSCRIBE_BACKOFF)
+                        .maxBackoff(MAX_RESUBSCRIBE_BACKOFF)
+                        .doBeforeRetry(signal -> logger.debug("Cache invalidation subscription lost, resubscribing: {}",
+                                signal.failure().getMessage())))
+                .subscribe(listener::onMessage);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+}
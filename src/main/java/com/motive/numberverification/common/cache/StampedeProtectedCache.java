@@ -0,0 +1,302 @@
+package com.motive.numberverification.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache that keeps expiring entries from sending bursts of identical misses to the provider.
+ *
+ * <ul>
+ *   <li>Misses are loaded once per key: concurrent misses on this instance share one load, and a
+ *       {@link CacheLock} lets one instance load while the others wait briefly for its result.</li>
+ *   <li>Fresh entries are refreshed early with a probability that grows as expiry nears and with the
+ *       time the value took to compute (XFetch), so hot keys rarely expire at all.</li>
+ *   <li>Entries past their TTL are served stale for the stale-while-revalidate window while a single
+ *       background refresh runs.</li>
+ *   <li>Refreshes are limited by {@link StampedeProtection}'s shared permits, and a key whose refresh
+ *       failed is not refreshed again until the backoff has passed.</li>
+ * </ul>
+ *
+ * <p>Values are stored as {@link CachedValue}s; null and uncacheable values are not stored.
+ */
+public class StampedeProtectedCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StampedeProtectedCache.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 25;
+    private static final Executor POLL_DELAY =
+            CompletableFuture.delayedExecutor(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+    private static final AtomicLong lockTokens = new AtomicLong();
+
+    private final Cache cache;
+    private final long ttlMillis;
+    private final long staleMillis;
+    private final StampedeProtection protection;
+    private final ConcurrentMap<Object, CompletableFuture<?>> loading = new ConcurrentHashMap<>();
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Boolean> failedRefreshes;
+
+    private final Counter missLoads;
+    private final Counter earlyRefreshes;
+    private final Counter staleRefreshes;
+    private final Counter staleServed;
+    private final Counter refreshesAtCapacity;
+    private final Counter refreshesBackedOff;
+    private final Counter lockWaitsFilled;
+    private final Counter lockWaitsTimedOut;
+
+    StampedeProtectedCache(Cache cache, Duration ttl, StampedeProtection protection) {
+        this.cache = cache;
+        this.ttlMillis = ttl.toMillis();
+        this.staleMillis = protection.staleWhileRevalidate().toMillis();
+        this.protection = protection;
+        this.failedRefreshes = Caffeine.newBuilder()
+                .expireAfterWrite(protection.refreshBackoff())
+                .maximumSize(10_000)
+                .build();
+
+        MeterRegistry meterRegistry = protection.meterRegistry();
+        String name = cache.getName();
+        this.missLoads = meterRegistry.counter("cache.stampede.loads", "cache", name, "reason", "miss");
+        this.earlyRefreshes = meterRegistry.counter("cache.stampede.loads", "cache", name, "reason", "early_refresh");
+        this.staleRefreshes = meterRegistry.counter("cache.stampede.loads", "cache", name, "reason", "stale_refresh");
+        this.staleServed = meterRegistry.counter("cache.stampede.stale_served", "cache", name);
+        this.refreshesAtCapacity = meterRegistry.counter("cache.stampede.refresh_skipped", "cache", name, "reason", "capacity");
+        this.refreshesBackedOff = meterRegistry.counter("cache.stampede.refresh_skipped", "cache", name, "reason", "backoff");
+        this.lockWaitsFilled = meterRegistry.counter("cache.stampede.lock_waits", "cache", name, "result", "filled");
+        this.lockWaitsTimedOut = meterRegistry.counter("cache.stampede.lock_waits", "cache", name, "result", "timed_out");
+    }
+
+    public String getName() {
+        return cache.getName();
+    }
+
+    /**
+     * Cached value for the key, loading it on a miss.
+     *
+     * @param loader Starts the provider lookup, for misses and refreshes alike
+     * @param cacheable Whether a loaded value may be cached; rejected values are returned but not stored
+     */
+    public <T> CompletableFuture<T> get(Object key, Class<T> type, Supplier<CompletableFuture<T>> loader,
+                                        Predicate<T> cacheable) {
+        return get(key, type, loader, loader, cacheable);
+    }
+
+    /**
+     * Cached value for the key, loading it on a miss, with a separate lookup for refreshes: a refresh runs
+     * after the request that triggered it has been answered, so it must not be bound by that request.
+     *
+     * @param loader Starts the provider lookup for a miss, on behalf of the requests waiting for it
+     * @param refresher Starts the provider lookup for a background refresh
+     * @param cacheable Whether a loaded value may be cached; rejected values are returned but not stored
+     */
+    public <T> CompletableFuture<T> get(Object key, Class<T> type, Supplier<CompletableFuture<T>> loader,
+                                        Supplier<CompletableFuture<T>> refresher, Predicate<T> cacheable) {
+        CompletableFuture<?> lookup = cache.retrieve(key);
+        if (lookup == null) {
+            return load(key, type, loader, cacheable);
+        }
+        return lookup.thenCompose(found -> {
+            CachedValue entry = entryOf(found, type);
+            if (entry != null) {
+                long now = protection.currentTimeMillis();
+                if (now < entry.expiresAtMillis()) {
+                    if (refreshEarly(entry, now)) {
+                        refresh(key, refresher, cacheable, earlyRefreshes);
+                    }
+                    return CompletableFuture.completedFuture(type.cast(entry.value()));
+                }
+                if (now < entry.expiresAtMillis() + staleMillis) {
+                    staleServed.increment();
+                    refresh(key, refresher, cacheable, staleRefreshes);
+                    return CompletableFuture.completedFuture(type.cast(entry.value()));
+                }
+            }
+            return load(key, type, loader, cacheable);
+        });
+    }
+
+    /**
+     * Blocking {@link #get}, for callers that are not asynchronous. The loader runs on the common pool,
+     * so neither a background refresh nor a lock callback ends up blocking on it.
+     */
+    public <T> T getBlocking(Object key, Class<T> type, Supplier<T> loader, Predicate<T> cacheable) {
+        try {
+            return get(key, type, () -> CompletableFuture.supplyAsync(loader), cacheable).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Load a missing entry once: later misses on this instance join the load in flight, and only the
+     * instance holding the cache lock calls the provider.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> load(Object key, Class<T> type, Supplier<CompletableFuture<T>> loader,
+                                          Predicate<T> cacheable) {
+        CompletableFuture<T> inFlight = (CompletableFuture<T>) loading.get(key);
+        if (inFlight != null) {
+            return inFlight.thenApply(value -> value);
+        }
+        CompletableFuture<T> leader = new CompletableFuture<>();
+        inFlight = (CompletableFuture<T>) loading.putIfAbsent(key, leader);
+        if (inFlight != null) {
+            return inFlight.thenApply(value -> value);
+        }
+
+        String lockKey = lockKey(key);
+        String token = INSTANCE_ID + ':' + lockTokens.incrementAndGet();
+        long waitUntil = protection.currentTimeMillis() + protection.lockWait().toMillis();
+        protection.cacheLock().tryLock(lockKey, token, protection.lockTtl())
+                .thenCompose(acquired -> {
+                    if (acquired) {
+                        return loadAndStore(key, loader, cacheable, missLoads)
+                                .whenComplete((value, e) -> protection.cacheLock().unlock(lockKey, token));
+                    }
+                    // Another instance is loading this key; use its result if it arrives in time
+                    return awaitOtherInstance(key, type, waitUntil).thenCompose(value -> value != null
+                            ? CompletableFuture.completedFuture(value)
+                            : loadAndStore(key, loader, cacheable, missLoads));
+                })
+                .whenComplete((value, e) -> {
+                    // Removed before completion, so a caller arriving after the result starts a fresh lookup
+                    loading.remove(key, leader);
+                    if (e != null) {
+                        leader.completeExceptionally(e);
+                    } else {
+                        leader.complete(value);
+                    }
+                });
+        return leader.thenApply(value -> value);
+    }
+
+    /**
+     * Refresh an entry in the background, unless a refresh is already running, the key's last refresh
+     * failed recently or the shared refresh limit is reached.
+     */
+    private <T> void refresh(Object key, Supplier<CompletableFuture<T>> loader, Predicate<T> cacheable,
+                             Counter reason) {
+        if (refreshing.contains(key)) {
+            return;
+        }
+        if (failedRefreshes.getIfPresent(key) != null) {
+            refreshesBackedOff.increment();
+            return;
+        }
+        Semaphore permits = protection.refreshPermits();
+        if (!permits.tryAcquire()) {
+            refreshesAtCapacity.increment();
+            return;
+        }
+        if (!refreshing.add(key)) {
+            permits.release();
+            return;
+        }
+
+        String lockKey = lockKey(key);
+        String token = INSTANCE_ID + ':' + lockTokens.incrementAndGet();
+        protection.cacheLock().tryLock(lockKey, token, protection.lockTtl())
+                .thenCompose(acquired -> acquired
+                        ? loadAndStore(key, loader, cacheable, reason)
+                                .whenComplete((value, e) -> protection.cacheLock().unlock(lockKey, token))
+                                .thenApply(value -> value != null && cacheable.test(value))
+                        // Another instance is refreshing it
+                        : CompletableFuture.completedFuture(true))
+                .whenComplete((refreshed, e) -> {
+                    refreshing.remove(key);
+                    permits.release();
+                    if (e != null || !refreshed) {
+                        failedRefreshes.put(key, Boolean.TRUE);
+                        logger.debug("Refresh of {} entry failed, serving stale value: {}",
+                                cache.getName(), e != null ? e.getMessage() : "no cacheable answer");
+                    }
+                });
+    }
+
+    private <T> CompletableFuture<T> loadAndStore(Object key, Supplier<CompletableFuture<T>> loader,
+                                                  Predicate<T> cacheable, Counter reason) {
+        reason.increment();
+        long start = protection.currentTimeMillis();
+        CompletableFuture<T> lookup;
+        try {
+            lookup = loader.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return lookup.thenApply(value -> {
+            if (value != null && cacheable.test(value)) {
+                long now = protection.currentTimeMillis();
+                cache.put(key, new CachedValue(value, now + ttlMillis, now - start));
+            }
+            return value;
+        });
+    }
+
+    /**
+     * Poll the cache until another instance has stored a fresh value, or null once {@code waitUntil} passes.
+     */
+    private <T> CompletableFuture<T> awaitOtherInstance(Object key, Class<T> type, long waitUntil) {
+        return CompletableFuture.runAsync(() -> { }, POLL_DELAY).thenCompose(ignored -> {
+            CompletableFuture<?> lookup = cache.retrieve(key);
+            CompletableFuture<?> found = lookup != null ? lookup : CompletableFuture.completedFuture(null);
+            return found.thenCompose(stored -> {
+                CachedValue entry = entryOf(stored, type);
+                long now = protection.currentTimeMillis();
+                if (entry != null && now < entry.expiresAtMillis()) {
+                    lockWaitsFilled.increment();
+                    return CompletableFuture.completedFuture(type.cast(entry.value()));
+                }
+                if (now >= waitUntil) {
+                    lockWaitsTimedOut.increment();
+                    return CompletableFuture.completedFuture(null);
+                }
+                return awaitOtherInstance(key, type, waitUntil);
+            });
+        });
+    }
+
+    /**
+     * XFetch: refresh with probability rising towards expiry, scaled by the value's compute time.
+     */
+    private boolean refreshEarly(CachedValue entry, long now) {
+        double beta = protection.earlyRefreshBeta();
+        if (beta <= 0) {
+            return false;
+        }
+        double gap = -entry.computeMillis() * beta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return now + gap >= entry.expiresAtMillis();
+    }
+
+    private String lockKey(Object key) {
+        return cache.getName() + "::" + key;
+    }
+
+    private static CachedValue entryOf(Object found, Class<?> type) {
+        Object stored = found instanceof Cache.ValueWrapper wrapper ? wrapper.get() : found;
+        return stored instanceof CachedValue entry && type.isInstance(entry.value()) ? entry : null;
+    }
+}
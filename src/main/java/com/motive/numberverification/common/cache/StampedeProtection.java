@@ -0,0 +1,104 @@
+package com.motive.numberverification.common.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.function.LongSupplier;
+
+/**
+ * Settings and shared limits for {@link StampedeProtectedCache}s.
+ *
+ * <p>Background refreshes of all protected caches share one pool of
+ * {@code verification.cache.stampede.max-concurrent-refreshes} permits, so a provider outage can hold
+ * at most that many refreshes in flight; beyond it entries keep being served stale.
+ */
+@Component
+public class StampedeProtection {
+
+    private final CacheLock cacheLock;
+    private final double earlyRefreshBeta;
+    private final Duration staleWhileRevalidate;
+    private final Duration refreshBackoff;
+    private final Duration lockTtl;
+    private final Duration lockWait;
+    private final Semaphore refreshPermits;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+
+    @Autowired
+    public StampedeProtection(
+            CacheLock cacheLock,
+            @Value("${verification.cache.stampede.early-refresh-beta:1.0}") double earlyRefreshBeta,
+            @Value("${verification.cache.stampede.stale-while-revalidate:1m}") Duration staleWhileRevalidate,
+            @Value("${verification.cache.stampede.max-concurrent-refreshes:32}") int maxConcurrentRefreshes,
+            @Value("${verification.cache.stampede.refresh-backoff:5s}") Duration refreshBackoff,
+            @Value("${verification.cache.stampede.lock-ttl:5s}") Duration lockTtl,
+            @Value("${verification.cache.stampede.lock-wait:250ms}") Duration lockWait,
+            MeterRegistry meterRegistry) {
+        this(cacheLock, earlyRefreshBeta, staleWhileRevalidate, maxConcurrentRefreshes, refreshBackoff,
+                lockTtl, lockWait, meterRegistry, System::currentTimeMillis);
+    }
+
+    StampedeProtection(CacheLock cacheLock, double earlyRefreshBeta, Duration staleWhileRevalidate,
+                       int maxConcurrentRefreshes, Duration refreshBackoff, Duration lockTtl, Duration lockWait,
+                       MeterRegistry meterRegistry, LongSupplier clock) {
+        this.cacheLock = cacheLock;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.refreshBackoff = refreshBackoff;
+        this.lockTtl = lockTtl;
+        this.lockWait = lockWait;
+        this.refreshPermits = new Semaphore(maxConcurrentRefreshes);
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * Protect a cache whose values stay fresh for {@code ttl}. The underlying cache must keep entries
+     * for at least {@code ttl} plus the stale-while-revalidate window.
+     */
+    public StampedeProtectedCache protect(Cache cache, Duration ttl) {
+        return new StampedeProtectedCache(cache, ttl, this);
+    }
+
+    CacheLock cacheLock() {
+        return cacheLock;
+    }
+
+    double earlyRefreshBeta() {
+        return earlyRefreshBeta;
+    }
+
+    Duration staleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    Duration refreshBackoff() {
+        return refreshBackoff;
+    }
+
+    Duration lockTtl() {
+        return lockTtl;
+    }
+
+    Duration lockWait() {
+        return lockWait;
+    }
+
+    Semaphore refreshPermits() {
+        return refreshPermits;
+    }
+
+    MeterRegistry meterRegistry() {
+        return meterRegistry;
+    }
+
+    long currentTimeMillis() {
+        return clock.getAsLong();
+    }
+}
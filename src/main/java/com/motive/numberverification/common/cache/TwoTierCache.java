@@ -0,0 +1,225 @@
+package com.motive.numberverification.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Cache with a bounded in-process Caffeine tier (L1) in front of a shared tier (L2, Redis).
+ *
+ * <p>Reads try L1 first and fall through to L2; an L2 hit is copied into L1. Writes go to L1 at once
+ * and to L2 on a background executor, so callers never wait on the network to store a value. L2 is
+ * best effort: if it is unreachable, reads count as misses and writes are dropped. Null values are
+ * not cached.
+ */
+public class TwoTierCache implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoTierCache.class);
+
+    static final String L1 = "l1";
+    static final String L2 = "l2";
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final Cache shared;
+    private final Executor sharedExecutor;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Errors;
+    private final Counter l2Evictions;
+
+    /**
+     * @param local L1; its evictions are reported by the manager that built it
+     * @param shared L2
+     * @param sharedExecutor Runs L2 writes, and L2 reads when L2 has no async lookup
+     */
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> local, Cache shared,
+                        Executor sharedExecutor, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = local;
+        this.shared = shared;
+        this.sharedExecutor = sharedExecutor;
+        this.l1Hits = gets(meterRegistry, L1, "hit");
+        this.l1Misses = gets(meterRegistry, L1, "miss");
+        this.l2Hits = gets(meterRegistry, L2, "hit");
+        this.l2Misses = gets(meterRegistry, L2, "miss");
+        this.l2Errors = meterRegistry.counter("cache.tier.errors", "cache", name, "tier", L2);
+        this.l2Evictions = meterRegistry.counter("cache.tier.evictions", "cache", name, "tier", L2, "cause", "explicit");
+    }
+
+    private Counter gets(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.gets")
+                .description("Cache lookups per tier")
+                .tags("cache", name, "tier", tier, "result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = getLocal(key);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        try {
+            value = unwrap(shared.get(key));
+        } catch (RuntimeException e) {
+            value = sharedFailed("read", e);
+        }
+        return value != null ? new SimpleValueWrapper(promote(key, value)) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        try {
+            T value = valueLoader.call();
+            put(key, value);
+            return value;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * Non-blocking lookup: L1 answers inline, L2 is read asynchronously.
+     *
+     * @return Future of the cached value, or of null if neither tier has it
+     */
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        Object value = getLocal(key);
+        if (value != null) {
+            return CompletableFuture.completedFuture(value);
+        }
+        CompletableFuture<?> sharedLookup;
+        try {
+            sharedLookup = shared.retrieve(key);
+        } catch (UnsupportedOperationException e) {
+            sharedLookup = CompletableFuture.supplyAsync(() -> shared.get(key), sharedExecutor);
+        } catch (RuntimeException e) {
+            sharedLookup = CompletableFuture.failedFuture(e);
+        }
+        if (sharedLookup == null) {
+            // The shared tier knew straight away that it has no entry
+            l2Misses.increment();
+            return CompletableFuture.completedFuture(null);
+        }
+        return sharedLookup.handle((found, e) -> {
+            Object result = e != null ? sharedFailed("read", e) : unwrap(found);
+            return result != null ? promote(key, result) : null;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        local.put(key, value);
+        writeShared(() -> shared.put(key, value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.invalidate(key);
+        writeShared(() -> {
+            shared.evict(key);
+            l2Evictions.increment();
+        });
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        writeShared(shared::clear);
+    }
+
+    /**
+     * Drop the key from this node's local tier only, for invalidations another node has already applied
+     * to the shared tier.
+     */
+    public void evictLocal(Object key) {
+        local.invalidate(key);
+    }
+
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private Object getLocal(Object key) {
+        Object value = local.getIfPresent(key);
+        (value != null ? l1Hits : l1Misses).increment();
+        return value;
+    }
+
+    private Object promote(Object key, Object value) {
+        l2Hits.increment();
+        local.put(key, value);
+        return value;
+    }
+
+    private Object sharedFailed(String operation, Throwable e) {
+        l2Errors.increment();
+        logger.debug("Shared cache {} {} failed, continuing with the local tier: {}", name, operation, e.getMessage());
+        return null;
+    }
+
+    private void writeShared(Runnable write) {
+        try {
+            sharedExecutor.execute(() -> {
+                try {
+                    write.run();
+                } catch (RuntimeException e) {
+                    sharedFailed("write", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Backlog of L2 writes is full; L1 still holds the value
+            sharedFailed("write", e);
+        }
+    }
+
+    private Object unwrap(Object found) {
+        Object value = found instanceof ValueWrapper wrapper ? wrapper.get() : found;
+        if (value == null) {
+            l2Misses.increment();
+        }
+        return value;
+    }
+}
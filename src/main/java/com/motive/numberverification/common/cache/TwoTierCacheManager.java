@@ -0,0 +1,102 @@
+package com.motive.numberverification.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache manager putting a Caffeine L1 in front of each cache of a shared L2 cache manager.
+ *
+ * <p>L1 is bounded by entry count and expires entries after {@code localTtl}, which should be shorter
+ * than the L2 TTLs so local copies do not outlive shared ones by much. L2 writes are queued on a small
+ * background pool; when the queue is full they are dropped.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private static final int SHARED_WRITE_QUEUE = 1000;
+
+    private final CacheManager sharedCacheManager;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor sharedExecutor;
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager sharedCacheManager, long localMaxSize, Duration localTtl,
+                               MeterRegistry meterRegistry) {
+        this.sharedCacheManager = sharedCacheManager;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+        this.meterRegistry = meterRegistry;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-l2-");
+        threadFactory.setDaemon(true);
+        this.sharedExecutor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(SHARED_WRITE_QUEUE), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public TwoTierCache getCache(String name) {
+        TwoTierCache cache = caches.get(name);
+        return cache != null ? cache : caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * The named cache if this node has used it, without creating it.
+     */
+    TwoTierCache existingCache(String name) {
+        return caches.get(name);
+    }
+
+    /**
+     * Drop every local entry on this node, leaving the shared tier as is.
+     */
+    public void clearLocal() {
+        caches.values().forEach(TwoTierCache::clearLocal);
+    }
+
+    private TwoTierCache createCache(String name) {
+        Cache shared = sharedCacheManager.getCache(name);
+        if (shared == null) {
+            throw new IllegalArgumentException("No shared cache named " + name);
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .removalListener((Object key, Object value, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        meterRegistry.counter("cache.tier.evictions", "cache", name, "tier", TwoTierCache.L1,
+                                "cause", cause.name().toLowerCase(Locale.ROOT)).increment();
+                    }
+                })
+                .build();
+        Gauge.builder("cache.tier.size", local, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .description("Approximate number of entries in the local cache tier")
+                .tags("cache", name, "tier", TwoTierCache.L1)
+                .register(meterRegistry);
+        return new TwoTierCache(name, local, shared, sharedExecutor, meterRegistry);
+    }
+
+    public void shutdown() {
+        sharedExecutor.shutdown();
+    }
+}
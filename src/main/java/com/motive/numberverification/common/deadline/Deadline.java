@@ -0,0 +1,125 @@
+package com.motive.numberverification.common.deadline;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which a request must be answered, measured on the monotonic clock.
+ *
+ * <p>A deadline is fixed when the request arrives and only ever shrinks as it is handed down:
+ * each hop receives the time remaining, optionally capped by {@link #share(double)} so that later
+ * hops keep part of the budget. {@link #none()} is the unbounded deadline of callers without one.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(0, 0, false);
+
+    private final long startNanos;
+    private final long expiresAtNanos;
+    private final boolean bounded;
+
+    private Deadline(long startNanos, long expiresAtNanos, boolean bounded) {
+        this.startNanos = startNanos;
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * Deadline that never expires.
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * Deadline expiring {@code budget} from now.
+     */
+    public static Deadline after(Duration budget) {
+        long now = System.nanoTime();
+        return new Deadline(now, now + budget.toNanos(), true);
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * Total time this deadline allowed when it was created.
+     */
+    public long budgetNanos() {
+        return bounded ? expiresAtNanos - startNanos : Long.MAX_VALUE;
+    }
+
+    /**
+     * Time left before the deadline, zero once it has passed.
+     */
+    public long remainingNanos() {
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, expiresAtNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return bounded && expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Deadline for a hop that may use only {@code fraction} of the time remaining, leaving the rest
+     * for the hops after it. Never later than this deadline.
+     */
+    public Deadline share(double fraction) {
+        if (!bounded || fraction >= 1.0) {
+            return this;
+        }
+        long now = System.nanoTime();
+        long remaining = Math.max(0, expiresAtNanos - now);
+        return new Deadline(now, now + (long) (remaining * fraction), true);
+    }
+
+    /**
+     * Bound a future by this deadline: if it has not completed in time, the returned future fails with
+     * {@link DeadlineExceededException} and the source is cancelled so its work is abandoned.
+     * Cancelling the returned future also cancels the source.
+     *
+     * @param stage Name of the stage the future belongs to, reported in the exception
+     */
+    public <T> CompletableFuture<T> bound(CompletableFuture<T> future, String stage) {
+        if (!bounded || future.isDone()) {
+            return future;
+        }
+        long remaining = remainingNanos();
+        if (remaining == 0) {
+            future.cancel(true);
+            return CompletableFuture.failedFuture(new DeadlineExceededException(stage));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, e) -> {
+            if (future.isCancelled() && isExpired()) {
+                result.completeExceptionally(new DeadlineExceededException(stage));
+            } else if (e != null) {
+                result.completeExceptionally(e);
+            } else {
+                result.complete(value);
+            }
+        });
+        result.whenComplete((value, e) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        CompletableFuture.delayedExecutor(remaining, TimeUnit.NANOSECONDS).execute(() -> {
+            // The source is cancelled before the result fails, so callers moving on never see it still running
+            future.cancel(true);
+            result.completeExceptionally(new DeadlineExceededException(stage));
+        });
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[remaining=" + Duration.ofNanos(remainingNanos()) + "]" : "Deadline[none]";
+    }
+}
@@ -0,0 +1,18 @@
+package com.motive.numberverification.common.deadline;
+
+/**
+ * Thrown, or used to fail a future, when a request's deadline passes before a stage has finished.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private final String stage;
+
+    public DeadlineExceededException(String stage) {
+        super("Deadline exceeded during " + stage);
+        this.stage = stage;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+}
@@ -0,0 +1,44 @@
+package com.motive.numberverification.common.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Starts the request deadline before any other filter runs, so authentication and rate limiting
+ * are charged against it too, and exposes it through {@link DeadlineHolder} while the request is
+ * handled on this thread.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final RequestDeadlines requestDeadlines;
+
+    public DeadlineFilter(RequestDeadlines requestDeadlines) {
+        this.requestDeadlines = requestDeadlines;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        DeadlineHolder.setDeadline(requestDeadlines.forRequest(request.getHeader(RequestDeadlines.TIMEOUT_HEADER)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DeadlineHolder.clear();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.motive.numberverification.common.deadline;
+
+import reactor.util.context.Context;
+
+import java.util.function.Function;
+
+/**
+ * Holds the deadline of the request being handled: in a thread-local on the servlet stack, and
+ * under {@link #CONTEXT_KEY} in the Reactor context on the WebFlux stack.
+ */
+public final class DeadlineHolder {
+
+    /** Reactor context and exchange attribute key of the request deadline. */
+    public static final String CONTEXT_KEY = Deadline.class.getName();
+
+    private static final ThreadLocal<Deadline> current = new ThreadLocal<>();
+
+    private DeadlineHolder() {
+    }
+
+    /**
+     * Deadline of the request on the current thread, {@link Deadline#none()} if there is none.
+     */
+    public static Deadline getDeadline() {
+        Deadline deadline = current.get();
+        return deadline != null ? deadline : Deadline.none();
+    }
+
+    public static void setDeadline(Deadline deadline) {
+        current.set(deadline);
+    }
+
+    public static void clear() {
+        current.remove();
+    }
+
+    /**
+     * Context writer publishing the deadline to a reactive chain.
+     */
+    public static Function<Context, Context> withDeadline(Deadline deadline) {
+        return context -> context.put(CONTEXT_KEY, deadline);
+    }
+}
@@ -0,0 +1,34 @@
+package com.motive.numberverification.common.deadline;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive equivalent of {@link DeadlineFilter} for the WebFlux stack. The deadline is published as
+ * an exchange attribute for the security filters and in the Reactor context for the handlers.
+ */
+public class ReactiveDeadlineFilter implements WebFilter {
+
+    private final RequestDeadlines requestDeadlines;
+
+    public ReactiveDeadlineFilter(RequestDeadlines requestDeadlines) {
+        this.requestDeadlines = requestDeadlines;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Deadline deadline = requestDeadlines.forRequest(
+                exchange.getRequest().getHeaders().getFirst(RequestDeadlines.TIMEOUT_HEADER));
+        exchange.getAttributes().put(DeadlineHolder.CONTEXT_KEY, deadline);
+        return chain.filter(exchange).contextWrite(DeadlineHolder.withDeadline(deadline));
+    }
+
+    /**
+     * Deadline of the exchange, {@link Deadline#none()} if this filter did not run.
+     */
+    public static Deadline deadlineOf(ServerWebExchange exchange) {
+        return exchange.getAttributeOrDefault(DeadlineHolder.CONTEXT_KEY, Deadline.none());
+    }
+}
@@ -0,0 +1,108 @@
+package com.motive.numberverification.common.deadline;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sets request deadlines and records how much of the budget each stage of a request consumes.
+ *
+ * <p>A request gets {@code verification.deadline.sla} unless the client asks for a shorter or longer
+ * one in the {@value #TIMEOUT_HEADER} header (milliseconds), which is capped at
+ * {@code verification.deadline.max}. A provider that has further providers behind it in its chain
+ * may use {@code verification.deadline.hop-share} of the remaining time, so a hanging primary
+ * leaves time for the fallback.
+ */
+@Component
+public class RequestDeadlines {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadlines.class);
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    public static final String STAGE_AUTH = "auth";
+    public static final String STAGE_RATE_LIMIT = "rate_limit";
+    public static final String STAGE_PROVIDER_PRIMARY = "provider_primary";
+    public static final String STAGE_PROVIDER_FALLBACK = "provider_fallback";
+
+    private final boolean enabled;
+    private final Duration sla;
+    private final Duration max;
+    private final double hopShare;
+    private final MeterRegistry meterRegistry;
+
+    public RequestDeadlines(
+            @Value("${verification.deadline.enabled:true}") boolean enabled,
+            @Value("${verification.deadline.sla:3s}") Duration sla,
+            @Value("${verification.deadline.max:5s}") Duration max,
+            @Value("${verification.deadline.hop-share:0.6}") double hopShare,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.sla = sla;
+        this.max = max;
+        this.hopShare = hopShare;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Deadline of a request arriving now.
+     *
+     * @param requestedTimeout Value of the {@value #TIMEOUT_HEADER} header, may be null
+     */
+    public Deadline forRequest(String requestedTimeout) {
+        if (!enabled) {
+            return Deadline.none();
+        }
+        Duration budget = sla;
+        if (requestedTimeout != null && !requestedTimeout.isBlank()) {
+            try {
+                long millis = Long.parseLong(requestedTimeout.trim());
+                if (millis > 0) {
+                    budget = Duration.ofMillis(Math.min(millis, max.toMillis()));
+                }
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring invalid {} header: {}", TIMEOUT_HEADER, requestedTimeout);
+            }
+        }
+        return Deadline.after(budget);
+    }
+
+    /**
+     * Deadline for one provider call: the time remaining, less what is kept back for the providers
+     * that would follow it.
+     */
+    public Deadline forHop(Deadline deadline, boolean moreHopsFollow) {
+        return moreHopsFollow ? deadline.share(hopShare) : deadline;
+    }
+
+    /**
+     * Record a finished stage: its duration, the share of the request budget it used and whether the
+     * deadline had passed by the time it finished.
+     */
+    public void recordStage(String stage, Deadline deadline, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        Timer.builder("request.deadline.stage.duration")
+                .description("Time spent in each stage of a request")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (!deadline.isBounded()) {
+            return;
+        }
+        DistributionSummary.builder("request.deadline.budget.consumed")
+                .description("Fraction of the request deadline consumed by each stage")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record((double) elapsed / deadline.budgetNanos());
+        if (deadline.isExpired()) {
+            meterRegistry.counter("request.deadline.exceeded", "stage", stage).increment();
+        }
+    }
+}
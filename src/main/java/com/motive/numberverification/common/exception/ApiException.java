@@ -1,33 +1,70 @@
 package com.motive.numberverification.common.exception;
 
+import org.springframework.http.HttpStatus;
+
 /**
  * Custom exception for API-related errors.
  */
 public class ApiException extends RuntimeException {
 
     private final String errorCode;
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
     
     public ApiException(String message) {
         super(message);
         this.errorCode = "GENERIC_ERROR";
+        this.status = HttpStatus.BAD_REQUEST;
+        this.retryAfterSeconds = 0;
     }
     
     public ApiException(String message, String errorCode) {
         super(message);
         this.errorCode = errorCode;
+        this.status = HttpStatus.BAD_REQUEST;
+        this.retryAfterSeconds = 0;
     }
     
     public ApiException(String message, Throwable cause) {
         super(message, cause);
         this.errorCode = "GENERIC_ERROR";
+        this.status = HttpStatus.BAD_REQUEST;
+        this.retryAfterSeconds = 0;
     }
     
     public ApiException(String message, String errorCode, Throwable cause) {
         super(message, cause);
         this.errorCode = errorCode;
+        this.status = HttpStatus.BAD_REQUEST;
+        this.retryAfterSeconds = 0;
+    }
+    
+    /**
+     * An exception that records no stack trace, for preallocated instances thrown from many places.
+     */
+    ApiException(String message, String errorCode, HttpStatus status, long retryAfterSeconds,
+                 boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.errorCode = errorCode;
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
     }
     
     public String getErrorCode() {
         return errorCode;
     }
+    
+    /**
+     * Response status; {@code 400 Bad Request} unless the error says otherwise.
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+    
+    /**
+     * Seconds the client should wait before retrying, sent as {@code Retry-After}; zero for none.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
 }
@@ -0,0 +1,31 @@
+package com.motive.numberverification.common.exception;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Correlation IDs for error responses: a random prefix chosen once per process, followed by a counter.
+ * IDs are unique across nodes with overwhelming probability, without drawing from {@link SecureRandom}
+ * for every error as {@link java.util.UUID#randomUUID()} does.
+ */
+public final class CorrelationIds {
+
+    private static final String PREFIX = prefix();
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private CorrelationIds() {
+    }
+
+    /**
+     * A new correlation ID, e.g. {@code 3f9a1c07d2b4e815-1a}.
+     */
+    public static String next() {
+        return PREFIX + Long.toHexString(SEQUENCE.incrementAndGet());
+    }
+
+    private static String prefix() {
+        long random = new SecureRandom().nextLong();
+        String hex = Long.toHexString(random);
+        return "0".repeat(16 - hex.length()) + hex + '-';
+    }
+}
@@ -5,29 +5,37 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
-import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Global exception handler for the API.
+ *
+ * <p>Rejected client input is logged at debug level only: it is the client's error, and logging each
+ * one would make malformed traffic far more expensive to serve than valid traffic.
  */
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     
     /**
-     * Handle custom API exceptions.
+     * Handle custom API exceptions, with the status and {@code Retry-After} the exception carries.
      */
     @ExceptionHandler(ApiException.class)
     public ResponseEntity<ApiError> handleApiException(ApiException ex, HttpServletRequest request) {
-        logger.error("API Exception: {}", ex.getMessage());
+        logger.debug("API Exception: {}", ex.getMessage());
         
         ApiError error = ApiError.builder()
                 .errorCode(ex.getErrorCode())
@@ -36,7 +44,11 @@ public class GlobalExceptionHandler {
                 .correlationId(generateCorrelationId())
                 .build();
         
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        HttpHeaders headers = new HttpHeaders();
+        if (ex.getRetryAfterSeconds() > 0) {
+            headers.set(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()));
+        }
+        return new ResponseEntity<>(error, headers, ex.getStatus());
     }
     
     /**
@@ -46,7 +58,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiError> handleMethodArgumentNotValidException(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
         
-        logger.error("Validation error: {}", ex.getMessage());
+        logger.debug("Validation error: {}", ex.getMessage());
         
         // Extract the first validation error message
         String errorMessage = ex.getBindingResult().getFieldErrors().stream()
@@ -71,7 +83,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiError> handleConstraintViolationException(
             ConstraintViolationException ex, HttpServletRequest request) {
         
-        logger.error("Constraint violation: {}", ex.getMessage());
+        logger.debug("Constraint violation: {}", ex.getMessage());
         
         ApiError error = ApiError.builder()
                 .errorCode("VALIDATION_ERROR")
@@ -83,6 +95,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
     
+    /**
+     * Handle request bodies that are missing or cannot be read as JSON.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ApiError> handleHttpMessageNotReadableException(
+            HttpMessageNotReadableException ex, HttpServletRequest request) {
+        
+        logger.debug("Unreadable request body: {}", ex.getMessage());
+        
+        return new ResponseEntity<>(ValidationError.MALFORMED_BODY.toApiError(request.getRequestURI()),
+                HttpStatus.BAD_REQUEST);
+    }
+    
     /**
      * Handle circuit breaker exceptions.
      */
@@ -121,6 +146,44 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_GATEWAY);
     }
     
+    /**
+     * Handle async requests that did not complete within the configured timeout.
+     */
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public ResponseEntity<ApiError> handleAsyncRequestTimeoutException(
+            AsyncRequestTimeoutException ex, HttpServletRequest request) {
+        
+        logger.error("Request timed out: {}", request.getRequestURI());
+        
+        ApiError error = ApiError.builder()
+                .errorCode("REQUEST_TIMEOUT")
+                .message("The request did not complete in time. Please try again later.")
+                .path(request.getRequestURI())
+                .correlationId(generateCorrelationId())
+                .build();
+        
+        return new ResponseEntity<>(error, HttpStatus.GATEWAY_TIMEOUT);
+    }
+    
+    /**
+     * Handle requests rejected because an executor is saturated.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiError> handleRejectedExecutionException(
+            RejectedExecutionException ex, HttpServletRequest request) {
+        
+        logger.error("Request rejected, executor saturated: {}", ex.getMessage());
+        
+        ApiError error = ApiError.builder()
+                .errorCode("SERVICE_UNAVAILABLE")
+                .message("Service temporarily unavailable. Please try again later.")
+                .path(request.getRequestURI())
+                .correlationId(generateCorrelationId())
+                .build();
+        
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    
     /**
      * Handle all other unexpected exceptions.
      */
@@ -145,6 +208,6 @@ public class GlobalExceptionHandler {
      * Generate a unique correlation ID for tracking errors.
      */
     private String generateCorrelationId() {
-        return UUID.randomUUID().toString();
+        return CorrelationIds.next();
     }
 }
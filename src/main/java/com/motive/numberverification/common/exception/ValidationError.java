@@ -0,0 +1,70 @@
+package com.motive.numberverification.common.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Preallocated descriptors of the errors returned for invalid or conflicting client input, or for a request
+ * that cannot be answered yet. Validation returns one of these rather than throwing, so rejecting a request allocates no exception and captures no stack
+ * trace; code that must throw uses the descriptor's shared, stackless {@link #exception()}.
+ */
+public enum ValidationError {
+
+    PHONE_NUMBER_FORMAT("VALIDATION_ERROR", "phoneNumber: Phone number must be in E.164 format"),
+    INVALID_PHONE_NUMBER("INVALID_PHONE_NUMBER", "Invalid phone number format"),
+    MALFORMED_BODY("VALIDATION_ERROR", "Request body is missing or malformed"),
+    IDEMPOTENCY_KEY_FORMAT("VALIDATION_ERROR", "Idempotency-Key must be 1 to 255 characters"),
+    IDEMPOTENCY_KEY_REUSED("IDEMPOTENCY_KEY_REUSED",
+            "Idempotency-Key was already used for a request with a different body"),
+    IDEMPOTENCY_KEY_IN_PROGRESS("IDEMPOTENCY_KEY_IN_PROGRESS",
+            "A request with the same Idempotency-Key is still in progress", HttpStatus.CONFLICT, 1),
+    VERIFICATION_UNAVAILABLE("SERVICE_UNAVAILABLE",
+            "Service temporarily unavailable. Please try again later.", HttpStatus.SERVICE_UNAVAILABLE, 1);
+
+    private final String errorCode;
+    private final String message;
+    private final HttpStatus status;
+    private final ApiException exception;
+
+    ValidationError(String errorCode, String message) {
+        this(errorCode, message, HttpStatus.BAD_REQUEST, 0);
+    }
+
+    ValidationError(String errorCode, String message, HttpStatus status, long retryAfterSeconds) {
+        this.errorCode = errorCode;
+        this.message = message;
+        this.status = status;
+        this.exception = new ApiException(message, errorCode, status, retryAfterSeconds, false);
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * The exception for this error, shared by every thrower: it has no stack trace and no suppressed
+     * exceptions, so it carries no state of the place it was thrown from.
+     */
+    public ApiException exception() {
+        return exception;
+    }
+
+    /**
+     * The error response for this error on the given path.
+     */
+    public ApiError toApiError(String path) {
+        return ApiError.builder()
+                .errorCode(errorCode)
+                .message(message)
+                .path(path)
+                .correlationId(CorrelationIds.next())
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.motive.numberverification.common.logging;
 
+import com.motive.numberverification.common.exception.ApiException;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -7,15 +8,29 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Aspect for logging method entries, exits, and execution times.
+ * Holds no per-thread state and takes no locks, so it is safe to run on virtual threads.
  */
 @Aspect
 @Component
 public class LoggingAspect {
 
+    /**
+     * Loggers cached per target class, avoiding a logger-factory lookup on every call.
+     */
+    private static final ClassValue<Logger> LOGGERS = new ClassValue<>() {
+        @Override
+        protected Logger computeValue(Class<?> type) {
+            return LoggerFactory.getLogger(type);
+        }
+    };
+
     /**
      * Log method entry, exit, and execution time for all methods in the API, service, and integration layers.
      */
@@ -26,35 +41,56 @@ public class LoggingAspect {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         
         // Get logger for the target class
-        Logger logger = LoggerFactory.getLogger(joinPoint.getTarget().getClass());
-        
-        // Build method signature string
-        String methodName = signature.getMethod().getName();
-        String className = signature.getDeclaringType().getSimpleName();
-        String methodSignature = className + "." + methodName + "()";
+        Logger logger = LOGGERS.get(joinPoint.getTarget().getClass());
+        boolean debugEnabled = logger.isDebugEnabled();
         
         // Log method entry
-        logger.debug("Entering: {}", methodSignature);
+        if (debugEnabled) {
+            logger.debug("Entering: {}", methodSignature(signature));
+        }
         
-        // Create stopwatch for timing
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
+        long startNanos = System.nanoTime();
         
         try {
             // Execute the method
             Object result = joinPoint.proceed();
             
-            // Log method exit and execution time
-            stopWatch.stop();
-            logger.debug("Exiting: {} (execution time: {} ms)", methodSignature, stopWatch.getTotalTimeMillis());
+            // Async results are timed when they complete, not when the future is returned
+            if (result instanceof CompletionStage<?> stage) {
+                stage.whenComplete((value, e) -> logExit(logger, signature, startNanos, e));
+            } else {
+                logExit(logger, signature, startNanos, null);
+            }
             
             return result;
         } catch (Exception e) {
             // Log method exception and execution time
-            stopWatch.stop();
-            logger.error("Exception in: {} (execution time: {} ms): {}", 
-                    methodSignature, stopWatch.getTotalTimeMillis(), e.getMessage());
+            logExit(logger, signature, startNanos, e);
             throw e;
         }
     }
+    
+    private void logExit(Logger logger, MethodSignature signature, long startNanos, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof ApiException) {
+            // Rejected client input, answered by the exception handler; not worth an error per request
+            if (logger.isDebugEnabled()) {
+                logger.debug("Rejected in: {} (execution time: {} ms): {}",
+                        methodSignature(signature), elapsedMillis(startNanos), cause.getMessage());
+            }
+        } else if (e != null) {
+            logger.error("Exception in: {} (execution time: {} ms): {}",
+                    methodSignature(signature), elapsedMillis(startNanos), e.getMessage());
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Exiting: {} (execution time: {} ms)", methodSignature(signature), elapsedMillis(startNanos));
+        }
+    }
+    
+    private static String methodSignature(MethodSignature signature) {
+        return signature.getDeclaringType().getSimpleName() + "." + signature.getMethod().getName() + "()";
+    }
+    
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
 }
@@ -0,0 +1,210 @@
+package com.motive.numberverification.common.util;
+
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonemetadata.PhoneMetadata;
+import com.google.i18n.phonenumbers.Phonemetadata.PhoneNumberDesc;
+import com.google.i18n.phonenumbers.metadata.DefaultMetadataDependenciesProvider;
+import com.google.i18n.phonenumbers.metadata.source.MetadataSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Validates well-formed E.164 strings ({@code +} and digits only) without going through
+ * {@link PhoneNumberUtil#parse}.
+ *
+ * <p>Tables are built once from the libphonenumber metadata: per country calling code, the regions sharing
+ * it in libphonenumber's order, each with possible-length masks and precompiled patterns for its number
+ * types. Validity is decided the way {@link PhoneNumberUtil#isValidNumber} decides it, with the length
+ * masks rejecting most candidates before any pattern is run. Input the tables cannot decide on their own
+ * is reported as {@link #UNDECIDED} for libphonenumber to handle: anything that is not {@code +} and
+ * digits, an unknown or malformed country code, an out-of-range length, or a national number starting
+ * with something libphonenumber might strip as a national prefix.
+ */
+final class E164FastPath {
+
+    static final int VALID = 1;
+    static final int INVALID = 0;
+    static final int UNDECIDED = -1;
+
+    private static final String NON_GEO_REGION = "001";
+    private static final int MIN_NATIONAL_LENGTH = 2;
+    private static final int MAX_NATIONAL_LENGTH = 17;
+    private static final int ANY_LENGTH = ~0;
+
+    private final Country[] countries = new Country[1000];
+
+    E164FastPath(PhoneNumberUtil phoneNumberUtil) {
+        this(phoneNumberUtil, DefaultMetadataDependenciesProvider.getInstance().getPhoneNumberMetadataSource());
+    }
+
+    E164FastPath(PhoneNumberUtil phoneNumberUtil, MetadataSource metadataSource) {
+        Compiler compiler = new Compiler();
+        for (int countryCode : phoneNumberUtil.getSupportedCallingCodes()) {
+            List<Region> regions = new ArrayList<>();
+            for (String regionCode : phoneNumberUtil.getRegionCodesForCountryCode(countryCode)) {
+                PhoneMetadata metadata = metadata(metadataSource, regionCode, countryCode);
+                if (metadata != null) {
+                    regions.add(Region.of(metadata, compiler));
+                }
+            }
+            if (!regions.isEmpty()) {
+                // Only the main region's national prefix is stripped while parsing
+                PhoneMetadata main = metadata(
+                        metadataSource, phoneNumberUtil.getRegionCodeForCountryCode(countryCode), countryCode);
+                Pattern nationalPrefix = main != null && !main.getNationalPrefixForParsing().isEmpty()
+                        ? compiler.compile(main.getNationalPrefixForParsing())
+                        : null;
+                countries[countryCode] = new Country(nationalPrefix, regions.toArray(new Region[0]));
+            }
+        }
+    }
+
+    /**
+     * Whether the number is a valid E.164 number.
+     *
+     * @return {@link #VALID}, {@link #INVALID}, or {@link #UNDECIDED} when libphonenumber must decide
+     */
+    int check(String phoneNumber) {
+        int length = phoneNumber.length();
+        if (length < 2 || phoneNumber.charAt(0) != '+') {
+            return UNDECIDED;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = phoneNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return UNDECIDED;
+            }
+        }
+        if (phoneNumber.charAt(1) == '0') {
+            return UNDECIDED;
+        }
+
+        // Calling codes are prefix-free, so the first known one is the code
+        Country country = null;
+        int countryCode = 0;
+        int nationalStart = 1;
+        while (nationalStart < Math.min(4, length)) {
+            countryCode = countryCode * 10 + (phoneNumber.charAt(nationalStart++) - '0');
+            country = countries[countryCode];
+            if (country != null) {
+                break;
+            }
+        }
+        int nationalLength = length - nationalStart;
+        if (country == null || nationalLength < MIN_NATIONAL_LENGTH || nationalLength > MAX_NATIONAL_LENGTH) {
+            return UNDECIDED;
+        }
+
+        String nationalNumber = phoneNumber.substring(nationalStart);
+        if (country.nationalPrefix != null && country.nationalPrefix.matcher(nationalNumber).lookingAt()) {
+            return UNDECIDED;
+        }
+        return country.isValid(nationalNumber) ? VALID : INVALID;
+    }
+
+    private static PhoneMetadata metadata(MetadataSource metadataSource, String regionCode, int countryCode) {
+        return NON_GEO_REGION.equals(regionCode)
+                ? metadataSource.getMetadataForNonGeographicalRegion(countryCode)
+                : metadataSource.getMetadataForRegion(regionCode);
+    }
+
+    /**
+     * Compiles each distinct pattern of the metadata once.
+     */
+    private static final class Compiler {
+
+        private final Map<String, Pattern> patterns = new HashMap<>();
+
+        Pattern compile(String regex) {
+            return patterns.computeIfAbsent(regex, Pattern::compile);
+        }
+    }
+
+    private record Country(Pattern nationalPrefix, Region[] regions) {
+
+        /**
+         * The number's region is the first whose leading digits or number types match; it is
+         * valid if one of that region's number types matches.
+         */
+        boolean isValid(String nationalNumber) {
+            if (regions.length == 1) {
+                return regions[0].matchesAnyType(nationalNumber);
+            }
+            for (Region region : regions) {
+                if (region.leadingDigits != null) {
+                    if (region.leadingDigits.matcher(nationalNumber).lookingAt()) {
+                        return region.matchesAnyType(nationalNumber);
+                    }
+                } else if (region.matchesAnyType(nationalNumber)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Region(Pattern leadingDigits, Desc general, Desc[] types) {
+
+        static Region of(PhoneMetadata metadata, Compiler compiler) {
+            Pattern leadingDigits = metadata.hasLeadingDigits() && !metadata.getLeadingDigits().isEmpty()
+                    ? compiler.compile(metadata.getLeadingDigits())
+                    : null;
+            // The types PhoneNumberUtil.getNumberType tries, in its order
+            PhoneNumberDesc[] descs = {
+                    metadata.getPremiumRate(), metadata.getTollFree(), metadata.getSharedCost(),
+                    metadata.getVoip(), metadata.getPersonalNumber(), metadata.getPager(),
+                    metadata.getUan(), metadata.getVoicemail(), metadata.getFixedLine(), metadata.getMobile()
+            };
+            List<Desc> types = new ArrayList<>(descs.length);
+            for (PhoneNumberDesc desc : descs) {
+                Desc type = Desc.of(desc, compiler);
+                if (type != null) {
+                    types.add(type);
+                }
+            }
+            return new Region(leadingDigits, Desc.of(metadata.getGeneralDesc(), compiler), types.toArray(new Desc[0]));
+        }
+
+        boolean matchesAnyType(String nationalNumber) {
+            if (general == null || !general.matches(nationalNumber)) {
+                return false;
+            }
+            for (Desc type : types) {
+                if (type.matches(nationalNumber)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @param lengths Bit {@code n} set when national numbers of length {@code n} are possible
+     */
+    private record Desc(int lengths, Pattern pattern) {
+
+        /**
+         * Null when no number can match the description.
+         */
+        static Desc of(PhoneNumberDesc desc, Compiler compiler) {
+            if (desc == null || desc.getNationalNumberPattern().isEmpty()) {
+                return null;
+            }
+            int lengths = desc.getPossibleLengthCount() == 0 ? ANY_LENGTH : 0;
+            for (int length : desc.getPossibleLengthList()) {
+                if (length >= 0 && length < Integer.SIZE) {
+                    lengths |= 1 << length;
+                }
+            }
+            return lengths == 0 ? null : new Desc(lengths, compiler.compile(desc.getNationalNumberPattern()));
+        }
+
+        boolean matches(String nationalNumber) {
+            return (lengths & (1 << nationalNumber.length())) != 0 && pattern.matcher(nationalNumber).matches();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.motive.numberverification.common.util;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * SHA-256 hashing of phone numbers for hashed verification.
+ *
+ * <p>Each thread keeps its own {@link MessageDigest} and scratch buffers, so hashing and comparing an
+ * ASCII phone number allocates nothing. Comparison decodes the expected hex hash to bytes and checks them
+ * with {@link MessageDigest#isEqual}, which takes the same time wherever the first difference is.
+ * Virtual threads are not reused, so on them each call sets up its own digest as before.
+ */
+@Component
+public class PhoneNumberHasher {
+
+    public static final int DIGEST_LENGTH = 32;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_VALUES[HEX_DIGITS[i]] = (byte) i;
+            HEX_VALUES[Character.toUpperCase(HEX_DIGITS[i])] = (byte) i;
+        }
+    }
+
+    private static final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Whether the phone number hashes to {@code expectedHex}, a hex-encoded SHA-256 digest in either case.
+     */
+    public boolean matches(String phoneNumber, String expectedHex) {
+        Scratch buffers = scratch.get();
+        return decodeHex(expectedHex, buffers.expected)
+                && MessageDigest.isEqual(buffers.digest(phoneNumber), buffers.expected);
+    }
+
+    /**
+     * Whether a precomputed digest equals {@code expectedHex}.
+     */
+    public boolean matches(byte[] digest, String expectedHex) {
+        byte[] expected = scratch.get().expected;
+        return decodeHex(expectedHex, expected) && MessageDigest.isEqual(digest, expected);
+    }
+
+    /**
+     * Whether any of the digests packed back to back in {@code packedDigests} equals {@code expectedHex}.
+     * Every digest is compared in full, so the time taken does not reveal which one matched.
+     */
+    public boolean matchesAny(byte[] packedDigests, String expectedHex) {
+        byte[] expected = scratch.get().expected;
+        if (!decodeHex(expectedHex, expected)) {
+            return false;
+        }
+        boolean matched = false;
+        for (int offset = 0; offset + DIGEST_LENGTH <= packedDigests.length; offset += DIGEST_LENGTH) {
+            int difference = 0;
+            for (int i = 0; i < DIGEST_LENGTH; i++) {
+                difference |= packedDigests[offset + i] ^ expected[i];
+            }
+            matched |= difference == 0;
+        }
+        return matched;
+    }
+
+    /**
+     * SHA-256 digest of the phone number, in a new array the caller may keep.
+     */
+    public byte[] digest(String phoneNumber) {
+        return scratch.get().digest(phoneNumber).clone();
+    }
+
+    /**
+     * SHA-256 digest of the phone number, written into {@code out} at {@code offset}.
+     */
+    public void digest(String phoneNumber, byte[] out, int offset) {
+        System.arraycopy(scratch.get().digest(phoneNumber), 0, out, offset, DIGEST_LENGTH);
+    }
+
+    /**
+     * Lowercase hex SHA-256 of the phone number.
+     */
+    public String hashHex(String phoneNumber) {
+        Scratch buffers = scratch.get();
+        return encodeHex(buffers.digest(phoneNumber), buffers.hex);
+    }
+
+    /**
+     * Lowercase hex SHA-256 of two fields, either of which may be null. Each field is length-prefixed, so an
+     * absent field, an empty one and one running into the next all hash differently.
+     */
+    public String fieldsHashHex(String first, String second) {
+        Scratch buffers = scratch.get();
+        buffers.updateField(first);
+        buffers.updateField(second);
+        return encodeHex(buffers.finish(), buffers.hex);
+    }
+
+    private static String encodeHex(byte[] hash, char[] hex) {
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            hex[2 * i] = HEX_DIGITS[(hash[i] >> 4) & 0x0F];
+            hex[2 * i + 1] = HEX_DIGITS[hash[i] & 0x0F];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Decode a 64-character hex digest into {@code out}; false if it is not one.
+     */
+    private static boolean decodeHex(String hex, byte[] out) {
+        if (hex == null || hex.length() != 2 * DIGEST_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            int high = hexValue(hex.charAt(2 * i));
+            int low = hexValue(hex.charAt(2 * i + 1));
+            if (high < 0 || low < 0) {
+                return false;
+            }
+            out[i] = (byte) (high << 4 | low);
+        }
+        return true;
+    }
+
+    private static int hexValue(char c) {
+        return c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+    }
+
+    /**
+     * Per-thread digest and buffers; results are only valid until the thread's next call.
+     */
+    private static final class Scratch {
+
+        private final MessageDigest messageDigest;
+        private byte[] input = new byte[32];
+        private final byte[] hash = new byte[DIGEST_LENGTH];
+        private final byte[] expected = new byte[DIGEST_LENGTH];
+        private final char[] hex = new char[2 * DIGEST_LENGTH];
+        private final byte[] lengthPrefix = new byte[5];
+
+        Scratch() {
+            try {
+                messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        byte[] digest(String phoneNumber) {
+            if (toAscii(phoneNumber)) {
+                messageDigest.update(input, 0, phoneNumber.length());
+            } else {
+                // Not ASCII: hash the UTF-8 encoding
+                messageDigest.update(phoneNumber.getBytes(StandardCharsets.UTF_8));
+            }
+            return finish();
+        }
+
+        /**
+         * Add a field as a presence byte, then its UTF-8 length as four bytes and the bytes themselves.
+         */
+        void updateField(String field) {
+            if (field == null) {
+                messageDigest.update((byte) 0);
+                return;
+            }
+            byte[] bytes = toAscii(field) ? input : field.getBytes(StandardCharsets.UTF_8);
+            int length = bytes == input ? field.length() : bytes.length;
+            lengthPrefix[0] = 1;
+            lengthPrefix[1] = (byte) (length >>> 24);
+            lengthPrefix[2] = (byte) (length >>> 16);
+            lengthPrefix[3] = (byte) (length >>> 8);
+            lengthPrefix[4] = (byte) length;
+            messageDigest.update(lengthPrefix);
+            messageDigest.update(bytes, 0, length);
+        }
+
+        /**
+         * Copy the string into the input buffer if it is ASCII; false, with the buffer undefined, if not.
+         */
+        private boolean toAscii(String value) {
+            int length = value.length();
+            if (length > input.length) {
+                input = new byte[Math.max(length, 2 * input.length)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    return false;
+                }
+                input[i] = (byte) c;
+            }
+            return true;
+        }
+
+        byte[] finish() {
+            try {
+                messageDigest.digest(hash, 0, DIGEST_LENGTH);
+            } catch (DigestException e) {
+                messageDigest.reset();
+                throw new IllegalStateException("Failed to hash phone number", e);
+            }
+            return hash;
+        }
+    }
+}
@@ -2,25 +2,56 @@ package com.motive.numberverification.common.util;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.i18n.phonenumbers.NumberParseException;
 import com.google.i18n.phonenumbers.PhoneNumberUtil;
 import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
 import com.motive.numberverification.common.exception.ApiException;
+import com.motive.numberverification.common.exception.ValidationError;
+
+import java.util.List;
 
 /**
  * Utility class for phone number operations.
+ * 
+ * <p>Well-formed E.164 numbers are validated against tables built from the libphonenumber metadata
+ * (see {@link E164FastPath}); other input goes through libphonenumber parsing. Normalization results,
+ * including rejections, are kept in a bounded cache keyed by the input.
  */
 @Component
 public class PhoneNumberUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(PhoneNumberUtils.class);
     
+    private static final long DEFAULT_NORMALIZATION_CACHE_SIZE = 10_000;
+    
+    /** Cached in place of a normalized number for input that does not normalize. */
+    private static final String INVALID = new String("INVALID");
+    
     private final PhoneNumberUtil phoneNumberUtil;
+    private final E164FastPath e164FastPath;
+    private final Cache<String, String> normalizations;
     
     public PhoneNumberUtils() {
+        this(DEFAULT_NORMALIZATION_CACHE_SIZE);
+    }
+    
+    /**
+     * @param normalizationCacheSize Inputs whose normalization is remembered; 0 disables the cache
+     */
+    @Autowired
+    public PhoneNumberUtils(
+            @Value("${verification.phone-number.normalization-cache.max-size:10000}") long normalizationCacheSize) {
         this.phoneNumberUtil = PhoneNumberUtil.getInstance();
+        this.e164FastPath = new E164FastPath(phoneNumberUtil);
+        this.normalizations = normalizationCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(normalizationCacheSize).build()
+                : null;
     }
     
     /**
@@ -28,17 +59,67 @@ public class PhoneNumberUtils {
      * 
      * @param phoneNumber The phone number to normalize
      * @return The normalized phone number in E.164 format
-     * @throws ApiException if the phone number is invalid
+     * @throws ApiException if the phone number is invalid; the shared, stackless
+     *         {@link ValidationError#INVALID_PHONE_NUMBER} exception
      */
     public String normalizePhoneNumber(String phoneNumber) {
+        String normalized = normalized(phoneNumber);
+        if (normalized == INVALID) {
+            throw ValidationError.INVALID_PHONE_NUMBER.exception();
+        }
+        return normalized;
+    }
+    
+    /**
+     * Normalize a phone number to E.164 format without throwing, for bulk input. Bulk input bypasses the
+     * normalization cache, where numbers seen once would only evict those of interactive requests.
+     * 
+     * @param phoneNumber The phone number to normalize
+     * @return The normalized phone number in E.164 format, or null if the phone number is invalid
+     */
+    public String normalizeOrNull(String phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+        String normalized = normalize(phoneNumber);
+        return normalized == INVALID ? null : normalized;
+    }
+    
+    /**
+     * Normalize a phone number to E.164 format, keeping it as given if it does not normalize; for keys
+     * that should not tell spellings of one number apart.
+     * 
+     * @param phoneNumber The phone number to normalize
+     * @return The normalized phone number in E.164 format, or the phone number itself
+     */
+    public String normalizeOrKeep(String phoneNumber) {
+        String normalized = normalized(phoneNumber);
+        return normalized == INVALID ? phoneNumber : normalized;
+    }
+    
+    private String normalized(String phoneNumber) {
+        return normalizations != null
+                ? normalizations.get(phoneNumber, this::normalize)
+                : normalize(phoneNumber);
+    }
+    
+    /**
+     * The E.164 form of the number, or {@link #INVALID}.
+     */
+    private String normalize(String phoneNumber) {
         try {
             // If the phone number is already in E.164 format, validate and return it
             if (phoneNumber.startsWith("+")) {
+                int fastPath = e164FastPath.check(phoneNumber);
+                if (fastPath != E164FastPath.UNDECIDED) {
+                    // Canonical E.164 is the input itself
+                    return fastPath == E164FastPath.VALID ? phoneNumber : INVALID;
+                }
                 PhoneNumber parsedNumber = phoneNumberUtil.parse(phoneNumber, null);
                 if (phoneNumberUtil.isValidNumber(parsedNumber)) {
                     return phoneNumberUtil.format(parsedNumber, PhoneNumberUtil.PhoneNumberFormat.E164);
                 } else {
-                    throw new ApiException("Invalid phone number format");
+                    return INVALID;
                 }
             }
             
@@ -47,11 +128,11 @@ public class PhoneNumberUtils {
             if (phoneNumberUtil.isValidNumber(parsedNumber)) {
                 return phoneNumberUtil.format(parsedNumber, PhoneNumberUtil.PhoneNumberFormat.E164);
             } else {
-                throw new ApiException("Invalid phone number format");
+                return INVALID;
             }
         } catch (NumberParseException e) {
-            logger.error("Failed to parse phone number: {}", e.getMessage());
-            throw new ApiException("Invalid phone number format");
+            logger.debug("Failed to parse phone number: {}", e.getMessage());
+            return INVALID;
         }
     }
     
@@ -62,6 +143,10 @@ public class PhoneNumberUtils {
      * @return true if the phone number is valid, false otherwise
      */
     public boolean isValidPhoneNumber(String phoneNumber) {
+        // E.164 input is valid exactly when it normalizes
+        if (phoneNumber != null && phoneNumber.startsWith("+")) {
+            return normalized(phoneNumber) != INVALID;
+        }
         try {
             PhoneNumber parsedNumber = phoneNumberUtil.parse(phoneNumber, null);
             return phoneNumberUtil.isValidNumber(parsedNumber);
@@ -70,6 +155,46 @@ public class PhoneNumberUtils {
         }
     }
     
+    /**
+     * Resolve a routing key to the E.164 digits it matches.
+     * Accepts a region code with a country calling code of its own (e.g. "FR"), or a country calling
+     * code, optionally followed by leading national digits (e.g. "44", "+1415"). A region that shares
+     * its calling code, such as "US" or "GB", is rejected: its prefix would also match the other regions.
+     * 
+     * @param routingKey The region code or dialing prefix
+     * @return The dialing prefix digits, without the leading '+'
+     * @throws IllegalArgumentException if the key is an unknown region, a region sharing its calling code,
+     *                                  or does not start with a known country calling code
+     */
+    public String routingPrefix(String routingKey) {
+        String key = routingKey.trim();
+        if (key.length() == 2 && Character.isLetter(key.charAt(0)) && Character.isLetter(key.charAt(1))) {
+            int countryCode = phoneNumberUtil.getCountryCodeForRegion(key.toUpperCase());
+            if (countryCode == 0) {
+                throw new IllegalArgumentException("Unknown region code: " + routingKey);
+            }
+            List<String> regions = phoneNumberUtil.getRegionCodesForCountryCode(countryCode);
+            if (regions.size() > 1) {
+                throw new IllegalArgumentException("Region " + routingKey + " shares country calling code +"
+                        + countryCode + " with other regions " + regions + "; route it by dialing prefix instead");
+            }
+            return String.valueOf(countryCode);
+        }
+        
+        String digits = key.startsWith("+") ? key.substring(1) : key;
+        if (digits.isEmpty() || !digits.chars().allMatch(Character::isDigit)) {
+            throw new IllegalArgumentException("Routing prefix must be a region code or digits: " + routingKey);
+        }
+        // Country calling codes are prefix-free and at most three digits long
+        for (int length = 1; length <= Math.min(3, digits.length()); length++) {
+            int countryCode = Integer.parseInt(digits.substring(0, length));
+            if (phoneNumberUtil.getSupportedCallingCodes().contains(countryCode)) {
+                return digits;
+            }
+        }
+        throw new IllegalArgumentException("Unknown country calling code in routing prefix: " + routingKey);
+    }
+    
     /**
      * Mask a phone number for display or logging purposes.
      * Example: +1234567890 -> +1****7890
@@ -0,0 +1,90 @@
+package com.motive.numberverification.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration for asynchronous request processing.
+ * The execution mode follows {@code spring.threads.virtual.enabled}: when virtual threads are
+ * enabled (Java 21+), Tomcat and the verification executor both run on virtual threads.
+ * Servlet stack only; the reactive profile completes requests on the Netty event loop instead.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AsyncConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor verificationExecutor;
+    private final Duration requestTimeout;
+
+    public AsyncConfig(
+            @Qualifier("verificationExecutor") AsyncTaskExecutor verificationExecutor,
+            @Value("${verification.async.request-timeout:5s}") Duration requestTimeout) {
+        this.verificationExecutor = verificationExecutor;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Bounded platform-thread executor that completes async verification requests.
+     * Work beyond the queue capacity is rejected rather than queued without limit.
+     */
+    @Configuration
+    @ConditionalOnThreading(Threading.PLATFORM)
+    static class PlatformThreadExecutorConfig {
+
+        @Bean
+        public ThreadPoolTaskExecutor verificationExecutor(
+                @Value("${verification.async.core-pool-size:8}") int corePoolSize,
+                @Value("${verification.async.max-pool-size:32}") int maxPoolSize,
+                @Value("${verification.async.queue-capacity:1000}") int queueCapacity) {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(corePoolSize);
+            executor.setMaxPoolSize(maxPoolSize);
+            executor.setQueueCapacity(queueCapacity);
+            executor.setThreadNamePrefix("verification-");
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+            executor.setWaitForTasksToCompleteOnShutdown(true);
+            return executor;
+        }
+    }
+
+    /**
+     * Virtual-thread executor: one cheap thread per task, bounded by a concurrency limit
+     * instead of a pool size, so blocking provider calls do not tie up carrier threads.
+     */
+    @Configuration
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    static class VirtualThreadExecutorConfig {
+
+        @Bean
+        public SimpleAsyncTaskExecutor verificationExecutor(
+                @Value("${verification.async.max-concurrency:10000}") int maxConcurrency) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("verification-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxConcurrency);
+            executor.setTaskTerminationTimeout(Duration.ofSeconds(30).toMillis());
+            return executor;
+        }
+    }
+
+    /**
+     * Use the verification executor and timeout for async controller return values.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(verificationExecutor);
+        configurer.setDefaultTimeout(requestTimeout.toMillis());
+    }
+}
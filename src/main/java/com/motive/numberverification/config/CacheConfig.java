@@ -1,5 +1,9 @@
 package com.motive.numberverification.config;
 
+import com.motive.numberverification.common.cache.CompactCacheValueSerializer;
+import com.motive.numberverification.common.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -13,31 +17,62 @@ import org.springframework.data.redis.serializer.RedisSerializationContext;
 import java.time.Duration;
 
 /**
- * Configuration for Redis caching.
+ * Configuration for two-tier caching: a bounded in-process Caffeine cache in front of Redis.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    public static final String DEVICE_PHONE_NUMBERS = "devicePhoneNumbers";
+    public static final String VERIFICATION_RESULTS = "verificationResults";
+    public static final String IDEMPOTENT_RESPONSES = "idempotentResponses";
+    public static final Duration DEVICE_PHONE_NUMBERS_TTL = Duration.ofMinutes(30);
+    public static final Duration VERIFICATION_RESULTS_TTL = Duration.ofMinutes(5);
+
     /**
-     * Configure Redis cache manager.
+     * Configure the cache manager: each Redis cache gets a local L1.
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoTierCacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            @Value("${verification.cache.l1.max-size:10000}") long localMaxSize,
+            @Value("${verification.cache.l1.ttl:1m}") Duration localTtl,
+            @Value("${verification.cache.stampede.stale-while-revalidate:1m}") Duration staleWhileRevalidate,
+            @Value("${verification.idempotency.window:1h}") Duration idempotencyWindow,
+            MeterRegistry meterRegistry) {
+        return new TwoTierCacheManager(redisCacheManager(connectionFactory, staleWhileRevalidate, idempotencyWindow),
+                localMaxSize, localTtl, meterRegistry);
+    }
+
+    /**
+     * Configure Redis cache manager. Entries are kept for the stale-while-revalidate window past their
+     * freshness TTL, so they can still be served while being refreshed.
+     */
+    private static RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                                       Duration staleWhileRevalidate, Duration idempotencyWindow) {
         // Default cache configuration
         RedisCacheConfiguration defaultCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))  // Default TTL of 10 minutes
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
                         new GenericJackson2JsonRedisSerializer()))
                 .disableCachingNullValues();
+        // Provider result caches hold small values, stored in the compact binary format
+        RedisCacheConfiguration providerResultConfig = defaultCacheConfig
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new CompactCacheValueSerializer()));
         
         // Configure different TTLs for different caches
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager cacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultCacheConfig)
-                .withCacheConfiguration("devicePhoneNumbers", 
-                        defaultCacheConfig.entryTtl(Duration.ofMinutes(30)))  // 30 minutes TTL for device phone numbers
-                .withCacheConfiguration("verificationResults", 
-                        defaultCacheConfig.entryTtl(Duration.ofMinutes(5)))   // 5 minutes TTL for verification results
+                .withCacheConfiguration(DEVICE_PHONE_NUMBERS, 
+                        providerResultConfig.entryTtl(DEVICE_PHONE_NUMBERS_TTL.plus(staleWhileRevalidate)))
+                .withCacheConfiguration(VERIFICATION_RESULTS, 
+                        providerResultConfig.entryTtl(VERIFICATION_RESULTS_TTL.plus(staleWhileRevalidate)))
+                // Responses replayed for an Idempotency-Key are kept for the idempotency window only
+                .withCacheConfiguration(IDEMPOTENT_RESPONSES, providerResultConfig.entryTtl(idempotencyWindow))
                 .build();
+        // Not a bean of its own, so create the configured caches here
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
     }
 }
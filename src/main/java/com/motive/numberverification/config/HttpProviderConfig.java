@@ -0,0 +1,105 @@
+package com.motive.numberverification.config;
+
+import com.motive.numberverification.integration.provider.HttpTelecomProvider;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Configuration for HTTP-backed telecom providers ({@code telecom.provider.type=http}).
+ * Each provider gets its own pooled Reactor Netty client; pool metrics are published to Micrometer
+ * under {@code reactor.netty.connection.provider.*}, tagged with the pool name.
+ */
+@Configuration
+@ConditionalOnProperty(name = "telecom.provider.type", havingValue = "http")
+public class HttpProviderConfig {
+
+    @Value("${telecom.provider.http.max-connections:200}")
+    private int maxConnections;
+    
+    @Value("${telecom.provider.http.pending-acquire-max-count:1000}")
+    private int pendingAcquireMaxCount;
+    
+    @Value("${telecom.provider.http.pending-acquire-timeout:2s}")
+    private Duration pendingAcquireTimeout;
+    
+    @Value("${telecom.provider.http.max-idle-time:30s}")
+    private Duration maxIdleTime;
+    
+    @Value("${telecom.provider.http.max-life-time:5m}")
+    private Duration maxLifeTime;
+    
+    @Value("${telecom.provider.http.connect-timeout:1s}")
+    private Duration connectTimeout;
+    
+    @Value("${telecom.provider.http.read-timeout:3s}")
+    private Duration readTimeout;
+    
+    @Value("${telecom.provider.http.http2-enabled:true}")
+    private boolean http2Enabled;
+    
+    @Bean("defaultTelecomProvider")
+    public HttpTelecomProvider primaryHttpTelecomProvider(
+            WebClient.Builder webClientBuilder,
+            @Value("${telecom.provider.primary.url}") String url,
+            @Value("${telecom.provider.primary.key}") String apiKey) {
+        return httpTelecomProvider("primary", webClientBuilder, url, apiKey);
+    }
+    
+    @Bean("fallbackTelecomProvider")
+    public HttpTelecomProvider fallbackHttpTelecomProvider(
+            WebClient.Builder webClientBuilder,
+            @Value("${telecom.provider.fallback.url}") String url,
+            @Value("${telecom.provider.fallback.key}") String apiKey) {
+        return httpTelecomProvider("fallback", webClientBuilder, url, apiKey);
+    }
+    
+    private HttpTelecomProvider httpTelecomProvider(String name, WebClient.Builder webClientBuilder,
+                                                    String url, String apiKey) {
+        WebClient webClient = webClientBuilder.clone()
+                .baseUrl(url)
+                .defaultHeader("X-API-Key", apiKey)
+                .clientConnector(new ReactorClientHttpConnector(httpClient(name, url)))
+                .build();
+        
+        return new HttpTelecomProvider(name, webClient, readTimeout.plus(connectTimeout));
+    }
+    
+    /**
+     * Pooled, keep-alive HTTP client for one provider.
+     * HTTP/2 is negotiated via ALPN on TLS endpoints, so requests multiplex over few connections;
+     * plain HTTP endpoints use pooled HTTP/1.1 connections.
+     */
+    HttpClient httpClient(String name, String url) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("telecom-provider-" + name)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(maxIdleTime)
+                .metrics(true)
+                .build();
+        
+        HttpProtocol[] protocols = http2Enabled && url.startsWith("https")
+                ? new HttpProtocol[] {HttpProtocol.H2, HttpProtocol.HTTP11}
+                : new HttpProtocol[] {HttpProtocol.HTTP11};
+        
+        return HttpClient.create(connectionProvider)
+                .protocol(protocols)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(readTimeout)
+                .metrics(true, uri -> uri);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.mongodb.MongoTransactionManager;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
@@ -15,7 +16,12 @@ import com.mongodb.client.MongoClients;
 
 import java.util.Collections;
 
+/**
+ * MongoDB client and repositories. Repositories are enabled here rather than on the application class,
+ * so test slices that do not load this configuration do not need a MongoDB template.
+ */
 @Configuration
+@EnableMongoRepositories(basePackages = "com.motive.numberverification.persistence")
 public class MongoConfig extends AbstractMongoClientConfiguration {
 
     @Override
@@ -0,0 +1,87 @@
+package com.motive.numberverification.config;
+
+import com.motive.numberverification.common.deadline.ReactiveDeadlineFilter;
+import com.motive.numberverification.common.deadline.RequestDeadlines;
+import com.motive.numberverification.security.AuthenticationFilter;
+import com.motive.numberverification.security.RateLimiter;
+import com.motive.numberverification.security.ReactiveAuthenticationFilter;
+import com.motive.numberverification.security.ReactiveRateLimitingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.AndServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.OrServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Configuration for the fully reactive deployment profile ({@code reactive}).
+ * Serves the API on Netty with non-blocking security and rate limiting filters.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig implements WebFluxConfigurer {
+
+    /**
+     * Force Netty; Tomcat is also on the classpath for the servlet stack and would otherwise win.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+    
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         RateLimiter rateLimiter,
+                                                         MeterRegistry meterRegistry,
+                                                         RequestDeadlines requestDeadlines,
+                                                         @Value("${security.actuator.operator-token:}") String operatorToken) {
+        // Filters are created here rather than as beans so WebFlux does not also register them globally
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchanges -> exchanges
+                        .matchers(actuatorWrites()).hasRole(AuthenticationFilter.OPERATOR_ROLE)
+                        .anyExchange().permitAll())
+                // The deadline starts first so rate limiting and authentication are charged against it
+                .addFilterAt(new ReactiveDeadlineFilter(requestDeadlines), SecurityWebFiltersOrder.FIRST)
+                .addFilterBefore(new ReactiveRateLimitingFilter(rateLimiter, meterRegistry, requestDeadlines),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .addFilterAt(new ReactiveAuthenticationFilter(meterRegistry, requestDeadlines, operatorToken),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+    
+    /**
+     * Actuator write and delete operations, which reload provider routes and invalidate caches on every node.
+     */
+    private static ServerWebExchangeMatcher actuatorWrites() {
+        return new AndServerWebExchangeMatcher(EndpointRequest.toAnyEndpoint(),
+                new OrServerWebExchangeMatcher(
+                        ServerWebExchangeMatchers.pathMatchers(HttpMethod.POST, "/**"),
+                        ServerWebExchangeMatchers.pathMatchers(HttpMethod.DELETE, "/**")));
+    }
+    
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/**")
+            .allowedOrigins("*")
+            .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+            .allowedHeaders("*");
+    }
+}
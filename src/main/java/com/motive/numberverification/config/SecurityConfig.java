@@ -1,19 +1,25 @@
 package com.motive.numberverification.config;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import com.motive.numberverification.security.AuthenticationFilter;
 import com.motive.numberverification.security.RateLimitingFilter;
 
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
     
     private final AuthenticationFilter authenticationFilter;
@@ -30,6 +36,7 @@ public class SecurityConfig {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(authorize -> authorize
+                .requestMatchers(actuatorWrites()).hasRole(AuthenticationFilter.OPERATOR_ROLE)
                 .anyRequest().permitAll()
             )
             .sessionManagement(session -> session
@@ -40,4 +47,13 @@ public class SecurityConfig {
         
         return http.build();
     }
-}
\ No newline at end of file
+    
+    /**
+     * Actuator write and delete operations, which reload provider routes and invalidate caches on every node.
+     */
+    private static RequestMatcher actuatorWrites() {
+        return new AndRequestMatcher(EndpointRequest.toAnyEndpoint(),
+                request -> HttpMethod.POST.matches(request.getMethod())
+                        || HttpMethod.DELETE.matches(request.getMethod()));
+    }
+}
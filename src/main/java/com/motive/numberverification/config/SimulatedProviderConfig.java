@@ -0,0 +1,41 @@
+package com.motive.numberverification.config;
+
+import com.motive.numberverification.integration.provider.SimulatedTelecomProvider;
+import com.motive.numberverification.integration.provider.SimulatorSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration for simulated telecom providers ({@code telecom.provider.type=simulated}, the default).
+ * Each provider's behaviour is bound from {@code telecom.provider.simulator.<primary|fallback>.*};
+ * see {@link SimulatorSettings} for the available settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "telecom.provider.type", havingValue = "simulated", matchIfMissing = true)
+public class SimulatedProviderConfig {
+
+    private final Binder binder;
+    
+    public SimulatedProviderConfig(Environment environment) {
+        this.binder = Binder.get(environment);
+    }
+    
+    @Bean("defaultTelecomProvider")
+    public SimulatedTelecomProvider primarySimulatedTelecomProvider() {
+        return simulatedTelecomProvider("primary");
+    }
+    
+    @Bean("fallbackTelecomProvider")
+    public SimulatedTelecomProvider fallbackSimulatedTelecomProvider() {
+        return simulatedTelecomProvider("fallback");
+    }
+    
+    private SimulatedTelecomProvider simulatedTelecomProvider(String name) {
+        SimulatorSettings settings = binder.bind("telecom.provider.simulator." + name, SimulatorSettings.class)
+                .orElseGet(SimulatorSettings::new);
+        return new SimulatedTelecomProvider(name, settings);
+    }
+}
@@ -0,0 +1,267 @@
+package com.motive.numberverification.integration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Runs a provider call with an optional hedge against a second provider.
+ *
+ * <p>If the primary has not produced a valid answer within the hedge delay (the observed primary
+ * latency at {@code telecom.provider.hedging.percentile}, clamped to the configured bounds), the same
+ * request is sent to the secondary and the first valid answer wins; the loser is cancelled.
+ * A primary failure starts the secondary immediately, like the regular fallback.
+ * Hedges are limited by a budget that earns {@code max-hedge-ratio} hedges per call.
+ */
+@Component
+public class HedgedRequestExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgedRequestExecutor.class);
+    
+    private static final int WINDOW_SIZE = 1024;
+    private static final int WINDOW_REFRESH_INTERVAL = 32;
+    private static final int WINDOW_MIN_SAMPLES = 50;
+    private static final int HEDGE_PERCENTILE = 0;
+    private static final int P99 = 1;
+    
+    /** Budget is kept in thousandths of a hedge. */
+    private static final long BUDGET_UNIT = 1000;
+    
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final long budgetPerCall;
+    private final long maxBudget;
+    
+    private final Map<String, LatencyWindow> primaryLatencies = new ConcurrentHashMap<>();
+    private final AtomicLong budget;
+    
+    private final Counter hedgesIssued;
+    private final Counter hedgesWon;
+    private final Counter hedgesSkipped;
+    private final Timer latencySaved;
+    
+    public HedgedRequestExecutor(
+            @Value("${telecom.provider.hedging.enabled:false}") boolean enabled,
+            @Value("${telecom.provider.hedging.percentile:0.95}") double percentile,
+            @Value("${telecom.provider.hedging.min-delay:20ms}") Duration minDelay,
+            @Value("${telecom.provider.hedging.max-delay:1s}") Duration maxDelay,
+            @Value("${telecom.provider.hedging.max-hedge-ratio:0.1}") double maxHedgeRatio,
+            @Value("${telecom.provider.hedging.max-burst:10}") int maxBurst,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        this.budgetPerCall = Math.round(maxHedgeRatio * BUDGET_UNIT);
+        this.maxBudget = maxBurst * BUDGET_UNIT;
+        this.budget = new AtomicLong(maxBudget);
+        
+        this.hedgesIssued = Counter.builder("provider.hedge.issued")
+                .description("Number of hedged requests sent to the secondary provider")
+                .register(meterRegistry);
+        this.hedgesWon = Counter.builder("provider.hedge.won")
+                .description("Number of hedged requests that answered before the primary")
+                .register(meterRegistry);
+        this.hedgesSkipped = Counter.builder("provider.hedge.skipped")
+                .description("Number of hedges not sent because the hedge budget was exhausted")
+                .register(meterRegistry);
+        this.latencySaved = Timer.builder("provider.hedge.latency_saved")
+                .description("Estimated latency saved by winning hedges, against the primary's observed p99")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Call the primary, hedging to the secondary when it is slow or failing.
+     *
+     * @param operation Name of the provider operation; latency is tracked per operation
+     * @param primary Starts the primary provider call
+     * @param secondary Starts the secondary provider call
+     * @param valid Whether a result is a usable answer; an invalid answer waits for the other provider
+     * @return Future completed with the first valid answer, else an invalid answer, else the primary's failure
+     */
+    public <T> CompletableFuture<T> execute(String operation,
+                                            Supplier<CompletableFuture<T>> primary,
+                                            Supplier<CompletableFuture<T>> secondary,
+                                            Predicate<T> valid) {
+        LatencyWindow window = primaryLatencies.computeIfAbsent(operation,
+                key -> new LatencyWindow(WINDOW_SIZE, WINDOW_REFRESH_INTERVAL, WINDOW_MIN_SAMPLES, percentile, 0.99));
+        depositBudget();
+        
+        HedgedCall<T> call = new HedgedCall<>(operation, window, secondary, valid);
+        call.start(primary);
+        
+        CompletableFuture.delayedExecutor(hedgeDelay(window).toNanos(), TimeUnit.NANOSECONDS)
+                .execute(call::hedge);
+        
+        return call.result;
+    }
+    
+    Duration hedgeDelay(LatencyWindow window) {
+        long observed = window.percentileNanos(HEDGE_PERCENTILE);
+        if (observed < 0) {
+            return maxDelay;
+        }
+        long clamped = Math.max(minDelay.toNanos(), Math.min(maxDelay.toNanos(), observed));
+        return Duration.ofNanos(clamped);
+    }
+    
+    private void depositBudget() {
+        budget.getAndUpdate(current -> Math.min(maxBudget, current + budgetPerCall));
+    }
+    
+    private void refundBudget() {
+        budget.getAndUpdate(current -> Math.min(maxBudget, current + BUDGET_UNIT));
+    }
+    
+    private boolean withdrawBudget() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < BUDGET_UNIT) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - BUDGET_UNIT));
+        return true;
+    }
+    
+    /**
+     * State of one hedged call. The {@code outstanding} count starts at two: one for the primary and
+     * one for the secondary, which is always started unless the primary answers validly first.
+     */
+    private final class HedgedCall<T> {
+        
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        
+        private final String operation;
+        private final LatencyWindow window;
+        private final Supplier<CompletableFuture<T>> secondary;
+        private final Predicate<T> valid;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean secondaryStarted = new AtomicBoolean();
+        private final AtomicBoolean decided = new AtomicBoolean();
+        private final AtomicInteger outstanding = new AtomicInteger(2);
+        
+        private volatile CompletableFuture<T> primaryFuture;
+        private volatile CompletableFuture<T> secondaryFuture;
+        private volatile boolean hedged;
+        private volatile T invalidAnswer;
+        private volatile Throwable primaryFailure;
+        private volatile Throwable secondaryFailure;
+        
+        HedgedCall(String operation, LatencyWindow window, Supplier<CompletableFuture<T>> secondary, Predicate<T> valid) {
+            this.operation = operation;
+            this.window = window;
+            this.secondary = secondary;
+            this.valid = valid;
+        }
+        
+        void start(Supplier<CompletableFuture<T>> primary) {
+            primaryFuture = TelecomProviderClient.invoke(primary);
+            primaryFuture.whenComplete((value, e) -> onComplete(true, value, e));
+        }
+        
+        /**
+         * Timer callback: send the hedge if the primary is still outstanding and the budget allows it.
+         */
+        void hedge() {
+            if (result.isDone() || secondaryStarted.get()) {
+                return;
+            }
+            if (!withdrawBudget()) {
+                hedgesSkipped.increment();
+                return;
+            }
+            if (!startSecondary(true)) {
+                refundBudget();
+            }
+        }
+        
+        private boolean startSecondary(boolean asHedge) {
+            if (!secondaryStarted.compareAndSet(false, true)) {
+                return false;
+            }
+            hedged = asHedge;
+            if (asHedge) {
+                // Counted before the call starts: a secondary that answers inline completes the result
+                hedgesIssued.increment();
+                logger.info("Primary provider slow for {}, sending hedged request to secondary provider", operation);
+            }
+            secondaryFuture = TelecomProviderClient.invoke(secondary);
+            secondaryFuture.whenComplete((value, e) -> onComplete(false, value, e));
+            return true;
+        }
+        
+        private void onComplete(boolean fromPrimary, T value, Throwable e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (fromPrimary && !(cause instanceof CancellationException)) {
+                window.record(System.nanoTime() - startNanos);
+            }
+            
+            if (cause == null && valid.test(value)) {
+                if (decided.compareAndSet(false, true)) {
+                    // Settle the loser and metrics before publishing, so callers observe a consistent state
+                    onWin(fromPrimary);
+                    result.complete(value);
+                }
+            } else {
+                if (cause == null) {
+                    invalidAnswer = invalidAnswer != null ? invalidAnswer : value;
+                } else if (fromPrimary) {
+                    primaryFailure = cause;
+                } else {
+                    secondaryFailure = cause;
+                }
+                if (fromPrimary && startSecondary(false)) {
+                    logger.warn("Primary provider failed for {}, using secondary provider", operation);
+                }
+            }
+            
+            if (outstanding.decrementAndGet() == 0 && decided.compareAndSet(false, true)) {
+                if (invalidAnswer != null) {
+                    result.complete(invalidAnswer);
+                } else {
+                    result.completeExceptionally(primaryFailure != null ? primaryFailure : secondaryFailure);
+                }
+            }
+        }
+        
+        private void onWin(boolean fromPrimary) {
+            CompletableFuture<T> loser = fromPrimary ? secondaryFuture : primaryFuture;
+            if (loser != null) {
+                loser.cancel(true);
+            }
+            if (!fromPrimary && hedged) {
+                hedgesWon.increment();
+                long elapsed = System.nanoTime() - startNanos;
+                long primaryP99 = window.percentileNanos(P99);
+                if (primaryP99 > elapsed) {
+                    latencySaved.record(primaryP99 - elapsed, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.motive.numberverification.integration;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size window of recent latency samples with cached percentiles.
+ * Recording is lock-free; percentiles are recomputed every {@code refreshInterval} samples
+ * by whichever thread records the sample, so reads are a single volatile load.
+ */
+class LatencyWindow {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final double[] percentiles;
+    private final int refreshInterval;
+    private final int minSamples;
+    
+    private volatile long[] percentileNanos;
+    
+    /**
+     * @param size Number of most recent samples kept
+     * @param refreshInterval Recompute percentiles every this many samples
+     * @param minSamples Samples required before percentiles are reported
+     * @param percentiles Percentiles to track, as fractions (e.g. 0.95)
+     */
+    LatencyWindow(int size, int refreshInterval, int minSamples, double... percentiles) {
+        this.samples = new AtomicLongArray(size);
+        this.percentiles = percentiles.clone();
+        this.refreshInterval = refreshInterval;
+        this.minSamples = Math.min(minSamples, size);
+        long[] unknown = new long[percentiles.length];
+        Arrays.fill(unknown, -1);
+        this.percentileNanos = unknown;
+    }
+    
+    void record(long nanos) {
+        long n = count.getAndIncrement();
+        samples.set((int) (n % samples.length()), nanos);
+        if (n + 1 >= minSamples && (n + 1) % refreshInterval == 0) {
+            refresh((int) Math.min(n + 1, samples.length()));
+        }
+    }
+    
+    /**
+     * @param index Index of the percentile in the constructor arguments
+     * @return The cached percentile in nanoseconds, or -1 until enough samples have been recorded
+     */
+    long percentileNanos(int index) {
+        return percentileNanos[index];
+    }
+    
+    private void refresh(int filled) {
+        long[] snapshot = new long[filled];
+        for (int i = 0; i < filled; i++) {
+            snapshot[i] = samples.get(i);
+        }
+        Arrays.sort(snapshot);
+        long[] values = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            int rank = (int) Math.ceil(percentiles[i] * filled) - 1;
+            values[i] = snapshot[Math.max(0, Math.min(filled - 1, rank))];
+        }
+        percentileNanos = values;
+    }
+}
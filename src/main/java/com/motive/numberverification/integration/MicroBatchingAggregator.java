@@ -0,0 +1,160 @@
+package com.motive.numberverification.integration;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Collects individual verifications into batches for one provider.
+ *
+ * <p>A batch is dispatched when it reaches {@code maxBatchSize} or when {@code maxWait} has passed
+ * since its first number arrived, whichever comes first. Results are fanned back to callers by
+ * position; if the batch call fails, every caller in it sees the failure. The lock only guards
+ * swapping the pending list, so dispatch never happens while it is held.
+ */
+class MicroBatchingAggregator {
+
+    private final Function<List<String>, CompletableFuture<List<VerificationStatus>>> dispatcher;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final ScheduledExecutorService scheduler;
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    private final DistributionSummary batchSizes;
+    private final Timer addedLatency;
+    private final Counter sizeFlushes;
+    private final Counter windowFlushes;
+    
+    private List<Pending> pending;
+    private ScheduledFuture<?> windowFlush;
+    
+    MicroBatchingAggregator(String provider,
+                            Function<List<String>, CompletableFuture<List<VerificationStatus>>> dispatcher,
+                            int maxBatchSize,
+                            Duration maxWait,
+                            ScheduledExecutorService scheduler,
+                            MeterRegistry meterRegistry) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.dispatcher = dispatcher;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.scheduler = scheduler;
+        this.pending = new ArrayList<>(maxBatchSize);
+        this.batchSizes = DistributionSummary.builder("provider.batch.size")
+                .tag("provider", provider)
+                .description("Numbers per batched provider call")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.addedLatency = Timer.builder("provider.batch.added_latency")
+                .tag("provider", provider)
+                .description("Time a number waited for its batch to be dispatched")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sizeFlushes = Counter.builder("provider.batch.flushes")
+                .tag("provider", provider)
+                .tag("trigger", "size")
+                .register(meterRegistry);
+        this.windowFlushes = Counter.builder("provider.batch.flushes")
+                .tag("provider", provider)
+                .tag("trigger", "window")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Add a number to the current batch.
+     *
+     * @return Future completed with the number's result once its batch returns
+     */
+    CompletableFuture<VerificationStatus> submit(String phoneNumber) {
+        Pending item = new Pending(phoneNumber, new CompletableFuture<>(), System.nanoTime());
+        List<Pending> full = null;
+        
+        lock.lock();
+        try {
+            pending.add(item);
+            if (pending.size() >= maxBatchSize) {
+                full = takeBatch();
+            } else if (pending.size() == 1) {
+                windowFlush = scheduler.schedule(this::flushWindow, maxWaitNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        
+        if (full != null) {
+            sizeFlushes.increment();
+            dispatch(full);
+        }
+        return item.result;
+    }
+    
+    private void flushWindow() {
+        List<Pending> batch;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takeBatch();
+        } finally {
+            lock.unlock();
+        }
+        windowFlushes.increment();
+        dispatch(batch);
+    }
+    
+    /**
+     * Detach the pending batch. Must be called with the lock held.
+     */
+    private List<Pending> takeBatch() {
+        List<Pending> batch = pending;
+        pending = new ArrayList<>(maxBatchSize);
+        if (windowFlush != null) {
+            windowFlush.cancel(false);
+            windowFlush = null;
+        }
+        return batch;
+    }
+    
+    private void dispatch(List<Pending> batch) {
+        long dispatchedAt = System.nanoTime();
+        List<String> phoneNumbers = new ArrayList<>(batch.size());
+        for (Pending item : batch) {
+            phoneNumbers.add(item.phoneNumber);
+            addedLatency.record(dispatchedAt - item.enqueuedNanos, TimeUnit.NANOSECONDS);
+        }
+        batchSizes.record(batch.size());
+        
+        TelecomProviderClient.invoke(() -> dispatcher.apply(phoneNumbers)).whenComplete((results, e) -> {
+            Throwable failure = e;
+            if (failure == null && (results == null || results.size() != batch.size())) {
+                failure = new IllegalStateException("Provider returned "
+                        + (results == null ? 0 : results.size()) + " results for a batch of " + batch.size());
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (failure != null) {
+                    batch.get(i).result.completeExceptionally(failure);
+                } else {
+                    batch.get(i).result.complete(results.get(i));
+                }
+            }
+        });
+    }
+    
+    private record Pending(String phoneNumber, CompletableFuture<VerificationStatus> result, long enqueuedNanos) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.motive.numberverification.integration;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+import com.motive.numberverification.integration.provider.AsyncTelecomProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Micro-batching of verification calls, with one aggregator per provider, created on first use.
+ * Disabled by default: batching trades a few milliseconds of latency for fewer provider calls.
+ *
+ * <p>Each batch call goes through the provider's {@link ProviderResilience} once, so the circuit breaker
+ * records one outcome per batch and a failed batch is retried as a whole. Batched numbers are therefore
+ * not guarded again individually.
+ */
+@Component
+public class ProviderBatching {
+
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration maxWait;
+    private final MeterRegistry meterRegistry;
+    private final ProviderResilience providerResilience;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<String, MicroBatchingAggregator> aggregators = new ConcurrentHashMap<>();
+    
+    public ProviderBatching(
+            @Value("${telecom.provider.batching.enabled:false}") boolean enabled,
+            @Value("${telecom.provider.batching.max-batch-size:50}") int maxBatchSize,
+            @Value("${telecom.provider.batching.max-wait:5ms}") Duration maxWait,
+            MeterRegistry meterRegistry,
+            ProviderResilience providerResilience) {
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWait = maxWait;
+        this.meterRegistry = meterRegistry;
+        this.providerResilience = providerResilience;
+        
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("provider-batch-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Queue a verification for the next batch sent to the named provider.
+     */
+    public CompletableFuture<VerificationStatus> verifyPhoneNumber(String providerName, AsyncTelecomProvider provider,
+                                                                   String phoneNumber) {
+        return aggregators.computeIfAbsent(providerName, name -> new MicroBatchingAggregator(name,
+                        phoneNumbers -> providerResilience.callAsync(name,
+                                () -> provider.verifyPhoneNumbersAsync(phoneNumbers)),
+                        maxBatchSize, maxWait, scheduler, meterRegistry))
+                .submit(phoneNumber);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
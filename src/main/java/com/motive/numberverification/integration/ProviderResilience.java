@@ -0,0 +1,188 @@
+package com.motive.numberverification.integration;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Applies the resilience4j bulkhead, circuit breaker and retry configured for a provider.
+ *
+ * <p>Instances are looked up by provider bean name in the registries bound to {@code resilience4j.*},
+ * so each provider is configured and reported independently. Decoration order is
+ * retry(circuit breaker(bulkhead(call))): an open circuit or a full bulkhead fails immediately
+ * and is not retried, which lets the caller move on to its fallback straight away.
+ */
+@Component
+public class ProviderResilience {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderResilience.class);
+    
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryRegistry retryRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ScheduledExecutorService retryScheduler;
+    
+    public ProviderResilience(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            RetryRegistry retryRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.retryRegistry = retryRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        
+        // Retry backoff waits are scheduled rather than slept, so async calls never block a thread
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("provider-retry-");
+        threadFactory.setDaemon(true);
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        
+        // Configured breakers exist already; others are created on first use of a provider
+        circuitBreakerRegistry.getAllCircuitBreakers()
+                .forEach(circuitBreaker -> exportTransitions(circuitBreaker, meterRegistry));
+        circuitBreakerRegistry.getEventPublisher()
+                .onEntryAdded(event -> exportTransitions(event.getAddedEntry(), meterRegistry));
+    }
+    
+    private static void exportTransitions(CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        String provider = circuitBreaker.getName();
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            logger.warn("Circuit breaker for {} changed state: {}", provider, event.getStateTransition());
+            meterRegistry.counter("provider.circuitbreaker.transitions",
+                    "provider", provider,
+                    "from", event.getStateTransition().getFromState().name(),
+                    "to", event.getStateTransition().getToState().name()).increment();
+        });
+    }
+    
+    /**
+     * Run a blocking provider call through the provider's bulkhead, circuit breaker and retry.
+     */
+    public <T> T call(String provider, Supplier<T> call) {
+        Supplier<T> guarded = Bulkhead.decorateSupplier(bulkheadRegistry.bulkhead(provider), call);
+        guarded = CircuitBreaker.decorateSupplier(circuitBreakerRegistry.circuitBreaker(provider), guarded);
+        guarded = Retry.decorateSupplier(retryRegistry.retry(provider), guarded);
+        return guarded.get();
+    }
+    
+    /**
+     * Run an async provider call through the provider's bulkhead, circuit breaker and retry.
+     * Cancelling the returned future cancels the attempt in flight, releasing its bulkhead permit,
+     * and no further attempts are started; an abandoned attempt is not recorded by the circuit breaker.
+     */
+    public <T> CompletableFuture<T> callAsync(String provider, Supplier<CompletableFuture<T>> call) {
+        AsyncCall<T> asyncCall = new AsyncCall<>(bulkheadRegistry.bulkhead(provider),
+                circuitBreakerRegistry.circuitBreaker(provider), retryRegistry.retry(provider).asyncContext(), call);
+        asyncCall.run();
+        return asyncCall.result;
+    }
+    
+    /**
+     * One caller's call and its retries. The retry loop mirrors resilience4j's own async retry, but keeps
+     * hold of the current attempt so a caller that gives up (a hedge loser, an expired deadline) takes it down too.
+     */
+    private final class AsyncCall<T> implements Runnable {
+        
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicReference<CompletableFuture<T>> attempt = new AtomicReference<>();
+        private final CircuitBreaker circuitBreaker;
+        private final Retry.AsyncContext<T> retryContext;
+        private final Supplier<CompletionStage<T>> bulkheaded;
+        
+        AsyncCall(Bulkhead bulkhead, CircuitBreaker circuitBreaker, Retry.AsyncContext<T> retryContext,
+                  Supplier<CompletableFuture<T>> call) {
+            this.circuitBreaker = circuitBreaker;
+            this.retryContext = retryContext;
+            this.bulkheaded = Bulkhead.decorateCompletionStage(bulkhead, () -> {
+                CompletableFuture<T> future = TelecomProviderClient.invoke(call);
+                attempt.set(future);
+                if (result.isDone()) {
+                    future.cancel(true);
+                }
+                return future;
+            });
+            result.whenComplete((value, e) -> {
+                CompletableFuture<T> current = attempt.get();
+                if (current != null) {
+                    current.cancel(true);
+                }
+            });
+        }
+        
+        @Override
+        public void run() {
+            if (result.isDone()) {
+                return;
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                onError(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+                return;
+            }
+            long start = circuitBreaker.getCurrentTimestamp();
+            bulkheaded.get().whenComplete((value, e) -> {
+                long duration = circuitBreaker.getCurrentTimestamp() - start;
+                if (result.isDone()) {
+                    // Abandoned by the caller: neither a success nor a failure of the provider
+                    circuitBreaker.releasePermission();
+                } else if (e != null) {
+                    Throwable cause = unwrap(e);
+                    circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(), cause);
+                    onError(cause);
+                } else {
+                    circuitBreaker.onResult(duration, circuitBreaker.getTimestampUnit(), value);
+                    onResult(value);
+                }
+            });
+        }
+        
+        private void onError(Throwable e) {
+            long delay = retryContext.onError(e);
+            if (delay < 1) {
+                result.completeExceptionally(e);
+            } else {
+                retryScheduler.schedule(this, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+        
+        private void onResult(T value) {
+            long delay = retryContext.onResult(value);
+            if (delay < 1) {
+                try {
+                    retryContext.onComplete();
+                    result.complete(value);
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            } else {
+                retryScheduler.schedule(this, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+    
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+}
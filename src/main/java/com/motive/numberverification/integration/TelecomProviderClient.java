@@ -1,30 +1,79 @@
 package com.motive.numberverification.integration;
 
 import com.motive.numberverification.api.model.VerificationStatus;
+import com.motive.numberverification.common.deadline.Deadline;
+import com.motive.numberverification.common.deadline.DeadlineExceededException;
+import com.motive.numberverification.common.deadline.RequestDeadlines;
+import com.motive.numberverification.integration.balancing.ProviderSelector;
+import com.motive.numberverification.integration.balancing.ProviderStats;
 import com.motive.numberverification.integration.provider.TelecomProvider;
+import com.motive.numberverification.integration.routing.ProviderChain;
+import com.motive.numberverification.integration.routing.ProviderRoutingTable;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
 /**
- * Simplified client for testing without resilience4j dependencies
+ * Client for the telecom providers. Each number is routed to an ordered provider chain by
+ * {@link ProviderRoutingTable}; the first provider is the primary and the rest are tried in order
+ * when it fails or its circuit is open. With load balancing on, {@link ProviderSelector} picks the
+ * primary from the chain by live latency and error rate. Each provider call goes through that provider's
+ * resilience4j bulkhead, circuit breaker and retry. Verifications can optionally be
+ * micro-batched per provider, in which case each batch call goes through them instead. Async calls run under the request's {@link Deadline}: each provider
+ * gets only the time remaining, and no further provider or retry is tried once it has passed.
  */
 @Component
 public class TelecomProviderClient {
 
+    static final String DEFAULT_PROVIDER = "defaultTelecomProvider";
+    static final String FALLBACK_PROVIDER = "fallbackTelecomProvider";
+
     private static final Logger logger = LoggerFactory.getLogger(TelecomProviderClient.class);
     
-    private final TelecomProvider primaryProvider;
-    private final TelecomProvider fallbackProvider;
+    private final ProviderChain defaultChain;
+    private final HedgedRequestExecutor hedgedRequestExecutor;
+    private final ProviderResilience providerResilience;
+    private final ProviderBatching providerBatching;
+    private final ProviderRoutingTable routingTable;
+    private final ProviderSelector providerSelector;
+    private final RequestDeadlines requestDeadlines;
+    
+    public TelecomProviderClient(TelecomProvider primaryProvider, TelecomProvider fallbackProvider) {
+        this(primaryProvider, fallbackProvider, null, null, null, null, null, null);
+    }
     
+    /**
+     * @param primaryProvider Primary of the chain used when no routing table is available
+     * @param fallbackProvider Fallback of the chain used when no routing table is available
+     */
     @Autowired
     public TelecomProviderClient(
-            @Qualifier("defaultTelecomProvider") TelecomProvider primaryProvider,
-            @Qualifier("fallbackTelecomProvider") TelecomProvider fallbackProvider) {
-        this.primaryProvider = primaryProvider;
-        this.fallbackProvider = fallbackProvider;
+            @Qualifier(DEFAULT_PROVIDER) TelecomProvider primaryProvider,
+            @Qualifier(FALLBACK_PROVIDER) TelecomProvider fallbackProvider,
+            HedgedRequestExecutor hedgedRequestExecutor,
+            ProviderResilience providerResilience,
+            ProviderBatching providerBatching,
+            ProviderRoutingTable routingTable,
+            ProviderSelector providerSelector,
+            RequestDeadlines requestDeadlines) {
+        this.defaultChain = ProviderChain.of(List.of(DEFAULT_PROVIDER, FALLBACK_PROVIDER),
+                List.of(primaryProvider, fallbackProvider));
+        this.hedgedRequestExecutor = hedgedRequestExecutor;
+        this.providerResilience = providerResilience;
+        this.providerBatching = providerBatching;
+        this.routingTable = routingTable;
+        this.providerSelector = providerSelector;
+        this.requestDeadlines = requestDeadlines;
     }
     
     /**
@@ -33,26 +82,37 @@ public class TelecomProviderClient {
     public VerificationStatus verifyPhoneNumber(String phoneNumber) {
         logger.info("Calling primary telecom provider to verify phone number");
         
+        ProviderChain chain = chainFor(phoneNumber);
+        int first = select(chain);
         try {
-            return primaryProvider.verifyPhoneNumber(phoneNumber);
+            return call(chain.name(first), () -> chain.provider(first).verifyPhoneNumber(phoneNumber));
         } catch (Exception e) {
-            logger.error("Error calling primary telecom provider: {}", e.getMessage());
-            return fallbackVerify(phoneNumber, e);
+            logPrimaryFailure(e);
+            return fallbackVerify(phoneNumber, e, chain, first);
         }
     }
     
     /**
      * Fallback method for phone number verification when primary provider fails.
+     * The remaining providers of the number's chain are tried in order.
      */
     public VerificationStatus fallbackVerify(String phoneNumber, Exception e) {
+        return fallbackVerify(phoneNumber, e, chainFor(phoneNumber), 0);
+    }
+    
+    private VerificationStatus fallbackVerify(String phoneNumber, Exception e, ProviderChain chain, int first) {
         logger.warn("Primary provider failed, using fallback provider. Error: {}", e.getMessage());
         
-        try {
-            return fallbackProvider.verifyPhoneNumber(phoneNumber);
-        } catch (Exception fallbackException) {
-            logger.error("Fallback provider also failed: {}", fallbackException.getMessage());
-            return VerificationStatus.INDETERMINATE;
+        for (int position = 1; position < chain.size(); position++) {
+            int index = providerAt(first, position);
+            TelecomProvider provider = chain.provider(index);
+            try {
+                return call(chain.name(index), () -> provider.verifyPhoneNumber(phoneNumber));
+            } catch (Exception fallbackException) {
+                logger.error("Fallback provider {} also failed: {}", chain.name(index), fallbackException.getMessage());
+            }
         }
+        return VerificationStatus.INDETERMINATE;
     }
     
     /**
@@ -61,11 +121,13 @@ public class TelecomProviderClient {
     public String getDevicePhoneNumber() {
         logger.info("Calling primary telecom provider to retrieve device phone number");
         
+        ProviderChain chain = chainFor(null);
+        int first = select(chain);
         try {
-            return primaryProvider.getDevicePhoneNumber();
+            return call(chain.name(first), chain.provider(first)::getDevicePhoneNumber);
         } catch (Exception e) {
-            logger.error("Error calling primary telecom provider: {}", e.getMessage());
-            return fallbackGetDevicePhoneNumber(e);
+            logPrimaryFailure(e);
+            return fallbackGetDevicePhoneNumber(e, chain, first);
         }
     }
     
@@ -73,13 +135,256 @@ public class TelecomProviderClient {
      * Fallback method for retrieving device phone number when primary provider fails.
      */
     public String fallbackGetDevicePhoneNumber(Exception e) {
+        return fallbackGetDevicePhoneNumber(e, chainFor(null), 0);
+    }
+    
+    private String fallbackGetDevicePhoneNumber(Exception e, ProviderChain chain, int first) {
         logger.warn("Primary provider failed, using fallback provider. Error: {}", e.getMessage());
         
+        for (int position = 1; position < chain.size(); position++) {
+            int index = providerAt(first, position);
+            try {
+                return call(chain.name(index), chain.provider(index)::getDevicePhoneNumber);
+            } catch (Exception fallbackException) {
+                logger.error("Fallback provider {} also failed: {}", chain.name(index), fallbackException.getMessage());
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Verify if the provided phone number matches the user's device without blocking the caller.
+     * Fallback providers are chained onto the primary call, so no thread waits on any provider.
+     */
+    public CompletableFuture<VerificationStatus> verifyPhoneNumberAsync(String phoneNumber) {
+        return verifyPhoneNumberAsync(phoneNumber, Deadline.none());
+    }
+    
+    /**
+     * Verify within the given deadline; INDETERMINATE if no provider answered in time.
+     */
+    public CompletableFuture<VerificationStatus> verifyPhoneNumberAsync(String phoneNumber, Deadline deadline) {
+        logger.info("Calling primary telecom provider asynchronously to verify phone number");
+        
+        ProviderChain chain = chainFor(phoneNumber);
+        // A batched number is guarded by its batch's call, which counts once with the circuit breaker
+        Attempt<VerificationStatus> attempt = batchingEnabled()
+                ? (i, hopDeadline) -> callAsync(chain.name(i), hopDeadline, false,
+                        () -> providerBatching.verifyPhoneNumber(chain.name(i), chain.asyncProvider(i), phoneNumber))
+                : (i, hopDeadline) -> callAsync(chain.name(i), hopDeadline,
+                        () -> chain.asyncProvider(i).verifyPhoneNumberAsync(phoneNumber));
+        
+        // INDETERMINATE is not a usable answer, so a hedge waits for the other provider if it is still running
+        return callChain(chain, select(chain), "verify", deadline, attempt,
+                        status -> status != null && status != VerificationStatus.INDETERMINATE)
+                .exceptionally(e -> {
+                    logger.error("All telecom providers failed: {}", unwrap(e).getMessage());
+                    return VerificationStatus.INDETERMINATE;
+                });
+    }
+    
+    /**
+     * Retrieve the phone number from the user's device without blocking the caller.
+     */
+    public CompletableFuture<String> getDevicePhoneNumberAsync() {
+        return getDevicePhoneNumberAsync(Deadline.none());
+    }
+    
+    /**
+     * Retrieve the device phone number within the given deadline; null if no provider answered in time.
+     */
+    public CompletableFuture<String> getDevicePhoneNumberAsync(Deadline deadline) {
+        logger.info("Calling primary telecom provider asynchronously to retrieve device phone number");
+        
+        ProviderChain chain = chainFor(null);
+        Attempt<String> attempt = (i, hopDeadline) ->
+                callAsync(chain.name(i), hopDeadline, chain.asyncProvider(i)::getDevicePhoneNumberAsync);
+        
+        return callChain(chain, select(chain), "device_phone_number", deadline, attempt,
+                        phoneNumber -> phoneNumber != null)
+                .exceptionally(e -> {
+                    logger.error("All telecom providers failed: {}", unwrap(e).getMessage());
+                    return null;
+                });
+    }
+    
+    private ProviderChain chainFor(String phoneNumber) {
+        return routingTable != null ? routingTable.route(phoneNumber) : defaultChain;
+    }
+    
+    /**
+     * Index of the chain's provider to try first: chosen by score when balancing is on.
+     */
+    private int select(ProviderChain chain) {
+        return providerSelector != null && providerSelector.isEnabled() ? providerSelector.select(chain) : 0;
+    }
+    
+    /**
+     * Provider index tried at {@code position}: the selected provider first, then the rest of the
+     * chain in configured order.
+     */
+    private static int providerAt(int first, int position) {
+        if (position == 0) {
+            return first;
+        }
+        return position <= first ? position - 1 : position;
+    }
+    
+    /**
+     * Call the chain's first provider, hedged against the rest of the chain when hedging is on.
+     */
+    private <T> CompletableFuture<T> callChain(ProviderChain chain, int first, String operation,
+                                               Deadline deadline, Attempt<T> attempt,
+                                               Predicate<T> valid) {
+        if (hedgingEnabled() && chain.size() > 1) {
+            return hedgedRequestExecutor.execute(operation,
+                    () -> hop(chain, first, 0, deadline, attempt),
+                    () -> callFrom(chain, first, 1, deadline, attempt),
+                    valid);
+        }
+        return callFrom(chain, first, 0, deadline, attempt);
+    }
+    
+    /**
+     * Call the provider at {@code position}, moving down the chain on failure while time remains.
+     */
+    private <T> CompletableFuture<T> callFrom(ProviderChain chain, int first, int position,
+                                              Deadline deadline, Attempt<T> attempt) {
+        int index = providerAt(first, position);
+        return hop(chain, first, position, deadline, attempt)
+                .exceptionallyCompose(e -> {
+                    Throwable cause = unwrap(e);
+                    if (position == 0) {
+                        logPrimaryFailure(cause);
+                    } else {
+                        logger.error("Fallback provider {} also failed: {}", chain.name(index), cause.getMessage());
+                    }
+                    if (position + 1 >= chain.size() || deadline.isExpired()) {
+                        return CompletableFuture.failedFuture(cause);
+                    }
+                    String next = chain.name(providerAt(first, position + 1));
+                    logger.warn("Provider {} failed, using fallback provider {}. Error: {}",
+                            chain.name(index), next, cause.getMessage());
+                    return callFrom(chain, first, position + 1, deadline, attempt);
+                });
+    }
+    
+    /**
+     * One provider call of the chain, given the share of the remaining time its position allows and
+     * recorded as the primary or fallback stage of the request.
+     */
+    private <T> CompletableFuture<T> hop(ProviderChain chain, int first, int position,
+                                         Deadline deadline, Attempt<T> attempt) {
+        String stage = position == 0 ? RequestDeadlines.STAGE_PROVIDER_PRIMARY : RequestDeadlines.STAGE_PROVIDER_FALLBACK;
+        if (deadline.isExpired()) {
+            return CompletableFuture.failedFuture(new DeadlineExceededException(stage));
+        }
+        boolean moreHopsFollow = position + 1 < chain.size();
+        Deadline hopDeadline = requestDeadlines != null ? requestDeadlines.forHop(deadline, moreHopsFollow) : deadline;
+        
+        long start = System.nanoTime();
+        CompletableFuture<T> future = invoke(() -> attempt.call(providerAt(first, position), hopDeadline));
+        if (requestDeadlines == null) {
+            return future;
+        }
+        // Recorded before the outcome reaches the fallback or the caller; cancelling the hop cancels the call
+        CompletableFuture<T> recorded = future.whenComplete((result, e) -> requestDeadlines.recordStage(stage, deadline, start));
+        recorded.whenComplete((result, e) -> {
+            if (e instanceof CancellationException) {
+                future.cancel(true);
+            }
+        });
+        return recorded;
+    }
+    
+    private <T> T call(String provider, Supplier<T> call) {
+        ProviderStats stats = providerSelector != null ? providerSelector.stats(provider) : null;
+        long start = stats != null ? stats.start() : 0;
+        boolean success = false;
+        try {
+            T result = providerResilience != null ? providerResilience.call(provider, call) : call.get();
+            success = true;
+            return result;
+        } finally {
+            if (stats != null) {
+                stats.complete(start, success);
+            }
+        }
+    }
+    
+    /**
+     * Async provider call bounded by the hop's deadline. A provider that runs out of time is cancelled
+     * and counted as failed; retries are not started once the deadline has passed.
+     */
+    private <T> CompletableFuture<T> callAsync(String provider, Deadline deadline, Supplier<CompletableFuture<T>> call) {
+        return callAsync(provider, deadline, true, call);
+    }
+    
+    /**
+     * @param resilient Whether the call goes through the provider's resilience; false for a call that is
+     *                  guarded further down, such as a number queued for a batch
+     */
+    private <T> CompletableFuture<T> callAsync(String provider, Deadline deadline, boolean resilient,
+                                               Supplier<CompletableFuture<T>> call) {
+        ProviderStats stats = providerSelector != null ? providerSelector.stats(provider) : null;
+        long start = stats != null ? stats.start() : 0;
+        Supplier<CompletableFuture<T>> inTime = () -> deadline.isExpired()
+                ? CompletableFuture.failedFuture(new DeadlineExceededException(provider))
+                : call.get();
+        CompletableFuture<T> future = deadline.bound(resilient && providerResilience != null
+                ? providerResilience.callAsync(provider, inTime)
+                : invoke(inTime), provider);
+        if (stats != null) {
+            future.whenComplete((result, e) -> {
+                if (unwrap(e) instanceof CancellationException) {
+                    stats.abandon();
+                } else {
+                    stats.complete(start, e == null);
+                }
+            });
+        }
+        return future;
+    }
+    
+    private static void logPrimaryFailure(Throwable e) {
+        if (e instanceof CallNotPermittedException) {
+            // Expected while the circuit is open; the breaker already logged the transition
+            logger.debug("Primary telecom provider circuit is open: {}", e.getMessage());
+        } else {
+            logger.error("Error calling primary telecom provider: {}", e.getMessage());
+        }
+    }
+    
+    private boolean batchingEnabled() {
+        return providerBatching != null && providerBatching.isEnabled();
+    }
+    
+    private boolean hedgingEnabled() {
+        return hedgedRequestExecutor != null && hedgedRequestExecutor.isEnabled();
+    }
+    
+    /**
+     * Start an async provider call, turning a synchronous throw into a failed future.
+     */
+    static <T> CompletableFuture<T> invoke(Supplier<CompletableFuture<T>> call) {
         try {
-            return fallbackProvider.getDevicePhoneNumber();
-        } catch (Exception fallbackException) {
-            logger.error("Fallback provider also failed: {}", fallbackException.getMessage());
-            return null;
+            CompletableFuture<T> future = call.get();
+            return future != null ? future : CompletableFuture.failedFuture(
+                    new IllegalStateException("Provider returned no result"));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
         }
     }
-}
\ No newline at end of file
+    
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+    
+    /**
+     * Starts the call to the chain's provider at {@code index}, to finish within {@code deadline}.
+     */
+    @FunctionalInterface
+    private interface Attempt<T> {
+        CompletableFuture<T> call(int index, Deadline deadline);
+    }
+}
@@ -0,0 +1,26 @@
+package com.motive.numberverification.integration.balancing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing each provider's load-balancing score and the estimates behind it.
+ */
+@Component
+@Endpoint(id = "providerscores")
+public class ProviderScoresEndpoint {
+
+    private final ProviderSelector providerSelector;
+    
+    public ProviderScoresEndpoint(ProviderSelector providerSelector) {
+        this.providerSelector = providerSelector;
+    }
+    
+    @ReadOperation
+    public Map<String, Map<String, Object>> scores() {
+        return providerSelector.scores();
+    }
+}
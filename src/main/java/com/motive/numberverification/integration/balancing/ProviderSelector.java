@@ -0,0 +1,93 @@
+package com.motive.numberverification.integration.balancing;
+
+import com.motive.numberverification.integration.routing.ProviderChain;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Chooses which provider of a chain to try first, by power-of-two-choices over peak-EWMA scores.
+ *
+ * <p>Two distinct providers of the chain are sampled at random and the one with the lower
+ * {@link ProviderStats#score()} wins. Sampling keeps load spread across providers with similar
+ * scores, while steering traffic away from one that is slow, failing or backed up.
+ */
+@Component
+public class ProviderSelector {
+
+    private final boolean enabled;
+    private final LongSupplier clock;
+    private final long decayNanos;
+    private final long failurePenaltyNanos;
+    private final ConcurrentMap<String, ProviderStats> stats = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public ProviderSelector(
+            @Value("${telecom.provider.balancing.enabled:false}") boolean enabled,
+            @Value("${telecom.provider.balancing.decay:10s}") Duration decay,
+            @Value("${telecom.provider.balancing.failure-penalty:1s}") Duration failurePenalty) {
+        this(enabled, decay, failurePenalty, System::nanoTime);
+    }
+    
+    ProviderSelector(boolean enabled, Duration decay, Duration failurePenalty, LongSupplier clock) {
+        this.enabled = enabled;
+        this.clock = clock;
+        this.decayNanos = decay.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+    }
+    
+    /**
+     * Whether the first provider of a chain is chosen by score rather than configured order.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Statistics for a provider, created on first use.
+     */
+    public ProviderStats stats(String provider) {
+        ProviderStats providerStats = stats.get(provider);
+        return providerStats != null
+                ? providerStats
+                : stats.computeIfAbsent(provider, name -> new ProviderStats(clock, decayNanos, failurePenaltyNanos));
+    }
+    
+    /**
+     * Index of the chain's provider to try first.
+     */
+    public int select(ProviderChain chain) {
+        int size = chain.size();
+        if (size == 1) {
+            return 0;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        return stats(chain.name(first)).score() <= stats(chain.name(second)).score() ? first : second;
+    }
+    
+    /**
+     * Current estimates per provider, for the actuator endpoint.
+     */
+    public Map<String, Map<String, Object>> scores() {
+        Map<String, Map<String, Object>> scores = new TreeMap<>();
+        stats.forEach((provider, providerStats) -> scores.put(provider, Map.of(
+                "score", providerStats.score(),
+                "latencyMillis", providerStats.latencyMillis(),
+                "errorRate", providerStats.errorRate(),
+                "inFlight", providerStats.inFlight())));
+        return scores;
+    }
+}
@@ -0,0 +1,104 @@
+package com.motive.numberverification.integration.balancing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Live performance estimate for one provider, updated lock-free on every call.
+ *
+ * <p>Latency is a peak-sensitive EWMA: a sample slower than the estimate replaces it at once,
+ * faster samples are blended in with a weight that grows with the time since the last update.
+ * Failures are recorded with at least the failure penalty as latency, so a provider that fails
+ * fast (for example behind an open circuit) does not look attractive. Estimates decay towards
+ * zero while a provider receives no traffic, so a provider that was avoided is eventually retried.
+ */
+public final class ProviderStats {
+
+    private static final double ERROR_WEIGHT = 10.0;
+    
+    private final LongSupplier clock;
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<Estimate> estimate;
+    
+    ProviderStats(LongSupplier clock, long decayNanos, long failurePenaltyNanos) {
+        this.clock = clock;
+        this.decayNanos = decayNanos;
+        this.failurePenaltyNanos = failurePenaltyNanos;
+        this.estimate = new AtomicReference<>(new Estimate(0, 0, clock.getAsLong()));
+    }
+    
+    /**
+     * Record the start of a call.
+     *
+     * @return Start timestamp to pass to {@link #complete} or {@link #abandon}
+     */
+    public long start() {
+        inFlight.incrementAndGet();
+        return clock.getAsLong();
+    }
+    
+    /**
+     * Record the outcome of a call started with {@link #start}.
+     */
+    public void complete(long startNanos, boolean success) {
+        long now = clock.getAsLong();
+        inFlight.decrementAndGet();
+        double latency = success ? now - startNanos : Math.max(now - startNanos, failurePenaltyNanos);
+        double error = success ? 0 : 1;
+        
+        Estimate current;
+        Estimate next;
+        do {
+            current = estimate.get();
+            double weight = decay(current, now);
+            double latencyEstimate = latency > current.latencyNanos
+                    ? latency
+                    : current.latencyNanos * weight + latency * (1 - weight);
+            double errorEstimate = current.errorRate * weight + error * (1 - weight);
+            next = new Estimate(latencyEstimate, errorEstimate, Math.max(now, current.stampNanos));
+        } while (!estimate.compareAndSet(current, next));
+    }
+    
+    /**
+     * Record a call that ended without an outcome, such as a cancelled hedge.
+     */
+    public void abandon() {
+        inFlight.decrementAndGet();
+    }
+    
+    /**
+     * Expected cost of sending the next call here: lower is better.
+     */
+    public double score() {
+        Estimate current = estimate.get();
+        double weight = decay(current, clock.getAsLong());
+        return (current.latencyNanos * weight + 1)
+                * (inFlight.get() + 1)
+                * (1 + ERROR_WEIGHT * current.errorRate * weight);
+    }
+    
+    public double latencyMillis() {
+        Estimate current = estimate.get();
+        return current.latencyNanos * decay(current, clock.getAsLong()) / 1_000_000.0;
+    }
+    
+    public double errorRate() {
+        Estimate current = estimate.get();
+        return current.errorRate * decay(current, clock.getAsLong());
+    }
+    
+    public int inFlight() {
+        return inFlight.get();
+    }
+    
+    private double decay(Estimate current, long now) {
+        long elapsed = Math.max(0, now - current.stampNanos);
+        return Math.exp(-elapsed / decayNanos);
+    }
+    
+    private record Estimate(double latencyNanos, double errorRate, long stampNanos) {
+    }
+}
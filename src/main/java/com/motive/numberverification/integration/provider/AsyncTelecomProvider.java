@@ -0,0 +1,84 @@
+package com.motive.numberverification.integration.provider;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the {@link TelecomProvider} contract.
+ * Implementations must not hold the calling thread while the provider call is in flight.
+ */
+public interface AsyncTelecomProvider {
+
+    /**
+     * Verify if the provided phone number matches the user's device.
+     *
+     * @param phoneNumber The phone number to verify in E.164 format
+     * @return Future completed with the VerificationStatus, or exceptionally if the call failed
+     */
+    CompletableFuture<VerificationStatus> verifyPhoneNumberAsync(String phoneNumber);
+
+    /**
+     * Verify several phone numbers in one provider call.
+     * The default issues one call per number concurrently, for providers without a bulk lookup.
+     *
+     * @param phoneNumbers The phone numbers to verify in E.164 format
+     * @return Future completed with one VerificationStatus per phone number, in the same order,
+     *         or exceptionally if any call failed
+     */
+    default CompletableFuture<List<VerificationStatus>> verifyPhoneNumbersAsync(List<String> phoneNumbers) {
+        List<CompletableFuture<VerificationStatus>> calls = new ArrayList<>(phoneNumbers.size());
+        for (String phoneNumber : phoneNumbers) {
+            calls.add(verifyPhoneNumberAsync(phoneNumber));
+        }
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> calls.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Retrieve the phone number from the user's device.
+     *
+     * @return Future completed with the phone number in E.164 format, or exceptionally if the call failed
+     */
+    CompletableFuture<String> getDevicePhoneNumberAsync();
+
+    /**
+     * Adapt a provider to the asynchronous contract.
+     * Providers without native async support are invoked on the caller's thread.
+     */
+    static AsyncTelecomProvider of(TelecomProvider provider) {
+        if (provider instanceof AsyncTelecomProvider asyncProvider) {
+            return asyncProvider;
+        }
+        return new AsyncTelecomProvider() {
+            @Override
+            public CompletableFuture<VerificationStatus> verifyPhoneNumberAsync(String phoneNumber) {
+                try {
+                    return CompletableFuture.completedFuture(provider.verifyPhoneNumber(phoneNumber));
+                } catch (Exception e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+
+            @Override
+            public CompletableFuture<List<VerificationStatus>> verifyPhoneNumbersAsync(List<String> phoneNumbers) {
+                try {
+                    return CompletableFuture.completedFuture(provider.verifyPhoneNumbers(phoneNumbers));
+                } catch (Exception e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+
+            @Override
+            public CompletableFuture<String> getDevicePhoneNumberAsync() {
+                try {
+                    return CompletableFuture.completedFuture(provider.getDevicePhoneNumber());
+                } catch (Exception e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.motive.numberverification.integration.provider;
+
+import com.motive.numberverification.api.model.DevicePhoneNumberResponse;
+import com.motive.numberverification.api.model.VerificationResponse;
+import com.motive.numberverification.api.model.VerificationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * TelecomProvider that calls an operator's Number Verification API over HTTP.
+ * The operator is expected to expose the same CAMARA endpoints this service does:
+ * {@code POST /verify} and {@code GET /device-phone-number}.
+ */
+public class HttpTelecomProvider implements TelecomProvider, AsyncTelecomProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpTelecomProvider.class);
+    
+    private final String name;
+    private final WebClient webClient;
+    private final Duration blockTimeout;
+    
+    /**
+     * @param name Provider name used in logs
+     * @param webClient Client bound to the provider's base URL and connection pool
+     * @param blockTimeout Upper bound for the synchronous methods
+     */
+    public HttpTelecomProvider(String name, WebClient webClient, Duration blockTimeout) {
+        this.name = name;
+        this.webClient = webClient;
+        this.blockTimeout = blockTimeout;
+    }
+    
+    @Override
+    public VerificationStatus verifyPhoneNumber(String phoneNumber) {
+        return verify(phoneNumber).block(blockTimeout);
+    }
+    
+    @Override
+    public CompletableFuture<VerificationStatus> verifyPhoneNumberAsync(String phoneNumber) {
+        return verify(phoneNumber).toFuture();
+    }
+    
+    @Override
+    public String getDevicePhoneNumber() {
+        return devicePhoneNumber().block(blockTimeout);
+    }
+    
+    @Override
+    public CompletableFuture<String> getDevicePhoneNumberAsync() {
+        return devicePhoneNumber().toFuture();
+    }
+    
+    private Mono<VerificationStatus> verify(String phoneNumber) {
+        logger.info("Verifying phone number with {} telecom provider over HTTP", name);
+        
+        return webClient.post()
+                .uri("/verify")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Collections.singletonMap("phoneNumber", phoneNumber))
+                .retrieve()
+                .bodyToMono(VerificationResponse.class)
+                .map(response -> response.isDevicePhoneNumberVerified()
+                        ? VerificationStatus.MATCH
+                        : VerificationStatus.NO_MATCH)
+                .defaultIfEmpty(VerificationStatus.INDETERMINATE)
+                .doOnSuccess(status -> logger.info("{} provider verification completed", name));
+    }
+    
+    private Mono<String> devicePhoneNumber() {
+        logger.info("Retrieving device phone number from {} telecom provider over HTTP", name);
+        
+        return webClient.get()
+                .uri("/device-phone-number")
+                .retrieve()
+                .bodyToMono(DevicePhoneNumberResponse.class)
+                .map(DevicePhoneNumberResponse::getPhoneNumber)
+                .doOnSuccess(phoneNumber -> logger.info("{} provider device phone number retrieval completed", name));
+    }
+}
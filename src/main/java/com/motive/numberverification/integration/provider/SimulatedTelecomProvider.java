@@ -0,0 +1,199 @@
+package com.motive.numberverification.integration.provider;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Telecom provider simulator for load and resilience testing without network access.
+ *
+ * <p>Every call draws its latency from the configured distribution and may fail or hang
+ * according to the injected error and timeout rates; scripted brown-outs raise both for a period.
+ * Responses are delivered on non-blocking timers, so no thread is held while a call is
+ * "in flight". Random draws come from a counter-based generator seeded by {@code seed}, so a
+ * single-threaded run is reproducible, and the verification status depends only on the seed and
+ * the number, so the same number always gets the same answer.
+ */
+public class SimulatedTelecomProvider implements TelecomProvider, AsyncTelecomProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulatedTelecomProvider.class);
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    
+    private final String name;
+    private final SimulatorSettings settings;
+    private final LongSupplier clock;
+    private final long startNanos;
+    private final AtomicLong calls = new AtomicLong();
+    
+    public SimulatedTelecomProvider(String name, SimulatorSettings settings) {
+        this(name, settings, System::nanoTime);
+    }
+    
+    SimulatedTelecomProvider(String name, SimulatorSettings settings, LongSupplier clock) {
+        this.name = name;
+        this.settings = settings;
+        this.clock = clock;
+        this.startNanos = clock.getAsLong();
+    }
+    
+    @Override
+    public VerificationStatus verifyPhoneNumber(String phoneNumber) {
+        return await(verifyPhoneNumberAsync(phoneNumber));
+    }
+    
+    @Override
+    public String getDevicePhoneNumber() {
+        return await(getDevicePhoneNumberAsync());
+    }
+    
+    @Override
+    public CompletableFuture<VerificationStatus> verifyPhoneNumberAsync(String phoneNumber) {
+        logger.debug("Verifying phone number with simulated {} provider", name);
+        return respond(() -> statusFor(phoneNumber));
+    }
+    
+    /**
+     * Bulk lookup: the whole batch shares one latency draw and one failure draw.
+     */
+    @Override
+    public CompletableFuture<List<VerificationStatus>> verifyPhoneNumbersAsync(List<String> phoneNumbers) {
+        logger.debug("Verifying {} phone numbers with simulated {} provider", phoneNumbers.size(), name);
+        return respond(() -> {
+            List<VerificationStatus> results = new ArrayList<>(phoneNumbers.size());
+            for (String phoneNumber : phoneNumbers) {
+                results.add(statusFor(phoneNumber));
+            }
+            return results;
+        });
+    }
+    
+    @Override
+    public CompletableFuture<String> getDevicePhoneNumberAsync() {
+        logger.debug("Retrieving device phone number from simulated {} provider", name);
+        return respond(settings::getDevicePhoneNumber);
+    }
+    
+    /**
+     * Deliver the answer after a simulated latency, or fail or time out as injected.
+     */
+    private <T> CompletableFuture<T> respond(Supplier<T> answer) {
+        long call = calls.getAndIncrement();
+        SimulatorSettings.BrownOut brownOut = activeBrownOut();
+        double latencyMultiplier = brownOut != null ? brownOut.getLatencyMultiplier() : 1.0;
+        double errorRate = brownOut != null
+                ? Math.max(settings.getErrorRate(), brownOut.getErrorRate())
+                : settings.getErrorRate();
+        
+        if (uniform(call, 1) < settings.getTimeoutRate()) {
+            return failAfter(settings.getTimeout().toNanos(),
+                    new TimeoutException("Simulated " + name + " provider timed out"));
+        }
+        
+        long latency = Math.min((long) (sampleLatencyNanos(call) * latencyMultiplier),
+                settings.getMaxLatency().toNanos());
+        if (uniform(call, 2) < errorRate) {
+            return failAfter(latency, new IllegalStateException("Simulated " + name + " provider error"));
+        }
+        return CompletableFuture.supplyAsync(answer, CompletableFuture.delayedExecutor(latency, TimeUnit.NANOSECONDS));
+    }
+    
+    private static <T> CompletableFuture<T> failAfter(long delayNanos, Throwable failure) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS)
+                .execute(() -> result.completeExceptionally(failure));
+        return result;
+    }
+    
+    /**
+     * Latency of the given call, drawn from the configured distribution.
+     */
+    long sampleLatencyNanos(long call) {
+        double median = settings.getMedianLatency().toNanos();
+        switch (settings.getLatencyDistribution()) {
+            case LOG_NORMAL:
+                // Box-Muller: a standard normal draw from two uniforms
+                double normal = Math.sqrt(-2 * Math.log(1 - uniform(call, 3)))
+                        * Math.cos(2 * Math.PI * uniform(call, 4));
+                return (long) (median * Math.exp(settings.getLatencySigma() * normal));
+            case PARETO:
+                // Scale chosen so that the distribution's median is the configured median
+                double alpha = settings.getParetoAlpha();
+                double scale = median / Math.pow(2, 1 / alpha);
+                return (long) (scale / Math.pow(1 - uniform(call, 3), 1 / alpha));
+            default:
+                return (long) median;
+        }
+    }
+    
+    /**
+     * Status for a number: a function of the seed and the number only.
+     */
+    VerificationStatus statusFor(String phoneNumber) {
+        double draw = toUniform(mix(settings.getSeed() ^ mix(phoneNumber.hashCode())));
+        if (draw < settings.getMatchRate()) {
+            return VerificationStatus.MATCH;
+        } else if (draw < settings.getMatchRate() + settings.getNoMatchRate()) {
+            return VerificationStatus.NO_MATCH;
+        }
+        return VerificationStatus.INDETERMINATE;
+    }
+    
+    private SimulatorSettings.BrownOut activeBrownOut() {
+        if (settings.getBrownOuts().isEmpty()) {
+            return null;
+        }
+        long elapsed = clock.getAsLong() - startNanos;
+        long period = settings.getBrownOutPeriod().toNanos();
+        if (period > 0) {
+            elapsed %= period;
+        }
+        for (SimulatorSettings.BrownOut brownOut : settings.getBrownOuts()) {
+            long start = brownOut.getStart().toNanos();
+            if (elapsed >= start && elapsed < start + brownOut.getDuration().toNanos()) {
+                return brownOut;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Uniform draw in [0, 1) for one purpose ({@code stream}) of one call.
+     */
+    private double uniform(long call, int stream) {
+        return toUniform(mix(settings.getSeed() + (call * 8 + stream) * GOLDEN_GAMMA));
+    }
+    
+    private static double toUniform(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+    
+    /**
+     * SplitMix64 finaliser.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
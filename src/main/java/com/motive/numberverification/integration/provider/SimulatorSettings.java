@@ -0,0 +1,193 @@
+package com.motive.numberverification.integration.provider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Behaviour of a {@link SimulatedTelecomProvider}, bound from {@code telecom.provider.simulator.<provider>.*}.
+ */
+public class SimulatorSettings {
+
+    /**
+     * Shape of the simulated latency distribution.
+     */
+    public enum LatencyDistribution {
+        /** Always the median latency. */
+        FIXED,
+        /** Log-normal around the median; {@code latencySigma} controls the spread. */
+        LOG_NORMAL,
+        /** Pareto with the given median; a lower {@code paretoAlpha} gives a heavier tail. */
+        PARETO
+    }
+    
+    /**
+     * A scripted period of degraded service, relative to the simulator's start.
+     */
+    public static class BrownOut {
+        
+        private Duration start = Duration.ZERO;
+        private Duration duration = Duration.ZERO;
+        private double latencyMultiplier = 1.0;
+        private double errorRate;
+        
+        public Duration getStart() {
+            return start;
+        }
+        
+        public void setStart(Duration start) {
+            this.start = start;
+        }
+        
+        public Duration getDuration() {
+            return duration;
+        }
+        
+        public void setDuration(Duration duration) {
+            this.duration = duration;
+        }
+        
+        public double getLatencyMultiplier() {
+            return latencyMultiplier;
+        }
+        
+        public void setLatencyMultiplier(double latencyMultiplier) {
+            this.latencyMultiplier = latencyMultiplier;
+        }
+        
+        public double getErrorRate() {
+            return errorRate;
+        }
+        
+        public void setErrorRate(double errorRate) {
+            this.errorRate = errorRate;
+        }
+    }
+    
+    private long seed;
+    private LatencyDistribution latencyDistribution = LatencyDistribution.LOG_NORMAL;
+    private Duration medianLatency = Duration.ofMillis(150);
+    private double latencySigma = 0.5;
+    private double paretoAlpha = 2.5;
+    private Duration maxLatency = Duration.ofSeconds(10);
+    private double errorRate;
+    private double timeoutRate;
+    private Duration timeout = Duration.ofSeconds(30);
+    private double matchRate = 0.7;
+    private double noMatchRate = 0.2;
+    private String devicePhoneNumber = "+1234567890";
+    private List<BrownOut> brownOuts = new ArrayList<>();
+    private Duration brownOutPeriod = Duration.ZERO;
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+    
+    public LatencyDistribution getLatencyDistribution() {
+        return latencyDistribution;
+    }
+    
+    public void setLatencyDistribution(LatencyDistribution latencyDistribution) {
+        this.latencyDistribution = latencyDistribution;
+    }
+    
+    public Duration getMedianLatency() {
+        return medianLatency;
+    }
+    
+    public void setMedianLatency(Duration medianLatency) {
+        this.medianLatency = medianLatency;
+    }
+    
+    public double getLatencySigma() {
+        return latencySigma;
+    }
+    
+    public void setLatencySigma(double latencySigma) {
+        this.latencySigma = latencySigma;
+    }
+    
+    public double getParetoAlpha() {
+        return paretoAlpha;
+    }
+    
+    public void setParetoAlpha(double paretoAlpha) {
+        this.paretoAlpha = paretoAlpha;
+    }
+    
+    public Duration getMaxLatency() {
+        return maxLatency;
+    }
+    
+    public void setMaxLatency(Duration maxLatency) {
+        this.maxLatency = maxLatency;
+    }
+    
+    public double getErrorRate() {
+        return errorRate;
+    }
+    
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+    
+    public double getTimeoutRate() {
+        return timeoutRate;
+    }
+    
+    public void setTimeoutRate(double timeoutRate) {
+        this.timeoutRate = timeoutRate;
+    }
+    
+    public Duration getTimeout() {
+        return timeout;
+    }
+    
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+    
+    public double getMatchRate() {
+        return matchRate;
+    }
+    
+    public void setMatchRate(double matchRate) {
+        this.matchRate = matchRate;
+    }
+    
+    public double getNoMatchRate() {
+        return noMatchRate;
+    }
+    
+    public void setNoMatchRate(double noMatchRate) {
+        this.noMatchRate = noMatchRate;
+    }
+    
+    public String getDevicePhoneNumber() {
+        return devicePhoneNumber;
+    }
+    
+    public void setDevicePhoneNumber(String devicePhoneNumber) {
+        this.devicePhoneNumber = devicePhoneNumber;
+    }
+    
+    public List<BrownOut> getBrownOuts() {
+        return brownOuts;
+    }
+    
+    public void setBrownOuts(List<BrownOut> brownOuts) {
+        this.brownOuts = brownOuts;
+    }
+    
+    public Duration getBrownOutPeriod() {
+        return brownOutPeriod;
+    }
+    
+    public void setBrownOutPeriod(Duration brownOutPeriod) {
+        this.brownOutPeriod = brownOutPeriod;
+    }
+}
@@ -2,6 +2,9 @@ package com.motive.numberverification.integration.provider;
 
 import com.motive.numberverification.api.model.VerificationStatus;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Interface for telecom providers that implement number verification functionality.
  */
@@ -15,6 +18,21 @@ public interface TelecomProvider {
      */
     VerificationStatus verifyPhoneNumber(String phoneNumber);
     
+    /**
+     * Verify several phone numbers in one provider call.
+     * The default verifies each number in turn, for providers without a bulk lookup.
+     * 
+     * @param phoneNumbers The phone numbers to verify in E.164 format
+     * @return One VerificationStatus per phone number, in the same order
+     */
+    default List<VerificationStatus> verifyPhoneNumbers(List<String> phoneNumbers) {
+        List<VerificationStatus> results = new ArrayList<>(phoneNumbers.size());
+        for (String phoneNumber : phoneNumbers) {
+            results.add(verifyPhoneNumber(phoneNumber));
+        }
+        return results;
+    }
+    
     /**
      * Retrieve the phone number from the user's device.
      * 
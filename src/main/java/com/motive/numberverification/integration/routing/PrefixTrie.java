@@ -0,0 +1,98 @@
+package com.motive.numberverification.integration.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable digit trie compiled into flat arrays.
+ *
+ * <p>Node {@code n} keeps its child for digit {@code d} at {@code transitions[n * 10 + d]}, with 0
+ * meaning no child (the root is never a child). A lookup walks the number's digits once and
+ * returns the chain of the longest matching prefix, without allocating.
+ */
+final class PrefixTrie {
+
+    private static final int RADIX = 10;
+    
+    private final int[] transitions;
+    private final ProviderChain[] chains;
+    
+    private PrefixTrie(int[] transitions, ProviderChain[] chains) {
+        this.transitions = transitions;
+        this.chains = chains;
+    }
+    
+    /**
+     * Chain of the longest prefix of the number's digits, or {@code fallback} if none matches.
+     * A leading '+' is skipped; the walk stops at the first non-digit.
+     */
+    ProviderChain longestMatch(String phoneNumber, ProviderChain fallback) {
+        ProviderChain best = fallback;
+        int node = 0;
+        int start = !phoneNumber.isEmpty() && phoneNumber.charAt(0) == '+' ? 1 : 0;
+        for (int i = start; i < phoneNumber.length(); i++) {
+            int digit = phoneNumber.charAt(i) - '0';
+            if (digit < 0 || digit >= RADIX) {
+                break;
+            }
+            node = transitions[node * RADIX + digit];
+            if (node == 0) {
+                break;
+            }
+            if (chains[node] != null) {
+                best = chains[node];
+            }
+        }
+        return best;
+    }
+    
+    static Builder builder() {
+        return new Builder();
+    }
+    
+    static final class Builder {
+        
+        private int[] transitions = new int[16 * RADIX];
+        private final List<ProviderChain> chains = new ArrayList<>();
+        
+        Builder() {
+            // Node 0 is the root
+            chains.add(null);
+        }
+        
+        /**
+         * Map a digit prefix to a chain; a later put for the same prefix replaces the earlier one.
+         */
+        Builder put(String digits, ProviderChain chain) {
+            int node = 0;
+            for (int i = 0; i < digits.length(); i++) {
+                int digit = digits.charAt(i) - '0';
+                if (digit < 0 || digit >= RADIX) {
+                    throw new IllegalArgumentException("Routing prefix must contain only digits: " + digits);
+                }
+                int slot = node * RADIX + digit;
+                if (transitions[slot] == 0) {
+                    transitions[slot] = addNode();
+                }
+                node = transitions[slot];
+            }
+            chains.set(node, chain);
+            return this;
+        }
+        
+        private int addNode() {
+            int node = chains.size();
+            chains.add(null);
+            if ((node + 1) * RADIX > transitions.length) {
+                transitions = Arrays.copyOf(transitions, transitions.length * 2);
+            }
+            return node;
+        }
+        
+        PrefixTrie build() {
+            return new PrefixTrie(Arrays.copyOf(transitions, chains.size() * RADIX),
+                    chains.toArray(new ProviderChain[0]));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.motive.numberverification.integration.routing;
+
+import com.motive.numberverification.integration.provider.AsyncTelecomProvider;
+import com.motive.numberverification.integration.provider.TelecomProvider;
+
+import java.util.List;
+
+/**
+ * Ordered list of providers to try for a number: the first is the primary, the rest are
+ * fallbacks in order. Chains are built when the routing table is compiled and shared by
+ * every lookup that resolves to them.
+ */
+public final class ProviderChain {
+
+    private final String[] names;
+    private final TelecomProvider[] providers;
+    private final AsyncTelecomProvider[] asyncProviders;
+    
+    private ProviderChain(String[] names, TelecomProvider[] providers) {
+        this.names = names;
+        this.providers = providers;
+        this.asyncProviders = new AsyncTelecomProvider[providers.length];
+        for (int i = 0; i < providers.length; i++) {
+            asyncProviders[i] = AsyncTelecomProvider.of(providers[i]);
+        }
+    }
+    
+    /**
+     * Build a chain from provider names and the providers they refer to.
+     */
+    public static ProviderChain of(List<String> names, List<TelecomProvider> providers) {
+        if (names.isEmpty() || names.size() != providers.size()) {
+            throw new IllegalArgumentException("A provider chain needs at least one provider and a name for each");
+        }
+        return new ProviderChain(names.toArray(new String[0]), providers.toArray(new TelecomProvider[0]));
+    }
+    
+    public int size() {
+        return providers.length;
+    }
+    
+    public String name(int index) {
+        return names[index];
+    }
+    
+    public TelecomProvider provider(int index) {
+        return providers[index];
+    }
+    
+    public AsyncTelecomProvider asyncProvider(int index) {
+        return asyncProviders[index];
+    }
+    
+    public List<String> names() {
+        return List.of(names);
+    }
+    
+    @Override
+    public String toString() {
+        return String.join(" > ", names);
+    }
+}
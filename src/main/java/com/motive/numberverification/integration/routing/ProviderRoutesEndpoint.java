@@ -0,0 +1,38 @@
+package com.motive.numberverification.integration.routing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint to inspect and reload the provider routing table without a restart.
+ */
+@Component
+@Endpoint(id = "providerroutes")
+public class ProviderRoutesEndpoint {
+
+    private final ProviderRoutingTable routingTable;
+    
+    public ProviderRoutesEndpoint(ProviderRoutingTable routingTable) {
+        this.routingTable = routingTable;
+    }
+    
+    @ReadOperation
+    public Map<String, List<String>> routes() {
+        return routingTable.describe();
+    }
+    
+    /**
+     * Replace the routes and, optionally, the default chain; returns the table now in effect.
+     */
+    @WriteOperation
+    public Map<String, List<String>> reload(@Nullable String routes, @Nullable String defaultChain) {
+        routingTable.reload(defaultChain, routes);
+        return routingTable.describe();
+    }
+}
@@ -0,0 +1,134 @@
+package com.motive.numberverification.integration.routing;
+
+import com.motive.numberverification.common.util.PhoneNumberUtils;
+import com.motive.numberverification.integration.provider.TelecomProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes a phone number to an ordered provider chain by its country calling code and leading
+ * national digits.
+ *
+ * <p>Routes are written as {@code key=provider,provider;key=provider}, where a key is a region
+ * code ({@code FR}) or a dialing prefix ({@code 1415}) and providers are bean names; see
+ * {@link PhoneNumberUtils#routingPrefix(String)} for the keys accepted. Numbers with
+ * no matching route use the default chain. The table is compiled into a {@link PrefixTrie} and
+ * swapped atomically on reload, so lookups never see a half-built table.
+ */
+@Component
+public class ProviderRoutingTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderRoutingTable.class);
+    
+    private final Map<String, TelecomProvider> providers;
+    private final PhoneNumberUtils phoneNumberUtils;
+    
+    private volatile Routes routes;
+    
+    public ProviderRoutingTable(
+            Map<String, TelecomProvider> providers,
+            PhoneNumberUtils phoneNumberUtils,
+            @Value("${telecom.routing.default-chain:defaultTelecomProvider,fallbackTelecomProvider}") String defaultChain,
+            @Value("${telecom.routing.routes:}") String routes) {
+        this.providers = Map.copyOf(providers);
+        this.phoneNumberUtils = phoneNumberUtils;
+        reload(defaultChain, routes);
+    }
+    
+    /**
+     * Provider chain for an E.164 number; the default chain if no route matches or the number is null.
+     */
+    public ProviderChain route(String phoneNumber) {
+        Routes current = routes;
+        return phoneNumber == null
+                ? current.defaultChain
+                : current.trie.longestMatch(phoneNumber, current.defaultChain);
+    }
+    
+    /**
+     * Provider chain for lookups that are not tied to a number, such as the device phone number.
+     */
+    public ProviderChain defaultChain() {
+        return routes.defaultChain;
+    }
+    
+    /**
+     * Replace the routing table. The new table is fully compiled before it is published;
+     * if the specification is invalid the current table stays in place.
+     *
+     * @param defaultChain Comma-separated provider names, or null to keep the current default chain
+     * @param routeSpec Route specification, or null to keep the current routes
+     * @throws IllegalArgumentException if a route key or provider name is unknown, or two routes have the
+     *                                  same prefix
+     */
+    public synchronized void reload(String defaultChain, String routeSpec) {
+        Routes current = routes;
+        String defaultSpec = defaultChain != null ? defaultChain : current.defaultSpec;
+        String spec = routeSpec != null ? routeSpec : current.routeSpec;
+        
+        Map<List<String>, ProviderChain> chains = new HashMap<>();
+        Map<String, List<String>> description = new LinkedHashMap<>();
+        ProviderChain compiledDefault = chain(defaultSpec, chains);
+        description.put("default", compiledDefault.names());
+        
+        PrefixTrie.Builder trie = PrefixTrie.builder();
+        for (String route : spec.split(";")) {
+            if (route.isBlank()) {
+                continue;
+            }
+            int separator = route.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Route must be written as key=provider[,provider]: " + route);
+            }
+            String prefix = phoneNumberUtils.routingPrefix(route.substring(0, separator));
+            if (description.containsKey("+" + prefix)) {
+                throw new IllegalArgumentException("More than one route for prefix +" + prefix + ": " + route);
+            }
+            ProviderChain chain = chain(route.substring(separator + 1), chains);
+            trie.put(prefix, chain);
+            description.put("+" + prefix, chain.names());
+        }
+        
+        routes = new Routes(defaultSpec, spec, compiledDefault, trie.build(), Collections.unmodifiableMap(description));
+        logger.info("Provider routing table loaded with {} routes", description.size() - 1);
+    }
+    
+    /**
+     * The current routes by dialing prefix, plus the default chain.
+     */
+    public Map<String, List<String>> describe() {
+        return routes.description;
+    }
+    
+    private ProviderChain chain(String spec, Map<List<String>, ProviderChain> chains) {
+        List<String> names = Arrays.stream(spec.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+        return chains.computeIfAbsent(names, key -> {
+            List<TelecomProvider> chainProviders = new ArrayList<>(key.size());
+            for (String name : key) {
+                TelecomProvider provider = providers.get(name);
+                if (provider == null) {
+                    throw new IllegalArgumentException("Unknown telecom provider: " + name);
+                }
+                chainProviders.add(provider);
+            }
+            return ProviderChain.of(key, chainProviders);
+        });
+    }
+    
+    private record Routes(String defaultSpec, String routeSpec, ProviderChain defaultChain, PrefixTrie trie,
+                          Map<String, List<String>> description) {
+    }
+}
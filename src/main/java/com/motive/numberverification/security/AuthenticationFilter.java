@@ -1,7 +1,9 @@
 package com.motive.numberverification.security;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,12 +12,19 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.motive.numberverification.common.deadline.DeadlineHolder;
+import com.motive.numberverification.common.deadline.RequestDeadlines;
+
 import io.micrometer.core.instrument.MeterRegistry;
 
 /**
@@ -23,16 +32,37 @@ import io.micrometer.core.instrument.MeterRegistry;
  * This simplified version accepts specific tokens for testing purposes.
  */
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationFilter.class);
-    private static final String MOCK_TOKEN = "mock_sandbox_access_token";
-    private static final String REQUIRED_SCOPE = "dpv:FraudPreventionAndDetection#number-verification-verify-read";
+    static final String MOCK_TOKEN = "mock_sandbox_access_token";
+    static final String REQUIRED_SCOPE = "dpv:FraudPreventionAndDetection#number-verification-verify-read";
+    /** Role needed for actuator write and delete operations, granted to the operator token only. */
+    public static final String OPERATOR_ROLE = "ACTUATOR_OPERATOR";
     
     private final MeterRegistry meterRegistry;
+    private final RequestDeadlines requestDeadlines;
+    private final String operatorToken;
     
-    public AuthenticationFilter(MeterRegistry meterRegistry) {
+    public AuthenticationFilter(MeterRegistry meterRegistry, RequestDeadlines requestDeadlines,
+                                @Value("${security.actuator.operator-token:}") String operatorToken) {
         this.meterRegistry = meterRegistry;
+        this.requestDeadlines = requestDeadlines;
+        this.operatorToken = operatorToken;
+    }
+    
+    /**
+     * Authorities granted to a bearer token, or {@code null} if the token is not accepted. The operator
+     * token, when configured, also grants {@link #OPERATOR_ROLE}; without one, actuator writes are refused.
+     */
+    static List<GrantedAuthority> authoritiesFor(String token, String operatorToken) {
+        GrantedAuthority scope = new SimpleGrantedAuthority("SCOPE_" + REQUIRED_SCOPE);
+        if (!operatorToken.isEmpty() && MessageDigest.isEqual(
+                operatorToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            return List.of(scope, new SimpleGrantedAuthority("ROLE_" + OPERATOR_ROLE));
+        }
+        return MOCK_TOKEN.equals(token) ? List.of(scope) : null;
     }
     
     @Override
@@ -41,6 +71,24 @@ public class AuthenticationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
         
+        long start = System.nanoTime();
+        boolean authenticated;
+        try {
+            authenticated = authenticate(request, response);
+        } finally {
+            requestDeadlines.recordStage(RequestDeadlines.STAGE_AUTH, DeadlineHolder.getDeadline(), start);
+        }
+        
+        if (authenticated) {
+            // Continue the filter chain
+            filterChain.doFilter(request, response);
+        }
+    }
+    
+    /**
+     * Validate the access token and populate the security context; writes the 401 response otherwise.
+     */
+    private boolean authenticate(HttpServletRequest request, HttpServletResponse response) throws IOException {
         logger.info("===> AuthenticationFilter processing request: {}", request.getRequestURI());
         
         // Extract the token from the Authorization header
@@ -51,23 +99,26 @@ public class AuthenticationFilter extends OncePerRequestFilter {
             meterRegistry.counter("authentication_failure", "reason", "missing_token").increment();
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Missing or invalid Authorization header");
-            return;
+            return false;
         }
         
         String token = authorizationHeader.substring(7);
         
         try {
-            // For testing purposes, accept the mock token
-            if (MOCK_TOKEN.equals(token)) {
+            // For testing purposes, accept the mock token (and the operator token, if configured)
+            List<GrantedAuthority> authorities = authoritiesFor(token, operatorToken);
+            if (authorities != null) {
                 // Create authentication with required scope
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         "test-user",
                         null,
-                        Collections.singletonList(new SimpleGrantedAuthority("SCOPE_" + REQUIRED_SCOPE))
+                        authorities
                 );
                 
-                // Set authentication in the Security Context
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                // Set authentication in a fresh Security Context rather than mutating a shared one
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
                 
                 logger.info("Successfully authenticated test user with mock token");
                 meterRegistry.counter("authentication_success").increment();
@@ -77,7 +128,7 @@ public class AuthenticationFilter extends OncePerRequestFilter {
                 meterRegistry.counter("authentication_failure", "reason", "invalid_token").increment();
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Invalid token");
-                return;
+                return false;
             }
             
         } catch (Exception e) {
@@ -85,10 +136,9 @@ public class AuthenticationFilter extends OncePerRequestFilter {
             meterRegistry.counter("authentication_failure", "reason", "authentication_error").increment();
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Authentication failed");
-            return;
+            return false;
         }
         
-        // Continue the filter chain
-        filterChain.doFilter(request, response);
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.motive.numberverification.security;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Bucket4j;
+import io.github.bucket4j.Refill;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-client token buckets shared by the servlet and reactive rate limiting filters.
+ */
+@Component
+public class RateLimiter {
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final int requestsPerMinute;
+    
+    public RateLimiter(@Value("${security.rate-limiting.requests-per-minute:60}") int requestsPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+    }
+    
+    /**
+     * Try to consume tokens from the client's bucket.
+     * 
+     * @param clientKey The client identifier, see {@link #clientKey(String, String)}
+     * @param tokens The number of tokens to consume
+     * @return true if the request is allowed, false if the client is rate limited
+     */
+    public boolean tryConsume(String clientKey, long tokens) {
+        // Get or create rate limiting bucket for this client
+        Bucket bucket = buckets.computeIfAbsent(clientKey, this::createNewBucket);
+        return bucket.tryConsume(tokens);
+    }
+    
+    /**
+     * Build the client identifier for rate limiting.
+     * Uses API key if available, otherwise falls back to IP address.
+     */
+    public static String clientKey(String apiKey, String remoteAddress) {
+        if (apiKey != null && !apiKey.isEmpty()) {
+            return "api-key:" + apiKey;
+        }
+        
+        return "ip:" + remoteAddress;
+    }
+    
+    /**
+     * Create a new rate limiting bucket for a client.
+     */
+    private Bucket createNewBucket(String clientKey) {
+        // Create bandwidth limit: requestsPerMinute tokens per minute
+        Bandwidth limit = Bandwidth.classic(requestsPerMinute, 
+                Refill.intervally(requestsPerMinute, Duration.ofMinutes(1)));
+        
+        return Bucket4j.builder()
+                .addLimit(limit)
+                .build();
+    }
+}
@@ -1,9 +1,7 @@
 package com.motive.numberverification.security;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Bucket4j;
-import io.github.bucket4j.Refill;
+import com.motive.numberverification.common.deadline.DeadlineHolder;
+import com.motive.numberverification.common.deadline.RequestDeadlines;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -11,33 +9,31 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Filter for rate limiting API requests.
  */
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RateLimitingFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(RateLimitingFilter.class);
     
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
-    private final int requestsPerMinute;
+    private final RateLimiter rateLimiter;
     private final MeterRegistry meterRegistry;
+    private final RequestDeadlines requestDeadlines;
     
-    public RateLimitingFilter(
-            @Value("${security.rate-limiting.requests-per-minute:60}") int requestsPerMinute,
-            MeterRegistry meterRegistry) {
-        this.requestsPerMinute = requestsPerMinute;
+    public RateLimitingFilter(RateLimiter rateLimiter, MeterRegistry meterRegistry,
+                              RequestDeadlines requestDeadlines) {
+        this.rateLimiter = rateLimiter;
         this.meterRegistry = meterRegistry;
+        this.requestDeadlines = requestDeadlines;
     }
     
     @Override
@@ -51,11 +47,12 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         // Get client IP address or API key for rate limiting
         String clientKey = getClientKey(request);
         
-        // Get or create rate limiting bucket for this client
-        Bucket bucket = buckets.computeIfAbsent(clientKey, this::createNewBucket);
+        // Try to consume a token from the client's bucket
+        long start = System.nanoTime();
+        boolean allowed = rateLimiter.tryConsume(clientKey, 1);
+        requestDeadlines.recordStage(RequestDeadlines.STAGE_RATE_LIMIT, DeadlineHolder.getDeadline(), start);
         
-        // Try to consume a token from the bucket
-        if (bucket.tryConsume(1)) {
+        if (allowed) {
             // Request is allowed, continue the filter chain
             logger.debug("Request allowed for client: {}", clientKey);
             filterChain.doFilter(request, response);
@@ -75,24 +72,6 @@ public class RateLimitingFilter extends OncePerRequestFilter {
      * Uses API key from header if available, otherwise falls back to IP address.
      */
     private String getClientKey(HttpServletRequest request) {
-        String apiKey = request.getHeader("X-API-Key");
-        if (apiKey != null && !apiKey.isEmpty()) {
-            return "api-key:" + apiKey;
-        }
-        
-        return "ip:" + request.getRemoteAddr();
-    }
-    
-    /**
-     * Create a new rate limiting bucket for a client.
-     */
-    private Bucket createNewBucket(String clientKey) {
-        // Create bandwidth limit: requestsPerMinute tokens per minute
-        Bandwidth limit = Bandwidth.classic(requestsPerMinute, 
-                Refill.intervally(requestsPerMinute, Duration.ofMinutes(1)));
-        
-        return Bucket4j.builder()
-                .addLimit(limit)
-                .build();
+        return RateLimiter.clientKey(request.getHeader("X-API-Key"), request.getRemoteAddr());
     }
 }
@@ -0,0 +1,97 @@
+package com.motive.numberverification.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.motive.numberverification.common.deadline.ReactiveDeadlineFilter;
+import com.motive.numberverification.common.deadline.RequestDeadlines;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive equivalent of {@link AuthenticationFilter} for the WebFlux stack.
+ * The authentication is published through the Reactor context instead of a ThreadLocal.
+ */
+public class ReactiveAuthenticationFilter implements WebFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAuthenticationFilter.class);
+    
+    private final MeterRegistry meterRegistry;
+    private final RequestDeadlines requestDeadlines;
+    private final String operatorToken;
+    
+    public ReactiveAuthenticationFilter(MeterRegistry meterRegistry, RequestDeadlines requestDeadlines,
+                                        String operatorToken) {
+        this.meterRegistry = meterRegistry;
+        this.requestDeadlines = requestDeadlines;
+        this.operatorToken = operatorToken;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        logger.debug("ReactiveAuthenticationFilter processing request: {}", exchange.getRequest().getPath());
+        
+        // Extract the token from the Authorization header
+        String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            logger.warn("Missing or invalid Authorization header");
+            meterRegistry.counter("authentication_failure", "reason", "missing_token").increment();
+            recordStage(exchange, start);
+            return reject(exchange, "Missing or invalid Authorization header");
+        }
+        
+        String token = authorizationHeader.substring(7);
+        
+        // For testing purposes, accept the mock token (and the operator token, if configured)
+        List<GrantedAuthority> authorities = AuthenticationFilter.authoritiesFor(token, operatorToken);
+        if (authorities == null) {
+            // In a real implementation, validate the token and extract scopes
+            logger.warn("Invalid token: Not the mock token");
+            meterRegistry.counter("authentication_failure", "reason", "invalid_token").increment();
+            recordStage(exchange, start);
+            return reject(exchange, "Invalid token");
+        }
+        
+        // Create authentication with required scope
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                "test-user",
+                null,
+                authorities
+        );
+        
+        logger.debug("Successfully authenticated test user with mock token");
+        meterRegistry.counter("authentication_success").increment();
+        recordStage(exchange, start);
+        
+        // Continue the filter chain with the authentication in the Reactor context
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+    
+    private void recordStage(ServerWebExchange exchange, long start) {
+        requestDeadlines.recordStage(RequestDeadlines.STAGE_AUTH, ReactiveDeadlineFilter.deadlineOf(exchange), start);
+    }
+    
+    private Mono<Void> reject(ServerWebExchange exchange, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        DataBuffer buffer = response.bufferFactory().wrap(message.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,77 @@
+package com.motive.numberverification.security;
+
+import com.motive.numberverification.common.deadline.ReactiveDeadlineFilter;
+import com.motive.numberverification.common.deadline.RequestDeadlines;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reactive equivalent of {@link RateLimitingFilter} for the WebFlux stack.
+ */
+public class ReactiveRateLimitingFilter implements WebFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRateLimitingFilter.class);
+    private static final byte[] RATE_LIMITED_BODY =
+            "{\"error\":\"Rate limit exceeded. Try again later.\"}".getBytes(StandardCharsets.UTF_8);
+    
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final RequestDeadlines requestDeadlines;
+    
+    public ReactiveRateLimitingFilter(RateLimiter rateLimiter, MeterRegistry meterRegistry,
+                                      RequestDeadlines requestDeadlines) {
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.requestDeadlines = requestDeadlines;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // Get client IP address or API key for rate limiting
+        String clientKey = clientKey(exchange.getRequest());
+        
+        // Bucket4j buckets are lock-free, so consuming a token never blocks the event loop
+        long start = System.nanoTime();
+        boolean allowed = rateLimiter.tryConsume(clientKey, 1);
+        requestDeadlines.recordStage(RequestDeadlines.STAGE_RATE_LIMIT,
+                ReactiveDeadlineFilter.deadlineOf(exchange), start);
+        
+        if (allowed) {
+            logger.debug("Request allowed for client: {}", clientKey);
+            return chain.filter(exchange);
+        }
+        
+        logger.warn("Rate limit exceeded for client: {}", clientKey);
+        meterRegistry.counter("rate_limit_exceeded").increment();
+        
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer buffer = response.bufferFactory().wrap(RATE_LIMITED_BODY);
+        return response.writeWith(Mono.just(buffer));
+    }
+    
+    /**
+     * Extract client identifier for rate limiting.
+     */
+    public static String clientKey(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        String remoteHost = remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : "unknown";
+        return RateLimiter.clientKey(request.getHeaders().getFirst("X-API-Key"), remoteHost);
+    }
+}
@@ -0,0 +1,116 @@
+package com.motive.numberverification.service;
+
+import com.motive.numberverification.api.model.BatchVerificationResult;
+import com.motive.numberverification.api.model.VerificationRequest;
+import com.motive.numberverification.common.deadline.RequestDeadlines;
+import com.motive.numberverification.security.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.motive.numberverification.common.exception.ApiException;
+import com.motive.numberverification.common.exception.ValidationError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Verification of the items of a batch, shared by the servlet and reactive batch endpoints.
+ *
+ * <p>Each item is validated, charged one token against the client's rate limit and verified through
+ * {@link VerificationService#verifyPhoneNumberDefinitiveAsync} under a deadline of its own, started when
+ * the item is dispatched. An item the provider could not answer yields an error result for that item,
+ * so it is not mistaken for a number that does not match; the rest of the batch carries on.
+ */
+@Service
+public class BatchVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchVerificationService.class);
+
+    private final VerificationService verificationService;
+    private final RateLimiter rateLimiter;
+    private final RequestDeadlines requestDeadlines;
+    private final MeterRegistry meterRegistry;
+    private final int maxConcurrency;
+
+    public BatchVerificationService(VerificationService verificationService, RateLimiter rateLimiter,
+                                    RequestDeadlines requestDeadlines,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${verification.batch.max-concurrency:32}") int maxConcurrency) {
+        this.verificationService = verificationService;
+        this.rateLimiter = rateLimiter;
+        this.requestDeadlines = requestDeadlines;
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Items of one batch verified at the same time, at most.
+     */
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Verify one item of a batch for the caller on the current thread.
+     */
+    public CompletableFuture<BatchVerificationResult> verifyItem(long index, VerificationRequest item,
+                                                                 String clientKey) {
+        return verifyItem(index, item, clientKey, VerificationService.currentCaller());
+    }
+
+    /**
+     * Verify one item of a batch. The returned future always completes normally, with the verification
+     * result or an error result for the item.
+     *
+     * @param clientKey Rate limiting key of the client, see {@link RateLimiter#clientKey(String, String)}
+     */
+    public CompletableFuture<BatchVerificationResult> verifyItem(long index, VerificationRequest item,
+                                                                 String clientKey, String caller) {
+        if (item == null) {
+            return completed("invalid", BatchVerificationResult.error(index, "VALIDATION_ERROR",
+                    "Batch item must be an object"));
+        }
+        ValidationError invalid = item.validate();
+        if (invalid != null) {
+            return completed("invalid", BatchVerificationResult.error(index, invalid.getErrorCode(),
+                    invalid.getMessage()));
+        }
+
+        if (!rateLimiter.tryConsume(clientKey, 1)) {
+            meterRegistry.counter("rate_limit_exceeded").increment();
+            return completed("rate_limited", BatchVerificationResult.error(index, "RATE_LIMIT_EXCEEDED",
+                    "Rate limit exceeded. Try again later."));
+        }
+
+        CompletableFuture<Boolean> verified;
+        try {
+            verified = verificationService.verifyPhoneNumberDefinitiveAsync(item, caller,
+                    requestDeadlines.forRequest(null));
+        } catch (RuntimeException e) {
+            verified = CompletableFuture.failedFuture(e);
+        }
+        return verified.handle((result, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                logger.debug("Batch item {} failed: {}", index, cause.getMessage());
+                count("failed");
+                return cause instanceof ApiException failure
+                        ? BatchVerificationResult.error(index, failure.getErrorCode(), failure.getMessage())
+                        : BatchVerificationResult.error(index, "INTERNAL_SERVER_ERROR", "Verification failed");
+            }
+            count(result ? "verified" : "not_verified");
+            return BatchVerificationResult.verified(index, result);
+        });
+    }
+
+    private CompletableFuture<BatchVerificationResult> completed(String outcome, BatchVerificationResult result) {
+        count(outcome);
+        return CompletableFuture.completedFuture(result);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("verification.batch.items", "result", outcome).increment();
+    }
+}
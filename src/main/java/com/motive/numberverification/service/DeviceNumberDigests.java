@@ -0,0 +1,136 @@
+package com.motive.numberverification.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
+import com.motive.numberverification.common.util.PhoneNumberHasher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Memo of SHA-256 digests of each device's phone number, in every international spelling a client may
+ * have hashed: E.164 with and without the plus, and with the {@code 00} international prefix. A hashed
+ * verification is then a memory lookup and comparison, without hashing.
+ *
+ * <p>National spellings (the national significant number, and the national number with its trunk prefix)
+ * drop the country code, so the same digits in another country would match too; they are only accepted
+ * when {@code verification.hash.national-forms} is enabled.
+ *
+ * <p>Entries are keyed by device identity and hold the digests packed in one byte array. An entry is
+ * recomputed when the device's number changes. The memo is bounded by estimated memory footprint,
+ * reported as {@code verification.hash.memo.bytes}.
+ */
+@Component
+public class DeviceNumberDigests {
+
+    /** Object headers, references and the key, beyond the digest and number bytes. */
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final PhoneNumberHasher phoneNumberHasher;
+    private final PhoneNumberUtil phoneNumberUtil = PhoneNumberUtil.getInstance();
+    private final Cache<String, Entry> memo;
+    private final boolean nationalForms;
+
+    public DeviceNumberDigests(
+            PhoneNumberHasher phoneNumberHasher,
+            @Value("${verification.hash.memo.max-size:16MB}") DataSize maxSize,
+            @Value("${verification.hash.memo.expire-after-access:30m}") Duration expireAfterAccess,
+            @Value("${verification.hash.national-forms:false}") boolean nationalForms,
+            MeterRegistry meterRegistry) {
+        this.phoneNumberHasher = phoneNumberHasher;
+        this.nationalForms = nationalForms;
+        this.memo = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String device, Entry entry) -> entry.footprint(device))
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, memo, "deviceNumberDigests");
+        Gauge.builder("verification.hash.memo.bytes", memo,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Estimated memory held by memoized device number digests")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether {@code expectedHex} is the SHA-256 of any spelling of the device's phone number.
+     *
+     * @param device Identity of the device the number belongs to
+     */
+    public boolean matches(String device, String devicePhoneNumber, String expectedHex) {
+        Entry entry = memo.getIfPresent(device);
+        if (entry == null || !entry.phoneNumber().equals(devicePhoneNumber)) {
+            entry = new Entry(devicePhoneNumber, digestVariants(devicePhoneNumber));
+            memo.put(device, entry);
+        }
+        return phoneNumberHasher.matchesAny(entry.digests(), expectedHex);
+    }
+
+    private byte[] digestVariants(String phoneNumber) {
+        Set<String> variants = variants(phoneNumber);
+        byte[] digests = new byte[variants.size() * PhoneNumberHasher.DIGEST_LENGTH];
+        int offset = 0;
+        for (String variant : variants) {
+            phoneNumberHasher.digest(variant, digests, offset);
+            offset += PhoneNumberHasher.DIGEST_LENGTH;
+        }
+        return digests;
+    }
+
+    /**
+     * The number as given, plus its other international spellings when it parses as E.164, and its
+     * national ones if enabled.
+     */
+    Set<String> variants(String phoneNumber) {
+        Set<String> variants = new LinkedHashSet<>();
+        variants.add(phoneNumber);
+        try {
+            PhoneNumber parsed = phoneNumberUtil.parse(phoneNumber, null);
+            String countryCode = String.valueOf(parsed.getCountryCode());
+            String nationalNumber = phoneNumberUtil.getNationalSignificantNumber(parsed);
+            variants.add('+' + countryCode + nationalNumber);
+            variants.add(countryCode + nationalNumber);
+            variants.add("00" + countryCode + nationalNumber);
+            if (nationalForms) {
+                variants.add(nationalNumber);
+                variants.add(digitsOf(phoneNumberUtil.format(parsed, PhoneNumberUtil.PhoneNumberFormat.NATIONAL)));
+            }
+        } catch (NumberParseException e) {
+            // Not E.164: only the number as given can match
+        }
+        return variants;
+    }
+
+    private static String digitsOf(String formatted) {
+        StringBuilder digits = new StringBuilder(formatted.length());
+        for (int i = 0; i < formatted.length(); i++) {
+            char c = formatted.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * @param digests SHA-256 digests of the number's spellings, back to back
+     */
+    private record Entry(String phoneNumber, byte[] digests) {
+
+        int footprint(String device) {
+            return ENTRY_OVERHEAD_BYTES + device.length() + phoneNumber.length() + digests.length;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.motive.numberverification.service;
+
+import com.motive.numberverification.api.model.VerificationRequest;
+import com.motive.numberverification.common.cache.CacheLock;
+import com.motive.numberverification.common.deadline.Deadline;
+import com.motive.numberverification.common.deadline.DeadlineHolder;
+import com.motive.numberverification.common.exception.ValidationError;
+import com.motive.numberverification.common.util.PhoneNumberHasher;
+import com.motive.numberverification.config.CacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Verification under a client-supplied {@code Idempotency-Key}: the first result for a key is stored in
+ * the two-tier {@value CacheConfig#IDEMPOTENT_RESPONSES} cache for the idempotency window, and replayed
+ * to later requests with the same key without calling {@link VerificationService} again.
+ *
+ * <ul>
+ *   <li>Keys are scoped per caller. Each stored result carries a fingerprint of the request body; the
+ *       key reused with a different body is rejected rather than replayed.</li>
+ *   <li>Duplicates arriving while the first request runs on this instance wait for its result. Across
+ *       instances a {@link CacheLock} is held while the verification runs, and duplicates poll for the
+ *       stored result; the lock is kept after success so they cannot start a second verification
+ *       before the result reaches Redis.</li>
+ *   <li>A verification that fails, or that the provider cannot answer definitively, is not stored: the
+ *       request fails, and the client's retry runs it again.</li>
+ * </ul>
+ */
+@Service
+public class IdempotentVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotentVerificationService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final long POLL_INTERVAL_MILLIS = 25;
+    private static final Executor POLL_DELAY =
+            CompletableFuture.delayedExecutor(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+    private static final AtomicLong lockTokens = new AtomicLong();
+
+    private final VerificationService verificationService;
+    private final Cache responses;
+    private final CacheLock cacheLock;
+    private final Duration lockTtl;
+    private final Duration wait;
+    private final MeterRegistry meterRegistry;
+    private final PhoneNumberHasher phoneNumberHasher;
+    private final LongSupplier clock;
+    private final ConcurrentMap<String, Execution> executions = new ConcurrentHashMap<>();
+
+    /**
+     * @param lockTtl How long a verification may hold the key against other instances
+     * @param wait How long a duplicate waits for the result of a verification running on another instance
+     */
+    @Autowired
+    public IdempotentVerificationService(
+            VerificationService verificationService,
+            CacheManager cacheManager,
+            CacheLock cacheLock,
+            @Value("${verification.idempotency.lock-ttl:10s}") Duration lockTtl,
+            @Value("${verification.idempotency.wait:5s}") Duration wait,
+            MeterRegistry meterRegistry,
+            PhoneNumberHasher phoneNumberHasher) {
+        this(verificationService, cacheManager.getCache(CacheConfig.IDEMPOTENT_RESPONSES), cacheLock, lockTtl,
+                wait, meterRegistry, phoneNumberHasher, System::currentTimeMillis);
+    }
+
+    IdempotentVerificationService(VerificationService verificationService, Cache responses, CacheLock cacheLock,
+                                  Duration lockTtl, Duration wait, MeterRegistry meterRegistry,
+                                  PhoneNumberHasher phoneNumberHasher, LongSupplier clock) {
+        this.verificationService = verificationService;
+        this.responses = responses;
+        this.cacheLock = cacheLock;
+        this.lockTtl = lockTtl;
+        this.wait = wait;
+        this.meterRegistry = meterRegistry;
+        this.phoneNumberHasher = phoneNumberHasher;
+        this.clock = clock;
+    }
+
+    /**
+     * Check an {@code Idempotency-Key} header value without throwing.
+     *
+     * @return The error to reject the request with, or null if the key is usable
+     */
+    public static ValidationError validateKey(String idempotencyKey) {
+        return idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH
+                ? ValidationError.IDEMPOTENCY_KEY_FORMAT
+                : null;
+    }
+
+    /**
+     * Verify for the caller on the current thread, within the request deadline.
+     */
+    public CompletableFuture<Boolean> verifyPhoneNumberAsync(String idempotencyKey, VerificationRequest request) {
+        return verifyPhoneNumberAsync(idempotencyKey, request, VerificationService.currentCaller(),
+                DeadlineHolder.getDeadline());
+    }
+
+    /**
+     * Verify, or replay the result stored for the key. Fails with
+     * {@link ValidationError#IDEMPOTENCY_KEY_REUSED}'s exception if the key was used with another body, and
+     * with {@link ValidationError#IDEMPOTENCY_KEY_IN_PROGRESS}'s if another instance still holds the key
+     * when the wait or the deadline runs out. A verification that cannot be answered fails as described
+     * for {@link VerificationService#verifyPhoneNumberDefinitiveAsync}.
+     */
+    public CompletableFuture<Boolean> verifyPhoneNumberAsync(String idempotencyKey, VerificationRequest request,
+                                                             String caller, Deadline deadline) {
+        String key = caller + ':' + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        return stored(key).thenCompose(stored -> stored != null
+                ? replay(stored, fingerprint, "replayed")
+                : execute(key, fingerprint, deadline,
+                        () -> verificationService.verifyPhoneNumberDefinitiveAsync(request, caller, deadline)));
+    }
+
+    /**
+     * Run the verification unless the same key is already running on this instance, in which case its
+     * result is shared.
+     */
+    private CompletableFuture<Boolean> execute(String key, String fingerprint, Deadline deadline,
+                                               Supplier<CompletableFuture<Boolean>> verification) {
+        Execution execution = new Execution(fingerprint, new CompletableFuture<>());
+        Execution running = executions.putIfAbsent(key, execution);
+        if (running != null) {
+            if (!running.fingerprint().equals(fingerprint)) {
+                return rejected();
+            }
+            count("joined");
+            return running.result().thenApply(verified -> verified);
+        }
+
+        // A verification that finished since the lookup stored its result before leaving executions
+        stored(key)
+                .thenCompose(stored -> stored != null
+                        ? replay(stored, fingerprint, "replayed")
+                        : acquire(key, fingerprint, verification, clock.getAsLong() + waitMillis(deadline)))
+                .whenComplete((verified, e) -> {
+                    executions.remove(key, execution);
+                    if (e != null) {
+                        execution.result().completeExceptionally(e);
+                    } else {
+                        execution.result().complete(verified);
+                    }
+                });
+        return execution.result().thenApply(verified -> verified);
+    }
+
+    /**
+     * Take the key across instances and run the verification, or poll for the result of the instance
+     * holding it. If that instance fails, its lock is released and this one takes over.
+     */
+    private CompletableFuture<Boolean> acquire(String key, String fingerprint, Supplier<CompletableFuture<Boolean>> verification,
+                                               long waitUntil) {
+        String lockKey = CacheConfig.IDEMPOTENT_RESPONSES + "::" + key;
+        String token = INSTANCE_ID + ':' + lockTokens.incrementAndGet();
+        return cacheLock.tryLock(lockKey, token, lockTtl).thenCompose(acquired -> {
+            if (acquired) {
+                return run(key, fingerprint, verification)
+                        .whenComplete((verified, e) -> {
+                            if (e != null) {
+                                cacheLock.unlock(lockKey, token);
+                            }
+                        });
+            }
+            if (clock.getAsLong() >= waitUntil) {
+                count("in_progress");
+                return CompletableFuture.failedFuture(ValidationError.IDEMPOTENCY_KEY_IN_PROGRESS.exception());
+            }
+            return CompletableFuture.runAsync(() -> { }, POLL_DELAY)
+                    .thenCompose(ignored -> stored(key))
+                    .thenCompose(stored -> stored != null
+                            ? replay(stored, fingerprint, "waited")
+                            : acquire(key, fingerprint, verification, waitUntil));
+        });
+    }
+
+    /**
+     * How long a duplicate may poll: the configured wait, cut short so the request still answers within
+     * its deadline.
+     */
+    private long waitMillis(Deadline deadline) {
+        return Math.min(wait.toMillis(), TimeUnit.NANOSECONDS.toMillis(deadline.remainingNanos()));
+    }
+
+    private CompletableFuture<Boolean> run(String key, String fingerprint, Supplier<CompletableFuture<Boolean>> verification) {
+        count("executed");
+        CompletableFuture<Boolean> result;
+        try {
+            result = verification.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.thenApply(verified -> {
+            responses.put(key, encode(fingerprint, verified));
+            return verified;
+        });
+    }
+
+    private CompletableFuture<Boolean> replay(String stored, String fingerprint, String outcome) {
+        if (!stored.equals(encode(fingerprint, true)) && !stored.equals(encode(fingerprint, false))) {
+            return rejected();
+        }
+        count(outcome);
+        return CompletableFuture.completedFuture(stored.endsWith(":1"));
+    }
+
+    private CompletableFuture<Boolean> rejected() {
+        count("rejected");
+        return CompletableFuture.failedFuture(ValidationError.IDEMPOTENCY_KEY_REUSED.exception());
+    }
+
+    /**
+     * The stored entry for the key; a cache that cannot be read counts as empty.
+     */
+    private CompletableFuture<String> stored(String key) {
+        CompletableFuture<?> lookup;
+        try {
+            lookup = responses.retrieve(key);
+        } catch (RuntimeException e) {
+            lookup = CompletableFuture.failedFuture(e);
+        }
+        if (lookup == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return lookup.handle((found, e) -> {
+            if (e != null) {
+                logger.warn("Idempotent response lookup failed, verifying again: {}", e.getMessage());
+                return null;
+            }
+            Object value = found instanceof Cache.ValueWrapper wrapper ? wrapper.get() : found;
+            return value instanceof String stored ? stored : null;
+        });
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("verification.idempotency.requests", "result", result).increment();
+    }
+
+    /**
+     * Stored entries are the request fingerprint and the result, as {@code <fingerprint>:<0|1>}, which the
+     * compact cache format keeps as a short string.
+     */
+    private static String encode(String fingerprint, boolean verified) {
+        return fingerprint + (verified ? ":1" : ":0");
+    }
+
+    /**
+     * SHA-256 of the request fields, so that neither the phone number nor its hash is kept in the cache.
+     */
+    String fingerprint(VerificationRequest request) {
+        return phoneNumberHasher.fieldsHashHex(request.getPhoneNumber(), request.getHashedPhoneNumber());
+    }
+
+    private record Execution(String fingerprint, CompletableFuture<Boolean> result) {
+    }
+}
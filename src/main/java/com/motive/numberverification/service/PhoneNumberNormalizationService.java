@@ -0,0 +1,126 @@
+package com.motive.numberverification.service;
+
+import com.motive.numberverification.api.model.PhoneNumberNormalizationResult;
+import com.motive.numberverification.common.util.PhoneNumberUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bulk normalization and validation of phone numbers.
+ *
+ * <p>Input arrives in chunks of {@link #chunkSize()} numbers; each chunk is split recursively across a
+ * dedicated fork-join pool, so bulk requests do not compete with the common pool that verification
+ * futures complete on. Invalid numbers yield an error result rather than an exception.
+ */
+@Service
+public class PhoneNumberNormalizationService {
+
+    /** Numbers normalized sequentially by one fork-join task before it stops splitting. */
+    private static final int SPLIT_THRESHOLD = 256;
+
+    private final PhoneNumberUtils phoneNumberUtils;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param parallelism Worker threads of the normalization pool; 0 for one per available processor
+     */
+    public PhoneNumberNormalizationService(
+            PhoneNumberUtils phoneNumberUtils,
+            MeterRegistry meterRegistry,
+            @Value("${verification.normalization.parallelism:0}") int parallelism,
+            @Value("${verification.normalization.chunk-size:4096}") int chunkSize) {
+        this.phoneNumberUtils = phoneNumberUtils;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.pool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                forkJoinPool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                    thread.setName("phone-normalization-" + thread.getPoolIndex());
+                    return thread;
+                },
+                null, false);
+    }
+
+    /**
+     * Numbers handed to {@link #normalize(List, long)} at a time by bulk endpoints.
+     */
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Normalize a chunk of phone numbers in parallel. Null and unparseable numbers are invalid.
+     *
+     * @param firstIndex Position of the chunk's first number in the whole input
+     * @return Results in input order
+     */
+    public CompletableFuture<List<PhoneNumberNormalizationResult>> normalize(List<String> phoneNumbers,
+                                                                             long firstIndex) {
+        return CompletableFuture.supplyAsync(() -> {
+            PhoneNumberNormalizationResult[] results = new PhoneNumberNormalizationResult[phoneNumbers.size()];
+            new NormalizeTask(phoneNumbers, firstIndex, results, 0, results.length).invoke();
+
+            int valid = 0;
+            for (PhoneNumberNormalizationResult result : results) {
+                if (result.isValid()) {
+                    valid++;
+                }
+            }
+            meterRegistry.counter("phone_number.normalization.items", "result", "valid").increment(valid);
+            meterRegistry.counter("phone_number.normalization.items", "result", "invalid")
+                    .increment(results.length - valid);
+            return Arrays.asList(results);
+        }, pool);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private final class NormalizeTask extends RecursiveAction {
+
+        private final List<String> phoneNumbers;
+        private final long firstIndex;
+        private final PhoneNumberNormalizationResult[] results;
+        private final int from;
+        private final int to;
+
+        NormalizeTask(List<String> phoneNumbers, long firstIndex, PhoneNumberNormalizationResult[] results,
+                      int from, int to) {
+            this.phoneNumbers = phoneNumbers;
+            this.firstIndex = firstIndex;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    String normalized = phoneNumberUtils.normalizeOrNull(phoneNumbers.get(i));
+                    results[i] = normalized != null
+                            ? PhoneNumberNormalizationResult.valid(firstIndex + i, normalized)
+                            : PhoneNumberNormalizationResult.invalid(firstIndex + i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new NormalizeTask(phoneNumbers, firstIndex, results, from, middle),
+                    new NormalizeTask(phoneNumbers, firstIndex, results, middle, to));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.motive.numberverification.service;
+
+import com.motive.numberverification.api.model.BatchVerificationResult;
+import com.motive.numberverification.api.model.VerificationRequest;
+import com.motive.numberverification.common.deadline.Deadline;
+import com.motive.numberverification.common.deadline.DeadlineHolder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Reactive facade over {@link VerificationService} for the WebFlux stack.
+ * Provider calls are subscribed lazily and cancelled if the subscriber goes away.
+ */
+@Service
+public class ReactiveVerificationService {
+
+    private final VerificationService verificationService;
+    private final IdempotentVerificationService idempotentVerificationService;
+    private final BatchVerificationService batchVerificationService;
+    
+    public ReactiveVerificationService(VerificationService verificationService,
+                                       IdempotentVerificationService idempotentVerificationService,
+                                       BatchVerificationService batchVerificationService) {
+        this.verificationService = verificationService;
+        this.idempotentVerificationService = idempotentVerificationService;
+        this.batchVerificationService = batchVerificationService;
+    }
+    
+    /**
+     * Verify if the provided phone number matches the user's device.
+     */
+    public Mono<Boolean> verifyPhoneNumber(VerificationRequest request) {
+        return Mono.deferContextual(context -> caller().flatMap(caller ->
+                Mono.fromFuture(() -> verificationService.verifyPhoneNumberAsync(request, caller, deadline(context)))));
+    }
+    
+    /**
+     * Verify under an {@code Idempotency-Key}, replaying the result stored for the key if there is one.
+     */
+    public Mono<Boolean> verifyPhoneNumber(VerificationRequest request, String idempotencyKey) {
+        return Mono.deferContextual(context -> caller().flatMap(caller ->
+                Mono.fromFuture(() -> idempotentVerificationService.verifyPhoneNumberAsync(
+                        idempotencyKey, request, caller, deadline(context)))));
+    }
+    
+    /**
+     * Verify the items of a batch, at most {@link BatchVerificationService#maxConcurrency()} at a time,
+     * emitting results as they complete. Items are requested from the source only as others finish. An
+     * error from the source is delayed until the items already dispatched have completed.
+     *
+     * @param clientKey Rate limiting key of the client, charged one token per item
+     */
+    public Flux<BatchVerificationResult> verifyBatch(Flux<VerificationRequest> items, String clientKey) {
+        int maxConcurrency = batchVerificationService.maxConcurrency();
+        return caller().flatMapMany(caller -> items.index()
+                .flatMapDelayError(item -> Mono.fromFuture(() ->
+                                batchVerificationService.verifyItem(item.getT1(), item.getT2(), clientKey, caller)),
+                        maxConcurrency, maxConcurrency));
+    }
+    
+    /**
+     * Retrieve the phone number from the user's device; empty if no provider could supply it.
+     */
+    public Mono<String> getDevicePhoneNumber() {
+        return Mono.deferContextual(context -> caller().flatMap(caller ->
+                Mono.fromFuture(() -> verificationService.getDevicePhoneNumberAsync(caller, deadline(context)))));
+    }
+    
+    /**
+     * The caller's identity lives in the Reactor context rather than a thread-local on this stack.
+     */
+    private static Mono<String> caller() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(Authentication::getName)
+                .defaultIfEmpty(VerificationService.ANONYMOUS_CALLER);
+    }
+    
+    /**
+     * Request deadline published by the deadline filter, unbounded if there is none.
+     */
+    private static Deadline deadline(ContextView context) {
+        return context.getOrDefault(DeadlineHolder.CONTEXT_KEY, Deadline.none());
+    }
+}
@@ -0,0 +1,52 @@
+package com.motive.numberverification.service;
+
+import com.motive.numberverification.api.model.VerificationRequest;
+
+/**
+ * Execution plan for a verification request, deciding which provider lookups are needed.
+ * A plain number is verified by the provider directly; only a hashed number needs the device number.
+ */
+enum VerificationPlan {
+    
+    PLAIN_NUMBER("plain", true, false),
+    HASHED_NUMBER("hashed", false, true),
+    NO_INPUT("none", false, false);
+    
+    private final String path;
+    private final boolean providerVerification;
+    private final boolean deviceNumberLookup;
+    
+    VerificationPlan(String path, boolean providerVerification, boolean deviceNumberLookup) {
+        this.path = path;
+        this.providerVerification = providerVerification;
+        this.deviceNumberLookup = deviceNumberLookup;
+    }
+    
+    /**
+     * Pick the plan for a request. A plain number takes precedence over a hashed one.
+     */
+    static VerificationPlan of(VerificationRequest request) {
+        if (request.getPhoneNumber() != null && !request.getPhoneNumber().isEmpty()) {
+            return PLAIN_NUMBER;
+        }
+        if (request.getHashedPhoneNumber() != null && !request.getHashedPhoneNumber().isEmpty()) {
+            return HASHED_NUMBER;
+        }
+        return NO_INPUT;
+    }
+    
+    /**
+     * Metric tag value identifying this path.
+     */
+    String path() {
+        return path;
+    }
+    
+    boolean needsProviderVerification() {
+        return providerVerification;
+    }
+    
+    boolean needsDeviceNumber() {
+        return deviceNumberLookup;
+    }
+}
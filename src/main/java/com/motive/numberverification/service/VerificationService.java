@@ -2,24 +2,61 @@ package com.motive.numberverification.service;
 
 import com.motive.numberverification.api.model.VerificationRequest;
 import com.motive.numberverification.api.model.VerificationStatus;
+import com.motive.numberverification.common.cache.StampedeProtectedCache;
+import com.motive.numberverification.common.cache.StampedeProtection;
+import com.motive.numberverification.common.deadline.Deadline;
+import com.motive.numberverification.common.deadline.DeadlineHolder;
+import com.motive.numberverification.common.deadline.RequestDeadlines;
+import com.motive.numberverification.common.exception.ValidationError;
+import com.motive.numberverification.common.util.PhoneNumberUtils;
+import com.motive.numberverification.config.CacheConfig;
 import com.motive.numberverification.integration.TelecomProviderClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Verification workflow. Provider answers are cached per caller in the two-tier
+ * {@value CacheConfig#VERIFICATION_RESULTS} and {@value CacheConfig#DEVICE_PHONE_NUMBERS} caches;
+ * only definitive answers are cached. Verification results and shared provider lookups are keyed by the
+ * normalized number, so spellings of one number share them. The caches are stampede protected: concurrent misses
+ * share one provider call, and an expiring entry is refreshed by one provider call rather than by every request
+ * that finds it missing.
+ */
 @Service
 public class VerificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(VerificationService.class);
     
+    static final String ANONYMOUS_CALLER = "anonymous";
+    
     private final TelecomProviderClient telecomProviderClient;
+    private final MeterRegistry meterRegistry;
+    private final RequestDeadlines requestDeadlines;
+    private final StampedeProtectedCache verificationResults;
+    private final StampedeProtectedCache devicePhoneNumbers;
+    private final DeviceNumberDigests deviceNumberDigests;
+    private final PhoneNumberUtils phoneNumberUtils;
     
-    public VerificationService(TelecomProviderClient telecomProviderClient) {
+    public VerificationService(TelecomProviderClient telecomProviderClient, MeterRegistry meterRegistry,
+                               RequestDeadlines requestDeadlines, CacheManager cacheManager,
+                               StampedeProtection stampedeProtection, DeviceNumberDigests deviceNumberDigests,
+                               PhoneNumberUtils phoneNumberUtils) {
         this.telecomProviderClient = telecomProviderClient;
+        this.deviceNumberDigests = deviceNumberDigests;
+        this.phoneNumberUtils = phoneNumberUtils;
+        this.meterRegistry = meterRegistry;
+        this.requestDeadlines = requestDeadlines;
+        this.verificationResults = stampedeProtection.protect(
+                cacheManager.getCache(CacheConfig.VERIFICATION_RESULTS), CacheConfig.VERIFICATION_RESULTS_TTL);
+        this.devicePhoneNumbers = stampedeProtection.protect(
+                cacheManager.getCache(CacheConfig.DEVICE_PHONE_NUMBERS), CacheConfig.DEVICE_PHONE_NUMBERS_TTL);
     }
     
     /**
@@ -28,33 +65,173 @@ public class VerificationService {
     public boolean verifyPhoneNumber(VerificationRequest request) {
         logger.info("Processing verification request");
         
+        VerificationPlan plan = planFor(request);
+        
+        String caller = currentCaller();
         try {
-            // Get the device phone number from telecom provider
-            String devicePhoneNumber = telecomProviderClient.getDevicePhoneNumber();
-            
-            // If the request contains a plain phone number
-            if (request.getPhoneNumber() != null && !request.getPhoneNumber().isEmpty()) {
-                // Verify with the telecom provider
-                VerificationStatus status = telecomProviderClient.verifyPhoneNumber(request.getPhoneNumber());
-                return status == VerificationStatus.MATCH;
-            }
-            
-            // If the request contains a hashed phone number
-            if (request.getHashedPhoneNumber() != null && !request.getHashedPhoneNumber().isEmpty()) {
-                String hashedDeviceNumber = hashPhoneNumber(devicePhoneNumber);
-                return hashedDeviceNumber.equals(request.getHashedPhoneNumber());
-            }
-            
-            // No valid input provided
-            logger.warn("No valid phone number provided in the request");
-            return false;
+            // Only the lookups the plan needs are made
+            VerificationStatus status = plan.needsProviderVerification()
+                    ? verifyWithProvider(plan, caller, request.getPhoneNumber())
+                    : null;
+            String devicePhoneNumber = plan.needsDeviceNumber()
+                    ? fetchDevicePhoneNumber(plan, caller)
+                    : null;
             
+            return evaluate(plan, request, caller, status, devicePhoneNumber, false);
         } catch (Exception e) {
             logger.error("Error during verification: {}", e.getMessage(), e);
             return false;
         }
     }
     
+    /**
+     * Verify if the provided phone number matches the user's device without blocking the caller.
+     * Lookups required by the plan are started together, so they run concurrently.
+     */
+    public CompletableFuture<Boolean> verifyPhoneNumberAsync(VerificationRequest request) {
+        return verifyPhoneNumberAsync(request, currentCaller(), DeadlineHolder.getDeadline());
+    }
+    
+    /**
+     * Verify on behalf of the given caller within the request deadline. Identical lookups already in
+     * flight for the same caller are shared by the cache rather than sent to the provider again; a shared
+     * lookup runs under the deadline of the request that started it, and a background refresh under one of
+     * its own.
+     */
+    public CompletableFuture<Boolean> verifyPhoneNumberAsync(VerificationRequest request, String caller,
+                                                             Deadline deadline) {
+        return verify(request, caller, deadline, false)
+                .exceptionally(e -> {
+                    logger.error("Error during verification: {}", e.getMessage(), e);
+                    return false;
+                });
+    }
+    
+    /**
+     * Verify like {@link #verifyPhoneNumberAsync(VerificationRequest, String, Deadline)}, but without
+     * counting a failure as not verified: the returned future fails with the provider's exception if a
+     * lookup fails, and with {@link ValidationError#VERIFICATION_UNAVAILABLE}'s if the provider gives no
+     * definitive answer. For callers that store or report the result, where a failure must stay distinct
+     * from a number that does not match.
+     */
+    public CompletableFuture<Boolean> verifyPhoneNumberDefinitiveAsync(VerificationRequest request, String caller,
+                                                                       Deadline deadline) {
+        return verify(request, caller, deadline, true);
+    }
+    
+    private CompletableFuture<Boolean> verify(VerificationRequest request, String caller, Deadline deadline,
+                                              boolean definitive) {
+        logger.info("Processing verification request asynchronously");
+        
+        VerificationPlan plan = planFor(request);
+        
+        CompletableFuture<VerificationStatus> status = plan.needsProviderVerification()
+                ? verifyWithProviderAsync(plan, caller, request.getPhoneNumber(), deadline)
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<String> devicePhoneNumber = plan.needsDeviceNumber()
+                ? fetchDevicePhoneNumberAsync(plan, caller, deadline)
+                : CompletableFuture.completedFuture(null);
+        
+        return status.thenCombine(devicePhoneNumber,
+                (result, deviceNumber) -> evaluate(plan, request, caller, result, deviceNumber, definitive));
+    }
+    
+    private VerificationPlan planFor(VerificationRequest request) {
+        VerificationPlan plan = VerificationPlan.of(request);
+        meterRegistry.counter("verification.requests", "path", plan.path()).increment();
+        return plan;
+    }
+    
+    private VerificationStatus verifyWithProvider(VerificationPlan plan, String caller, String requested) {
+        String phoneNumber = phoneNumberUtils.normalizeOrKeep(requested);
+        return verificationResults.getBlocking(caller + ':' + phoneNumber, VerificationStatus.class, () -> {
+            countProviderCall(plan, "verify");
+            return telecomProviderClient.verifyPhoneNumber(phoneNumber);
+        }, VerificationService::isDefinitive);
+    }
+    
+    private CompletableFuture<VerificationStatus> verifyWithProviderAsync(VerificationPlan plan, String caller,
+                                                                          String requested, Deadline deadline) {
+        String phoneNumber = phoneNumberUtils.normalizeOrKeep(requested);
+        return verificationResults.get(caller + ':' + phoneNumber, VerificationStatus.class,
+                () -> providerVerification(plan, phoneNumber, deadline),
+                () -> providerVerification(plan, phoneNumber, refreshDeadline()),
+                VerificationService::isDefinitive);
+    }
+    
+    private CompletableFuture<VerificationStatus> providerVerification(VerificationPlan plan, String phoneNumber,
+                                                                       Deadline deadline) {
+        countProviderCall(plan, "verify");
+        return telecomProviderClient.verifyPhoneNumberAsync(phoneNumber, deadline);
+    }
+    
+    private String fetchDevicePhoneNumber(VerificationPlan plan, String caller) {
+        return devicePhoneNumbers.getBlocking(caller, String.class, () -> {
+            countProviderCall(plan, "device_phone_number");
+            return telecomProviderClient.getDevicePhoneNumber();
+        }, phoneNumber -> true);
+    }
+    
+    private CompletableFuture<String> fetchDevicePhoneNumberAsync(VerificationPlan plan, String caller,
+                                                                  Deadline deadline) {
+        return devicePhoneNumbers.get(caller, String.class,
+                () -> providerDevicePhoneNumber(plan, deadline),
+                () -> providerDevicePhoneNumber(plan, refreshDeadline()),
+                phoneNumber -> true);
+    }
+    
+    private CompletableFuture<String> providerDevicePhoneNumber(VerificationPlan plan, Deadline deadline) {
+        countProviderCall(plan, "device_phone_number");
+        return telecomProviderClient.getDevicePhoneNumberAsync(deadline);
+    }
+    
+    /**
+     * Deadline of a background cache refresh. The request that triggered it has already been answered from
+     * the cache, so the refresh gets a budget of its own rather than what is left of that request's.
+     */
+    private Deadline refreshDeadline() {
+        return requestDeadlines.forRequest(null);
+    }
+    
+    private static boolean isDefinitive(VerificationStatus status) {
+        return status == VerificationStatus.MATCH || status == VerificationStatus.NO_MATCH;
+    }
+    
+    private void countProviderCall(VerificationPlan plan, String lookup) {
+        meterRegistry.counter("verification.provider.calls", "path", plan.path(), "lookup", lookup).increment();
+    }
+    
+    /**
+     * Decide the verification result from the lookups made for the plan. A hashed number matches
+     * the hash of any spelling of the caller's device number.
+     *
+     * @param definitive Whether a lookup without an answer fails the verification, rather than counting as
+     *                   not verified
+     */
+    private boolean evaluate(VerificationPlan plan, VerificationRequest request, String caller,
+                             VerificationStatus status, String devicePhoneNumber, boolean definitive) {
+        switch (plan) {
+            case PLAIN_NUMBER:
+                if (definitive && !isDefinitive(status)) {
+                    throw ValidationError.VERIFICATION_UNAVAILABLE.exception();
+                }
+                return status == VerificationStatus.MATCH;
+            case HASHED_NUMBER:
+                if (devicePhoneNumber == null) {
+                    if (definitive) {
+                        throw ValidationError.VERIFICATION_UNAVAILABLE.exception();
+                    }
+                    logger.warn("Device phone number unavailable, cannot verify hashed phone number");
+                    return false;
+                }
+                return deviceNumberDigests.matches(caller, devicePhoneNumber, request.getHashedPhoneNumber());
+            default:
+                // No valid input provided
+                logger.warn("No valid phone number provided in the request");
+                return false;
+        }
+    }
+    
     /**
      * Retrieve the phone number from the user's device.
      */
@@ -62,8 +239,9 @@ public class VerificationService {
         logger.info("Retrieving device phone number");
         
         try {
-            // Call the telecom provider to retrieve the device phone number
-            String phoneNumber = telecomProviderClient.getDevicePhoneNumber();
+            // Call the telecom provider to retrieve the device phone number, unless it is cached
+            String phoneNumber = devicePhoneNumbers.getBlocking(currentCaller(), String.class,
+                    telecomProviderClient::getDevicePhoneNumber, value -> true);
             
             logger.info("Device phone number retrieved successfully");
             
@@ -75,27 +253,36 @@ public class VerificationService {
     }
     
     /**
-     * Hash a phone number using SHA-256.
+     * Retrieve the phone number from the user's device without blocking the caller.
      */
-    private String hashPhoneNumber(String phoneNumber) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] encodedHash = digest.digest(phoneNumber.getBytes(StandardCharsets.UTF_8));
-            
-            // Convert to hex string
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : encodedHash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            logger.error("Error hashing phone number: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to hash phone number", e);
-        }
+    public CompletableFuture<String> getDevicePhoneNumberAsync() {
+        return getDevicePhoneNumberAsync(currentCaller(), DeadlineHolder.getDeadline());
+    }
+    
+    /**
+     * Retrieve the given caller's device phone number without blocking, within the request deadline.
+     */
+    public CompletableFuture<String> getDevicePhoneNumberAsync(String caller, Deadline deadline) {
+        logger.info("Retrieving device phone number asynchronously");
+        
+        return devicePhoneNumbers.get(caller, String.class,
+                        () -> telecomProviderClient.getDevicePhoneNumberAsync(deadline),
+                        () -> telecomProviderClient.getDevicePhoneNumberAsync(refreshDeadline()),
+                        phoneNumber -> true)
+                .whenComplete((phoneNumber, e) -> {
+                    if (e != null) {
+                        logger.error("Error retrieving device phone number: {}", e.getMessage(), e);
+                    } else {
+                        logger.info("Device phone number retrieved successfully");
+                    }
+                });
+    }
+    
+    /**
+     * Identity of the authenticated caller on the current thread, used to scope cached and shared lookups.
+     */
+    static String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : ANONYMOUS_CALLER;
     }
 }
\ No newline at end of file
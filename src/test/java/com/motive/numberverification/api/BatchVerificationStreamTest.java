@@ -0,0 +1,243 @@
+package com.motive.numberverification.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.motive.numberverification.api.model.BatchVerificationResult;
+import com.motive.numberverification.api.model.VerificationRequest;
+import com.motive.numberverification.api.model.VerificationStatus;
+import com.motive.numberverification.common.cache.CacheLock;
+import com.motive.numberverification.common.cache.StampedeProtection;
+import com.motive.numberverification.common.deadline.Deadline;
+import com.motive.numberverification.common.deadline.RequestDeadlines;
+import com.motive.numberverification.common.util.PhoneNumberHasher;
+import com.motive.numberverification.common.util.PhoneNumberUtils;
+import com.motive.numberverification.integration.TelecomProviderClient;
+import com.motive.numberverification.security.RateLimiter;
+import com.motive.numberverification.service.BatchVerificationService;
+import com.motive.numberverification.service.DeviceNumberDigests;
+import com.motive.numberverification.service.VerificationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class BatchVerificationStreamTest {
+
+    private static final int MAX_CONCURRENCY = 4;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private VerificationService verificationService;
+
+    @BeforeEach
+    public void setup() {
+        verificationService = mock(VerificationService.class);
+        // Numbers ending in an even digit match; each verification completes a little later on another thread
+        when(verificationService.verifyPhoneNumberDefinitiveAsync(any(VerificationRequest.class), anyString(), any(Deadline.class)))
+                .thenAnswer(invocation -> {
+                    VerificationRequest request = invocation.getArgument(0);
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return CompletableFuture.supplyAsync(() -> {
+                        inFlight.decrementAndGet();
+                        String number = request.getPhoneNumber();
+                        return (number.charAt(number.length() - 1) - '0') % 2 == 0;
+                    }, CompletableFuture.delayedExecutor(1, TimeUnit.MILLISECONDS));
+                });
+    }
+
+    @Test
+    public void ndjsonBody_everyItemAnsweredWithinConcurrencyLimit() throws Exception {
+        // Given
+        BatchVerificationStream stream = stream(1_000);
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            body.append("{\"phoneNumber\":\"+1415555").append(String.format("%04d", i)).append("\"}\n");
+        }
+
+        // When
+        List<BatchVerificationResult> results = run(stream, body.toString());
+
+        // Then
+        assertThat(results).hasSize(200);
+        assertThat(results).extracting(BatchVerificationResult::getIndex)
+                .containsExactlyInAnyOrderElementsOf(range(200));
+        assertThat(results).allSatisfy(result ->
+                assertThat(result.getDevicePhoneNumberVerified()).isEqualTo(result.getIndex() % 2 == 0));
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(MAX_CONCURRENCY);
+    }
+
+    @Test
+    public void jsonArrayBody_itemsStreamedFromArray() throws Exception {
+        // Given
+        BatchVerificationStream stream = stream(1_000);
+
+        // When
+        List<BatchVerificationResult> results = run(stream,
+                "[{\"phoneNumber\":\"+14155550100\"}, {\"phoneNumber\":\"+14155550101\"}, {\"hashedPhoneNumber\":\"\"}]");
+
+        // Then
+        assertThat(results).extracting(BatchVerificationResult::getIndex).containsExactlyInAnyOrder(0L, 1L, 2L);
+        assertThat(result(results, 0).getDevicePhoneNumberVerified()).isTrue();
+        assertThat(result(results, 1).getDevicePhoneNumberVerified()).isFalse();
+    }
+
+    @Test
+    public void rateLimit_countedPerItem() throws Exception {
+        // Given
+        BatchVerificationStream stream = stream(3);
+        String body = "{\"phoneNumber\":\"+14155550100\"}\n".repeat(5);
+
+        // When
+        List<BatchVerificationResult> results = run(stream, body);
+
+        // Then
+        assertThat(results).hasSize(5);
+        assertThat(results).filteredOn(result -> result.getDevicePhoneNumberVerified() != null).hasSize(3);
+        assertThat(results).filteredOn(result -> "RATE_LIMIT_EXCEEDED".equals(result.getErrorCode())).hasSize(2);
+    }
+
+    @Test
+    public void invalidAndMalformedItems_reportedWithTheirIndex() throws Exception {
+        // Given
+        BatchVerificationStream stream = stream(1_000);
+        String body = "{\"phoneNumber\":\"+14155550100\"}\n"
+                + "{\"phoneNumber\":\"not-a-number\"}\n"
+                + "{\"phoneNumber\":";
+
+        // When
+        List<BatchVerificationResult> results = run(stream, body);
+
+        // Then
+        assertThat(results).hasSize(3);
+        assertThat(result(results, 0).getDevicePhoneNumberVerified()).isTrue();
+        assertThat(result(results, 1).getErrorCode()).isEqualTo("VALIDATION_ERROR");
+        assertThat(result(results, 1).getMessage()).startsWith("phoneNumber:");
+        assertThat(result(results, 2).getErrorCode()).isEqualTo("VALIDATION_ERROR");
+        assertThat(result(results, 2).getMessage()).startsWith("Malformed batch item");
+    }
+
+    @Test
+    public void failingProvider_itemsReportedAsErrorsRatherThanNotVerified() throws Exception {
+        // Given: the real verification workflow over a provider that fails, cannot answer, or matches
+        TelecomProviderClient telecomProviderClient = mock(TelecomProviderClient.class);
+        when(telecomProviderClient.verifyPhoneNumberAsync(eq("+14155550100"), any(Deadline.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("provider down")));
+        when(telecomProviderClient.verifyPhoneNumberAsync(eq("+14155550101"), any(Deadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(VerificationStatus.INDETERMINATE));
+        when(telecomProviderClient.verifyPhoneNumberAsync(eq("+14155550102"), any(Deadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(VerificationStatus.MATCH));
+        verificationService = verificationService(telecomProviderClient);
+        BatchVerificationStream stream = stream(1_000);
+
+        // When
+        List<BatchVerificationResult> results = run(stream, "{\"phoneNumber\":\"+14155550100\"}\n"
+                + "{\"phoneNumber\":\"+14155550101\"}\n"
+                + "{\"phoneNumber\":\"+14155550102\"}\n");
+
+        // Then
+        assertThat(results).hasSize(3);
+        assertThat(result(results, 0).getDevicePhoneNumberVerified()).isNull();
+        assertThat(result(results, 0).getErrorCode()).isEqualTo("INTERNAL_SERVER_ERROR");
+        assertThat(result(results, 1).getDevicePhoneNumberVerified()).isNull();
+        assertThat(result(results, 1).getErrorCode()).isEqualTo("SERVICE_UNAVAILABLE");
+        assertThat(result(results, 2).getDevicePhoneNumberVerified()).isTrue();
+    }
+
+    @Test
+    public void largeBatch_readIncrementally() throws Exception {
+        // Given: the body is generated as it is read, never held whole
+        BatchVerificationStream stream = stream(100_000);
+        int items = 20_000;
+        Enumeration<InputStream> lines = new Enumeration<>() {
+            private int next;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next < items;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                String line = "{\"phoneNumber\":\"+1415555" + String.format("%04d", next++ % 10_000) + "\"}\n";
+                return new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long read = stream.process(new SequenceInputStream(lines), out, "ip:127.0.0.1");
+
+        // Then
+        assertThat(read).isEqualTo(items);
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).hasSize(items);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(MAX_CONCURRENCY);
+    }
+
+    private BatchVerificationStream stream(int requestsPerMinute) {
+        BatchVerificationService batchVerificationService = new BatchVerificationService(verificationService,
+                new RateLimiter(requestsPerMinute),
+                new RequestDeadlines(true, Duration.ofSeconds(3), Duration.ofSeconds(5), 0.6, new SimpleMeterRegistry()),
+                new SimpleMeterRegistry(),
+                MAX_CONCURRENCY);
+        return new BatchVerificationStream(objectMapper, batchVerificationService);
+    }
+
+    private static VerificationService verificationService(TelecomProviderClient telecomProviderClient) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StampedeProtection stampedeProtection = new StampedeProtection(CacheLock.local(), 0.0, Duration.ofMinutes(1),
+                32, Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofMillis(250), registry);
+        DeviceNumberDigests deviceNumberDigests = new DeviceNumberDigests(new PhoneNumberHasher(),
+                DataSize.ofMegabytes(1), Duration.ofMinutes(30), false, registry);
+        return new VerificationService(telecomProviderClient, registry,
+                new RequestDeadlines(true, Duration.ofSeconds(3), Duration.ofSeconds(5), 0.6, registry),
+                new ConcurrentMapCacheManager(), stampedeProtection, deviceNumberDigests, new PhoneNumberUtils());
+    }
+
+    private List<BatchVerificationResult> run(BatchVerificationStream stream, String body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stream.process(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out, "ip:127.0.0.1");
+        List<BatchVerificationResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                results.add(objectMapper.readValue(line, BatchVerificationResult.class));
+            }
+        }
+        return results;
+    }
+
+    private static BatchVerificationResult result(List<BatchVerificationResult> results, long index) {
+        return results.stream().filter(result -> result.getIndex() == index).findFirst().orElseThrow();
+    }
+
+    private static List<Long> range(int size) {
+        List<Long> indexes = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            indexes.add(i);
+        }
+        return Collections.unmodifiableList(indexes);
+    }
+}
@@ -0,0 +1,118 @@
+package com.motive.numberverification.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.motive.numberverification.api.model.PhoneNumberNormalizationResult;
+import com.motive.numberverification.common.util.PhoneNumberUtils;
+import com.motive.numberverification.service.PhoneNumberNormalizationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class BulkNormalizationStreamTest {
+
+    private static final int CHUNK_SIZE = 3;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PhoneNumberNormalizationService normalizationService;
+    private BulkNormalizationStream stream;
+
+    @BeforeEach
+    public void setup() {
+        normalizationService = new PhoneNumberNormalizationService(new PhoneNumberUtils(0), meterRegistry, 2, CHUNK_SIZE);
+        stream = new BulkNormalizationStream(objectMapper, normalizationService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        normalizationService.shutdown();
+    }
+
+    @Test
+    public void jsonArrayBody_numbersNormalizedInOrder() throws Exception {
+        // When
+        List<PhoneNumberNormalizationResult> results = run("[\"+14155550100\", \"+442079460958\", \"+4402079460958\"]");
+
+        // Then
+        assertThat(results).extracting(PhoneNumberNormalizationResult::getIndex).containsExactly(0L, 1L, 2L);
+        assertThat(results).extracting(PhoneNumberNormalizationResult::getPhoneNumber)
+                .containsExactly("+14155550100", "+442079460958", "+442079460958");
+        assertThat(results).allSatisfy(result -> assertThat(result.isValid()).isTrue());
+    }
+
+    @Test
+    public void invalidItems_reportedWithoutFailingTheRequest() throws Exception {
+        // Given: NDJSON, including values that are not phone numbers; a JSON number is read as its digits
+        String body = "\"+14155550100\"\n\"not-a-number\"\nnull\n{\"phoneNumber\":\"+14155550100\"}\n[1]\n4155550101\n";
+
+        // When
+        List<PhoneNumberNormalizationResult> results = run(body);
+
+        // Then
+        assertThat(results).extracting(PhoneNumberNormalizationResult::isValid)
+                .containsExactly(true, false, false, false, false, true);
+        assertThat(results.get(1).getErrorCode()).isEqualTo(PhoneNumberNormalizationResult.INVALID_PHONE_NUMBER);
+        assertThat(results.get(1).getPhoneNumber()).isNull();
+        assertThat(results.get(5).getPhoneNumber()).isEqualTo("+14155550101");
+        assertThat(meterRegistry.counter("phone_number.normalization.items", "result", "invalid").count()).isEqualTo(4);
+    }
+
+    @Test
+    public void malformedBody_endsWithErrorLine() throws Exception {
+        // When
+        List<PhoneNumberNormalizationResult> results = run("[\"+14155550100\", \"+14155550101\", \"+1415");
+
+        // Then
+        assertThat(results).hasSize(3);
+        assertThat(results.get(1).getPhoneNumber()).isEqualTo("+14155550101");
+        assertThat(results.get(2).getIndex()).isEqualTo(2);
+        assertThat(results.get(2).getErrorCode()).isEqualTo("VALIDATION_ERROR");
+        assertThat(results.get(2).getMessage()).startsWith("Malformed phone number list");
+    }
+
+    @Test
+    public void largeInput_splitAcrossChunksInOrder() throws Exception {
+        // Given
+        int items = 10_000;
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < items; i++) {
+            body.append(i == 0 ? "" : ",").append(i % 7 == 0 ? "\"invalid\"" : "\"+1415555" + String.format("%04d", i) + "\"");
+        }
+        body.append(']');
+        normalizationService = new PhoneNumberNormalizationService(new PhoneNumberUtils(0), meterRegistry, 4, 1_000);
+        stream = new BulkNormalizationStream(objectMapper, normalizationService);
+
+        // When
+        List<PhoneNumberNormalizationResult> results = run(body.toString());
+
+        // Then
+        assertThat(results).hasSize(items);
+        for (int i = 0; i < items; i++) {
+            assertThat(results.get(i).getIndex()).isEqualTo(i);
+            assertThat(results.get(i).isValid()).isEqualTo(i % 7 != 0);
+        }
+    }
+
+    private List<PhoneNumberNormalizationResult> run(String body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stream.process(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        List<PhoneNumberNormalizationResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                results.add(objectMapper.readValue(line, PhoneNumberNormalizationResult.class));
+            }
+        }
+        return results;
+    }
+}
@@ -2,26 +2,27 @@ package com.motive.numberverification.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
-import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
-import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.test.context.ActiveProfiles;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
@@ -29,28 +30,24 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.motive.numberverification.api.model.DevicePhoneNumberResponse;
 import com.motive.numberverification.api.model.VerificationRequest;
 import com.motive.numberverification.api.model.VerificationResponse;
+import com.motive.numberverification.common.deadline.DeadlineFilter;
+import com.motive.numberverification.security.AuthenticationFilter;
+import com.motive.numberverification.security.RateLimitingFilter;
+import com.motive.numberverification.service.BatchVerificationService;
+import com.motive.numberverification.service.IdempotentVerificationService;
+import com.motive.numberverification.service.PhoneNumberNormalizationService;
 import com.motive.numberverification.service.VerificationService;
 
-@SpringBootTest
-@AutoConfigureMockMvc
-@ActiveProfiles("test")
+/**
+ * Web slice around the controller: the request filters (authentication, rate limiting, deadlines) are
+ * left out, and the services behind the controller are mocked.
+ */
+@WebMvcTest(controllers = VerificationController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = {AuthenticationFilter.class, RateLimitingFilter.class, DeadlineFilter.class}))
+@AutoConfigureMockMvc(addFilters = false)
 public class VerificationControllerTest {
 
-    @Configuration
-    @EnableWebSecurity
-    @Profile("test")
-    static class TestSecurityConfig {
-        @Bean
-        @Primary
-        public SecurityFilterChain testSecurityFilterChain(HttpSecurity http) throws Exception {
-            http
-                .csrf(csrf -> csrf.disable())
-                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
-            
-            return http.build();
-        }
-    }
-
     @Autowired
     private MockMvc mockMvc;
 
@@ -60,10 +57,24 @@ public class VerificationControllerTest {
     @MockBean
     private VerificationService verificationService;
 
+    @MockBean
+    private IdempotentVerificationService idempotentVerificationService;
+
+    @MockBean
+    private BatchVerificationService batchVerificationService;
+
+    @MockBean
+    private PhoneNumberNormalizationService phoneNumberNormalizationService;
+
+    @MockBean(name = "verificationExecutor")
+    private ThreadPoolTaskExecutor verificationExecutor;
+
     @BeforeEach
     public void setup() {
-        when(verificationService.verifyPhoneNumber(any(VerificationRequest.class))).thenReturn(true);
-        when(verificationService.getDevicePhoneNumber()).thenReturn("+1234567890");
+        when(verificationService.verifyPhoneNumberAsync(any(VerificationRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(verificationService.getDevicePhoneNumberAsync())
+                .thenReturn(CompletableFuture.completedFuture("+1234567890"));
     }
 
     @Test
@@ -73,9 +84,12 @@ public class VerificationControllerTest {
         request.setPhoneNumber("+1234567890");
 
         // When
-        MvcResult result = mockMvc.perform(post("/verify")
+        MvcResult asyncResult = mockMvc.perform(post("/verify")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -90,7 +104,10 @@ public class VerificationControllerTest {
     @Test
     public void getDevicePhoneNumber_shouldReturnPhoneNumber() throws Exception {
         // When
-        MvcResult result = mockMvc.perform(get("/device-phone-number"))
+        MvcResult asyncResult = mockMvc.perform(get("/device-phone-number"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -114,4 +131,52 @@ public class VerificationControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void verifyPhoneNumber_releasesRequestThreadWhileProviderCallIsPending() throws Exception {
+        // Given
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        when(verificationService.verifyPhoneNumberAsync(any(VerificationRequest.class))).thenReturn(pending);
+        VerificationRequest request = new VerificationRequest();
+        request.setPhoneNumber("+1234567890");
+
+        // When
+        MvcResult asyncResult = mockMvc.perform(post("/verify")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        assertThat(asyncResult.getResponse().getContentAsString()).isEmpty();
+        pending.complete(false);
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void verifyPhoneNumber_saturatedExecutor_stillAnswersWhenProviderCompletes() throws Exception {
+        // Given: the verification executor rejects all work, and the provider answers on a thread of its own
+        doThrow(new RejectedExecutionException("saturated")).when(verificationExecutor).execute(any(Runnable.class));
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        when(verificationService.verifyPhoneNumberAsync(any(VerificationRequest.class))).thenReturn(pending);
+        VerificationRequest request = new VerificationRequest();
+        request.setPhoneNumber("+1234567890");
+
+        // When
+        MvcResult asyncResult = mockMvc.perform(post("/verify")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        CompletableFuture.runAsync(() -> pending.complete(true)).join();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        VerificationResponse response = objectMapper.readValue(
+                result.getResponse().getContentAsString(), VerificationResponse.class);
+        assertThat(response.isDevicePhoneNumberVerified()).isTrue();
+    }
+}
@@ -0,0 +1,64 @@
+package com.motive.numberverification.api.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.motive.numberverification.common.exception.ApiException;
+import com.motive.numberverification.common.exception.ValidationError;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+public class VerificationRequestTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    public void validate_agreesWithBeanValidation() {
+        // Given
+        List<String> phoneNumbers = Arrays.asList(null, "", "+", "1", "+1", "12", "+12", "+0123456789", "0123456789",
+                "+14155550100", "14155550100", "+123456789012345", "+1234567890123456", "123456789012345",
+                "1234567890123456", "++14155550100", "+1415555010a", "+1 415 555 0100", "invalid-phone-number",
+                "+١٤١٥٥٥٥٠١٠٠", "+14155550100\n");
+
+        for (String phoneNumber : phoneNumbers) {
+            VerificationRequest request = new VerificationRequest();
+            request.setPhoneNumber(phoneNumber);
+
+            // When
+            ValidationError error = request.validate();
+
+            // Then
+            assertThat(error == null).as(String.valueOf(phoneNumber)).isEqualTo(validator.validate(request).isEmpty());
+            if (error != null) {
+                assertThat(error).isEqualTo(ValidationError.PHONE_NUMBER_FORMAT);
+            }
+        }
+    }
+
+    @Test
+    public void validate_hashedNumberOnly_isValid() {
+        // Given
+        VerificationRequest request = new VerificationRequest();
+        request.setHashedPhoneNumber("32f67ab4e4312618b09cd23ed8ce41b13e095fe52b73b2e8da8ef49830e50dba");
+
+        // When / Then
+        assertThat(request.validate()).isNull();
+    }
+
+    @Test
+    public void validationErrorException_isSharedAndStackless() {
+        // When
+        ApiException exception = ValidationError.PHONE_NUMBER_FORMAT.exception();
+
+        // Then
+        assertThat(exception).isSameAs(ValidationError.PHONE_NUMBER_FORMAT.exception());
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getErrorCode()).isEqualTo("VALIDATION_ERROR");
+        assertThat(exception.getMessage()).isEqualTo("phoneNumber: Phone number must be in E.164 format");
+    }
+}
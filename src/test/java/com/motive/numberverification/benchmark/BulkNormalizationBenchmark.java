@@ -0,0 +1,132 @@
+package com.motive.numberverification.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.PhoneNumberUtil.PhoneNumberFormat;
+import com.google.i18n.phonenumbers.PhoneNumberUtil.PhoneNumberType;
+import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
+import com.motive.numberverification.api.model.PhoneNumberNormalizationResult;
+import com.motive.numberverification.common.exception.ApiException;
+import com.motive.numberverification.common.util.PhoneNumberUtils;
+import com.motive.numberverification.service.PhoneNumberNormalizationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Measures bulk normalization throughput over a list of one million phone numbers.
+ *
+ * <p>The list cycles through the fixed-line and mobile example numbers of every region, with one number
+ * in ten a North American number too short to be valid. It is normalized three ways, with the normalization cache disabled so that every
+ * number is parsed: one number at a time through {@link PhoneNumberUtils#normalizePhoneNumber(String)},
+ * catching the {@link ApiException} thrown for each invalid number; then in chunks through
+ * {@link PhoneNumberNormalizationService}, on a fork-join pool of one thread and of one thread per
+ * available processor. JSON parsing and writing of the bulk endpoint are not included.
+ *
+ * <p>Run with: {@code java -cp <test-classpath> com.motive.numberverification.benchmark.BulkNormalizationBenchmark [numbers]}.
+ */
+public class BulkNormalizationBenchmark {
+
+    private static final int DEFAULT_NUMBERS = 1_000_000;
+    private static final int CHUNK_SIZE = 4096;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUMBERS;
+        String[] numbers = numbers(count);
+        int processors = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%d numbers, %d available processors%n", count, processors);
+
+        PhoneNumberUtils phoneNumberUtils = new PhoneNumberUtils(0);
+        for (int round = 0; round < ROUNDS; round++) {
+            report("per number", perNumber(phoneNumberUtils, numbers), count);
+            report("bulk, 1 thread", bulk(phoneNumberUtils, numbers, 1), count);
+            report("bulk, " + processors + " CPUs", bulk(phoneNumberUtils, numbers, processors), count);
+        }
+    }
+
+    /**
+     * Normalize each number in turn, as a caller of the single-number API would.
+     */
+    private static long perNumber(PhoneNumberUtils phoneNumberUtils, String[] numbers) {
+        int invalid = 0;
+        long start = System.nanoTime();
+        for (String number : numbers) {
+            try {
+                phoneNumberUtils.normalizePhoneNumber(number);
+            } catch (ApiException e) {
+                invalid++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        check(invalid, numbers.length);
+        return elapsed;
+    }
+
+    /**
+     * Normalize the numbers in chunks on the fork-join pool, holding two chunks at a time like the bulk
+     * endpoint's stream.
+     */
+    private static long bulk(PhoneNumberUtils phoneNumberUtils, String[] numbers, int parallelism) {
+        PhoneNumberNormalizationService service =
+                new PhoneNumberNormalizationService(phoneNumberUtils, new SimpleMeterRegistry(), parallelism, CHUNK_SIZE);
+        try {
+            int invalid = 0;
+            long start = System.nanoTime();
+            CompletableFuture<List<PhoneNumberNormalizationResult>> pending = null;
+            for (int from = 0; from < numbers.length; from += CHUNK_SIZE) {
+                List<String> chunk = Arrays.asList(numbers).subList(from, Math.min(from + CHUNK_SIZE, numbers.length));
+                CompletableFuture<List<PhoneNumberNormalizationResult>> next = service.normalize(chunk, from);
+                invalid += pending == null ? 0 : invalid(pending.join());
+                pending = next;
+            }
+            invalid += invalid(pending.join());
+            long elapsed = System.nanoTime() - start;
+            check(invalid, numbers.length);
+            return elapsed;
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static int invalid(List<PhoneNumberNormalizationResult> results) {
+        int invalid = 0;
+        for (PhoneNumberNormalizationResult result : results) {
+            if (!result.isValid()) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    private static void check(int invalid, int count) {
+        if (invalid != count / 10 + (count % 10 == 0 ? 0 : 1)) {
+            throw new IllegalStateException("Unexpected invalid count " + invalid);
+        }
+    }
+
+    private static void report(String mode, long elapsedNanos, int count) {
+        System.out.printf("%-16s: %6d ms, %9.0f numbers/s%n", mode, elapsedNanos / 1_000_000, count / (elapsedNanos / 1e9));
+    }
+
+    private static String[] numbers(int count) {
+        PhoneNumberUtil phoneNumberUtil = PhoneNumberUtil.getInstance();
+        List<String> examples = new ArrayList<>();
+        for (String region : phoneNumberUtil.getSupportedRegions()) {
+            for (PhoneNumberType type : new PhoneNumberType[] {PhoneNumberType.FIXED_LINE, PhoneNumberType.MOBILE}) {
+                PhoneNumber example = phoneNumberUtil.getExampleNumberForType(region, type);
+                if (example != null && phoneNumberUtil.isValidNumber(example)) {
+                    examples.add(phoneNumberUtil.format(example, PhoneNumberFormat.E164));
+                }
+            }
+        }
+        String[] numbers = new String[count];
+        for (int i = 0; i < count; i++) {
+            numbers[i] = i % 10 == 0 ? "+1415" + String.format("%05d", i % 100_000) : examples.get(i % examples.size());
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,77 @@
+package com.motive.numberverification.benchmark;
+
+import java.util.List;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+import com.motive.numberverification.common.cache.CachedValue;
+import com.motive.numberverification.common.cache.CompactCacheValueSerializer;
+
+/**
+ * Compares the compact binary cache format with the JSON serializer it replaced for the provider result
+ * caches: bytes stored per entry, and serialization and deserialization time.
+ *
+ * <p>Each value is serialized and deserialized in a warm-up phase, then timed over the same number of
+ * iterations; the reported time is the mean per operation.
+ *
+ * <p>Run with: {@code java -cp <test-classpath> com.motive.numberverification.benchmark.CacheSerializationBenchmark [iterations]}.
+ */
+public class CacheSerializationBenchmark {
+
+    private static final int DEFAULT_ITERATIONS = 500_000;
+
+    private static final List<Object> VALUES = List.of(
+            new CachedValue(VerificationStatus.MATCH, 1_760_000_000_000L, 420),
+            new CachedValue("+14155550123", 1_760_000_000_000L, 380),
+            VerificationStatus.NO_MATCH,
+            "+447700900123");
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+        RedisSerializer<Object> json = new GenericJackson2JsonRedisSerializer();
+        RedisSerializer<Object> compact = new CompactCacheValueSerializer();
+
+        for (Object value : VALUES) {
+            run(json, value, iterations);
+            run(compact, value, iterations);
+        }
+        for (Object value : VALUES) {
+            System.out.println(describe(value));
+            report("json", json, value, run(json, value, iterations));
+            report("compact", compact, value, run(compact, value, iterations));
+        }
+    }
+
+    private static long[] run(RedisSerializer<Object> serializer, Object value, int iterations) {
+        byte[] bytes = serializer.serialize(value);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = serializer.serialize(value);
+        }
+        long serialize = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = serializer.deserialize(bytes);
+        }
+        long deserialize = System.nanoTime() - start;
+
+        return new long[] {serialize / iterations, deserialize / iterations};
+    }
+
+    private static void report(String format, RedisSerializer<Object> serializer, Object value, long[] nanos) {
+        System.out.printf("  %-8s: %4d bytes, serialize %5d ns/op, deserialize %5d ns/op%n",
+                format, serializer.serialize(value).length, nanos[0], nanos[1]);
+    }
+
+    private static String describe(Object value) {
+        return value instanceof CachedValue cached
+                ? "CachedValue(" + cached.value() + ")"
+                : value.getClass().getSimpleName() + "(" + value + ")";
+    }
+}
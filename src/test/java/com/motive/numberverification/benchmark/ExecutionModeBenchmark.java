@@ -0,0 +1,90 @@
+package com.motive.numberverification.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import com.motive.numberverification.integration.provider.SimulatedTelecomProvider;
+import com.motive.numberverification.integration.provider.SimulatorSettings;
+
+/**
+ * Compares platform-thread and virtual-thread execution of the blocking provider path.
+ *
+ * <p>Each task performs one blocking {@link SimulatedTelecomProvider#verifyPhoneNumber(String)} call
+ * with the simulator's default log-normal latency, as a request thread would in the servlet stack. The platform mode uses a fixed pool the size of
+ * Tomcat's default {@code server.tomcat.threads.max}; the virtual mode starts one virtual thread per task.
+ *
+ * <p>Run with: {@code java -cp <test-classpath> com.motive.numberverification.benchmark.ExecutionModeBenchmark [requests]}.
+ * Virtual-thread mode is reported as unsupported on runtimes older than Java 21.
+ */
+public class ExecutionModeBenchmark {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final int DEFAULT_REQUESTS = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_REQUESTS;
+        SimulatedTelecomProvider provider = new SimulatedTelecomProvider("benchmark", new SimulatorSettings());
+
+        ExecutorService platformExecutor = Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+        try {
+            report("platform", run(platformExecutor::execute, provider, requests));
+        } finally {
+            platformExecutor.shutdownNow();
+        }
+
+        AsyncTaskExecutor virtualExecutor;
+        try {
+            virtualExecutor = new VirtualThreadTaskExecutor("benchmark-");
+        } catch (UnsupportedOperationException e) {
+            System.out.println("virtual   : unsupported on Java " + Runtime.version().feature());
+            return;
+        }
+        report("virtual", run(virtualExecutor::execute, provider, requests));
+    }
+
+    private static Result run(Executor executor, SimulatedTelecomProvider provider, int requests)
+            throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger index = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            long submitted = System.nanoTime();
+            executor.execute(() -> {
+                provider.verifyPhoneNumber("+1234567890");
+                latencies[index.getAndIncrement()] = System.nanoTime() - submitted;
+                done.countDown();
+            });
+        }
+        done.await(10, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(requests, elapsed, latencies);
+    }
+
+    private static void report(String mode, Result result) {
+        System.out.printf("%-10s: %d requests in %d ms (%.0f req/s), p50=%d ms, p99=%d ms%n",
+                mode,
+                result.requests,
+                TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos),
+                result.requests / (result.elapsedNanos / 1e9),
+                TimeUnit.NANOSECONDS.toMillis(result.percentile(0.50)),
+                TimeUnit.NANOSECONDS.toMillis(result.percentile(0.99)));
+    }
+
+    private record Result(int requests, long elapsedNanos, long[] sortedLatencies) {
+        long percentile(double p) {
+            return sortedLatencies[Math.min(sortedLatencies.length - 1, (int) (sortedLatencies.length * p))];
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.motive.numberverification.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.BooleanSupplier;
+
+import com.motive.numberverification.common.util.PhoneNumberHasher;
+
+/**
+ * Compares hashed verification with {@link PhoneNumberHasher} against the previous implementation, which
+ * looked up a new {@link MessageDigest} per call, hex-encoded with {@code Integer.toHexString} and compared
+ * strings.
+ *
+ * <p>Both paths check a matching hash; after a warm-up, the mean time and bytes allocated per check are
+ * reported. Allocation is measured with {@code com.sun.management.ThreadMXBean} on the benchmark thread.
+ *
+ * <p>Run with: {@code java -cp <test-classpath> com.motive.numberverification.benchmark.PhoneNumberHashingBenchmark [iterations]}.
+ */
+public class PhoneNumberHashingBenchmark {
+
+    private static final int DEFAULT_ITERATIONS = 2_000_000;
+    private static final String PHONE_NUMBER = "+14155550123";
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+        PhoneNumberHasher hasher = new PhoneNumberHasher();
+        String hash = hasher.hashHex(PHONE_NUMBER);
+
+        BooleanSupplier previous = () -> previousHash(PHONE_NUMBER).equals(hash);
+        BooleanSupplier current = () -> hasher.matches(PHONE_NUMBER, hash);
+
+        run(previous, iterations);
+        run(current, iterations);
+        report("previous", run(previous, iterations));
+        report("hasher", run(current, iterations));
+    }
+
+    private static Result run(BooleanSupplier check, int iterations) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int matches = 0;
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            if (check.getAsBoolean()) {
+                matches++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        if (matches != iterations) {
+            throw new IllegalStateException("Hash did not match");
+        }
+        return new Result(iterations, elapsed, allocated);
+    }
+
+    private static void report(String implementation, Result result) {
+        System.out.printf("%-9s: %5d ns/op, %8.0f ops/s, %6.1f bytes/op%n",
+                implementation,
+                result.elapsedNanos / result.iterations,
+                result.iterations / (result.elapsedNanos / 1e9),
+                (double) result.allocatedBytes / result.iterations);
+    }
+
+    /**
+     * The implementation {@link PhoneNumberHasher} replaced.
+     */
+    private static String previousHash(String phoneNumber) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] encodedHash = digest.digest(phoneNumber.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hexString = new StringBuilder();
+            for (byte b : encodedHash) {
+                String hex = Integer.toHexString(0xff & b);
+                if (hex.length() == 1) {
+                    hexString.append('0');
+                }
+                hexString.append(hex);
+            }
+            return hexString.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Result(int iterations, long elapsedNanos, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.motive.numberverification.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.PhoneNumberUtil.PhoneNumberFormat;
+import com.google.i18n.phonenumbers.PhoneNumberUtil.PhoneNumberType;
+import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
+import com.motive.numberverification.common.util.PhoneNumberUtils;
+
+/**
+ * Compares E.164 normalization in {@link PhoneNumberUtils} against the previous implementation, which
+ * parsed, validated and formatted every number with libphonenumber.
+ *
+ * <p>The input cycles through the fixed-line and mobile example numbers of every region, in E.164. The
+ * fast path is measured with the normalization cache disabled, then with a cache large enough to hold
+ * the whole input. After a warm-up, the mean time and bytes allocated per normalization are reported.
+ * Allocation is measured with {@code com.sun.management.ThreadMXBean} on the benchmark thread.
+ *
+ * <p>Run with: {@code java -cp <test-classpath> com.motive.numberverification.benchmark.PhoneNumberNormalizationBenchmark [iterations]}.
+ */
+public class PhoneNumberNormalizationBenchmark {
+
+    private static final int DEFAULT_ITERATIONS = 2_000_000;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+        PhoneNumberUtil phoneNumberUtil = PhoneNumberUtil.getInstance();
+        String[] numbers = exampleNumbers(phoneNumberUtil);
+        System.out.printf("%d distinct numbers%n", numbers.length);
+
+        UnaryOperator<String> previous = number -> previousNormalize(phoneNumberUtil, number);
+        UnaryOperator<String> fastPath = new PhoneNumberUtils(0)::normalizePhoneNumber;
+        UnaryOperator<String> cached = new PhoneNumberUtils(numbers.length)::normalizePhoneNumber;
+
+        run(previous, numbers, iterations);
+        run(fastPath, numbers, iterations);
+        run(cached, numbers, iterations);
+        report("previous", run(previous, numbers, iterations));
+        report("fast path", run(fastPath, numbers, iterations));
+        report("cached", run(cached, numbers, iterations));
+    }
+
+    private static Result run(UnaryOperator<String> normalize, String[] numbers, int iterations) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int normalized = 0;
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            String number = numbers[i % numbers.length];
+            if (normalize.apply(number).length() == number.length()) {
+                normalized++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        if (normalized != iterations) {
+            throw new IllegalStateException("Normalization changed a number");
+        }
+        return new Result(iterations, elapsed, allocated);
+    }
+
+    private static void report(String implementation, Result result) {
+        System.out.printf("%-9s: %5d ns/op, %8.0f ops/s, %6.1f bytes/op%n",
+                implementation,
+                result.elapsedNanos / result.iterations,
+                result.iterations / (result.elapsedNanos / 1e9),
+                (double) result.allocatedBytes / result.iterations);
+    }
+
+    private static String[] exampleNumbers(PhoneNumberUtil phoneNumberUtil) {
+        List<String> numbers = new ArrayList<>();
+        for (String region : phoneNumberUtil.getSupportedRegions()) {
+            for (PhoneNumberType type : new PhoneNumberType[] {PhoneNumberType.FIXED_LINE, PhoneNumberType.MOBILE}) {
+                PhoneNumber example = phoneNumberUtil.getExampleNumberForType(region, type);
+                if (example != null && phoneNumberUtil.isValidNumber(example)) {
+                    numbers.add(phoneNumberUtil.format(example, PhoneNumberFormat.E164));
+                }
+            }
+        }
+        return numbers.toArray(new String[0]);
+    }
+
+    /**
+     * The E.164 branch of the implementation {@link PhoneNumberUtils} replaced.
+     */
+    private static String previousNormalize(PhoneNumberUtil phoneNumberUtil, String phoneNumber) {
+        try {
+            PhoneNumber parsedNumber = phoneNumberUtil.parse(phoneNumber, null);
+            if (!phoneNumberUtil.isValidNumber(parsedNumber)) {
+                throw new IllegalStateException("Invalid example number " + phoneNumber);
+            }
+            return phoneNumberUtil.format(parsedNumber, PhoneNumberFormat.E164);
+        } catch (NumberParseException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Result(int iterations, long elapsedNanos, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,234 @@
+package com.motive.numberverification.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.motive.numberverification.api.VerificationController;
+import com.motive.numberverification.api.model.VerificationRequest;
+import com.motive.numberverification.api.model.VerificationResponse;
+import com.motive.numberverification.common.exception.ApiError;
+import com.motive.numberverification.common.exception.CorrelationIds;
+import com.motive.numberverification.common.exception.GlobalExceptionHandler;
+import com.motive.numberverification.service.BatchVerificationService;
+import com.motive.numberverification.service.IdempotentVerificationService;
+import com.motive.numberverification.service.PhoneNumberNormalizationService;
+import com.motive.numberverification.service.VerificationService;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+
+/**
+ * Compares the cost of accepting and rejecting {@code POST /verify} requests, before and after
+ * validation moved from bean validation to {@link VerificationRequest#validate()}.
+ *
+ * <p>Requests run through the Spring MVC pipeline in a standalone {@link MockMvc}: body parsing,
+ * validation, the controller and, for rejected requests, the exception handler. The previous endpoint
+ * is reproduced below: {@code @Valid} on the body, and an exception handler logging each rejection at
+ * ERROR with a random {@link UUID} correlation ID. Traffic alternates between a valid request and one
+ * with a malformed number; the verification itself is stubbed. Logging is at INFO, as configured for the
+ * application, to an appender that discards its output, so formatting is measured but not I/O.
+ * After a warm-up, the mean time and bytes allocated per request of each kind are reported.
+ *
+ * <p>Run with: {@code java -cp <test-classpath> com.motive.numberverification.benchmark.RequestValidationBenchmark [iterations]}.
+ */
+public class RequestValidationBenchmark {
+
+    private static final int DEFAULT_ITERATIONS = 100_000;
+    private static final String VALID = "{\"phoneNumber\":\"+14155550100\"}";
+    private static final String INVALID = "{\"phoneNumber\":\"invalid-phone-number\"}";
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+        discardLogs();
+
+        VerificationService verificationService = mock(VerificationService.class);
+        when(verificationService.verifyPhoneNumberAsync(any(VerificationRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        MockMvc previous = MockMvcBuilders.standaloneSetup(new PreviousController(verificationService))
+                .setControllerAdvice(new PreviousExceptionHandler())
+                .build();
+        MockMvc current = MockMvcBuilders.standaloneSetup(new VerificationController(verificationService,
+                        mock(IdempotentVerificationService.class), mock(BatchVerificationService.class),
+                        mock(PhoneNumberNormalizationService.class), new ObjectMapper()))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        run(previous, iterations);
+        run(current, iterations);
+        report("previous", run(previous, iterations));
+        report("current", run(current, iterations));
+
+        correlationIds(iterations * 10);
+    }
+
+    private static Result[] run(MockMvc mockMvc, int iterations) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        Result[] results = {new Result(), new Result()};
+
+        for (int i = 0; i < iterations; i++) {
+            boolean valid = i % 2 == 0;
+            long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            int status = perform(mockMvc, valid ? VALID : INVALID);
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+            if (status != (valid ? 200 : 400)) {
+                throw new IllegalStateException("Unexpected status " + status);
+            }
+            results[valid ? 0 : 1].add(elapsed, allocated);
+        }
+        return results;
+    }
+
+    private static int perform(MockMvc mockMvc, String body) throws Exception {
+        MvcResult result = mockMvc.perform(post("/verify").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result.getResponse().getStatus();
+    }
+
+    private static void report(String implementation, Result[] results) {
+        Result valid = results[0];
+        Result invalid = results[1];
+        System.out.printf("%-8s: valid %6d ns/req %7.0f bytes/req, invalid %6d ns/req %7.0f bytes/req,"
+                        + " invalid/valid %.2f%n",
+                implementation,
+                valid.nanos / valid.count, (double) valid.bytes / valid.count,
+                invalid.nanos / invalid.count, (double) invalid.bytes / invalid.count,
+                (double) invalid.nanos / valid.nanos);
+    }
+
+    private static void correlationIds(int iterations) {
+        int length = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            length += UUID.randomUUID().toString().length();
+        }
+        long uuid = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            length += CorrelationIds.next().length();
+        }
+        long counter = System.nanoTime() - start;
+        System.out.printf("correlation id: UUID %d ns, counter %d ns (%d chars)%n",
+                uuid / iterations, counter / iterations, length);
+    }
+
+    /**
+     * Keep INFO logging, formatted as the application does, but write it nowhere.
+     */
+    private static void discardLogs() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(Level.INFO);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} %-5level - %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        root.addAppender(appender);
+    }
+
+    /**
+     * The verification endpoint as it was, validated by bean validation.
+     */
+    @RestController
+    static class PreviousController {
+
+        private static final Logger logger = LoggerFactory.getLogger(PreviousController.class);
+
+        private final VerificationService verificationService;
+
+        PreviousController(VerificationService verificationService) {
+            this.verificationService = verificationService;
+        }
+
+        @PostMapping("/verify")
+        public CompletableFuture<ResponseEntity<VerificationResponse>> verifyPhoneNumber(
+                @Valid @RequestBody VerificationRequest request) {
+            logger.info("Received verification request");
+            return verificationService.verifyPhoneNumberAsync(request)
+                    .thenApplyAsync(verified -> {
+                        logger.info("Verification completed with result: {}", verified);
+                        return ResponseEntity.ok(new VerificationResponse(verified));
+                    }, Runnable::run);
+        }
+    }
+
+    /**
+     * The validation error handling as it was.
+     */
+    @RestControllerAdvice
+    static class PreviousExceptionHandler {
+
+        private static final Logger logger = LoggerFactory.getLogger(PreviousExceptionHandler.class);
+
+        @ExceptionHandler(MethodArgumentNotValidException.class)
+        public ResponseEntity<ApiError> handleMethodArgumentNotValidException(
+                MethodArgumentNotValidException ex, HttpServletRequest request) {
+            logger.error("Validation error: {}", ex.getMessage());
+            String errorMessage = ex.getBindingResult().getFieldErrors().stream()
+                    .findFirst()
+                    .map(fieldError -> fieldError.getField() + ": " + fieldError.getDefaultMessage())
+                    .orElse("Validation error");
+            ApiError error = ApiError.builder()
+                    .errorCode("VALIDATION_ERROR")
+                    .message(errorMessage)
+                    .path(request.getRequestURI())
+                    .correlationId(UUID.randomUUID().toString())
+                    .build();
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static final class Result {
+        private long count;
+        private long nanos;
+        private long bytes;
+
+        void add(long elapsedNanos, long allocatedBytes) {
+            count++;
+            nanos += elapsedNanos;
+            bytes += allocatedBytes;
+        }
+    }
+}
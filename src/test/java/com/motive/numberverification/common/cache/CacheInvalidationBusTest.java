@@ -0,0 +1,216 @@
+package com.motive.numberverification.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Two nodes sharing one L2 and one Redis, each with its own local tier and invalidation bus.
+ */
+public class CacheInvalidationBusTest {
+
+    private static final String CACHE = "devicePhoneNumbers";
+
+    private EmbeddedRedis redis;
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    public void setup() {
+        redis = new EmbeddedRedis();
+        ConcurrentMapCacheManager shared = new ConcurrentMapCacheManager();
+        nodeA = new Node(shared, redis);
+        nodeB = new Node(shared, redis);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    public void invalidate_dropsOtherNodesCopies_inOneDeduplicatedMessage() {
+        // Given
+        nodeA.put("client-a", "+14155550123");
+        nodeB.put("client-a", "+14155550123");
+        nodeB.put("client-b", "+447700900123");
+
+        // When
+        nodeA.bus.invalidate(CACHE, "client-a");
+        nodeA.bus.invalidate(CACHE, "client-a");
+        nodeA.bus.invalidate(CACHE, "client-b");
+        nodeA.bus.invalidate(CACHE, "client-a");
+        nodeA.bus.flush();
+
+        // Then
+        assertThat(redis.published).hasSize(1);
+        assertThat(nodeA.localKeys()).isEmpty();
+        assertThat(nodeB.localKeys()).isEmpty();
+        assertThat(nodeA.meterRegistry.counter("cache.invalidation.keys", "direction", "sent").count()).isEqualTo(2.0);
+        assertThat(nodeB.meterRegistry.counter("cache.invalidation.keys", "direction", "received").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    public void invalidateAll_clearsOtherNodesLocalTier() {
+        // Given
+        nodeB.put("client-a", "+14155550123");
+        nodeB.put("client-b", "+447700900123");
+
+        // When
+        nodeA.bus.invalidate(CACHE, "client-a");
+        nodeA.bus.invalidateAll(CACHE);
+        nodeA.bus.flush();
+
+        // Then
+        assertThat(redis.published).hasSize(1);
+        assertThat(nodeB.localKeys()).isEmpty();
+    }
+
+    @Test
+    public void missedMessage_nodeResyncsAfterOneCheckInterval() {
+        // Given
+        nodeB.put("client-a", "+14155550123");
+        nodeB.put("client-b", "+447700900123");
+        redis.dropNextMessageFor(nodeB.bus);
+        nodeA.bus.invalidate(CACHE, "client-a");
+        nodeA.bus.flush();
+
+        // When
+        nodeB.bus.checkForMissedMessages();
+        Set<Object> afterFirstCheck = nodeB.localKeys();
+        nodeB.bus.checkForMissedMessages();
+
+        // Then
+        assertThat(afterFirstCheck).containsExactlyInAnyOrder("client-a", "client-b");
+        assertThat(nodeB.localKeys()).isEmpty();
+        assertThat(nodeB.resyncs("missed_messages")).isEqualTo(1.0);
+        assertThat(nodeA.resyncs("missed_messages")).isZero();
+    }
+
+    @Test
+    public void deliveredMessages_noResync() {
+        // Given
+        nodeB.put("client-b", "+447700900123");
+        nodeA.bus.invalidate(CACHE, "client-a");
+        nodeA.bus.flush();
+
+        // When
+        nodeB.bus.checkForMissedMessages();
+        nodeB.bus.checkForMissedMessages();
+
+        // Then
+        assertThat(nodeB.localKeys()).containsExactly("client-b");
+        assertThat(nodeB.resyncs("missed_messages")).isZero();
+    }
+
+    @Test
+    public void resubscribe_clearsLocalTier() {
+        // Given
+        nodeB.put("client-a", "+14155550123");
+
+        // When
+        redis.reconnect(nodeB.bus);
+
+        // Then
+        assertThat(nodeB.localKeys()).isEmpty();
+        assertThat(nodeB.resyncs("resubscribed")).isEqualTo(2.0);
+    }
+
+    private static class Node {
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final TwoTierCacheManager cacheManager;
+        private final CacheInvalidationBus bus;
+
+        Node(ConcurrentMapCacheManager shared, EmbeddedRedis redis) {
+            cacheManager = new TwoTierCacheManager(shared, 100, Duration.ofMinutes(1), meterRegistry);
+            cacheManager.getCache(CACHE);
+            // Batches are flushed and checks run by the tests
+            bus = new CacheInvalidationBus(cacheManager, redis, true, Duration.ofHours(1), 500,
+                    Duration.ofHours(1), meterRegistry);
+            bus.start();
+        }
+
+        void put(String key, String value) {
+            cacheManager.getCache(CACHE).put(key, value);
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Object> localKeys() {
+            Cache<Object, Object> local = (Cache<Object, Object>) cacheManager.getCache(CACHE).getNativeCache();
+            return new HashSet<>(local.asMap().keySet());
+        }
+
+        double resyncs(String reason) {
+            return meterRegistry.counter("cache.invalidation.resyncs", "reason", reason).count();
+        }
+
+        void shutdown() {
+            bus.shutdown();
+            cacheManager.shutdown();
+        }
+    }
+
+    /**
+     * In-process stand-in for Redis pub/sub and the sequence counter; messages are delivered synchronously.
+     */
+    private static class EmbeddedRedis implements InvalidationTransport {
+
+        private final AtomicLong sequence = new AtomicLong();
+        private final List<Listener> subscribers = new CopyOnWriteArrayList<>();
+        private final List<Listener> dropNext = new CopyOnWriteArrayList<>();
+        private final List<String> published = new ArrayList<>();
+
+        @Override
+        public CompletableFuture<Long> nextSequence() {
+            return CompletableFuture.completedFuture(sequence.incrementAndGet());
+        }
+
+        @Override
+        public CompletableFuture<Long> currentSequence() {
+            return CompletableFuture.completedFuture(sequence.get());
+        }
+
+        @Override
+        public CompletableFuture<Void> publish(String message) {
+            published.add(message);
+            for (Listener subscriber : subscribers) {
+                if (!dropNext.remove(subscriber)) {
+                    subscriber.onMessage(message);
+                }
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void subscribe(Listener listener) {
+            subscribers.add(listener);
+            listener.onSubscribed();
+        }
+
+        void dropNextMessageFor(Listener listener) {
+            dropNext.add(listener);
+        }
+
+        void reconnect(Listener listener) {
+            listener.onSubscribed();
+        }
+    }
+}
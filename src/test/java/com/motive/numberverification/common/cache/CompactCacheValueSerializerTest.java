@@ -0,0 +1,82 @@
+package com.motive.numberverification.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+
+public class CompactCacheValueSerializerTest {
+
+    private final CompactCacheValueSerializer serializer = new CompactCacheValueSerializer();
+
+    @Test
+    public void cachedStatus_roundTripsInAFewBytes() {
+        // Given
+        CachedValue value = new CachedValue(VerificationStatus.NO_MATCH, 1_760_000_000_000L, 850);
+
+        // When
+        byte[] bytes = serializer.serialize(value);
+
+        // Then
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+        assertThat(bytes.length).isLessThanOrEqualTo(14);
+    }
+
+    @Test
+    public void phoneNumbers_packedAndRestored() {
+        // Given
+        String oddDigits = "+14155550123";
+        String evenDigits = "+447700900123";
+
+        // When
+        byte[] odd = serializer.serialize(oddDigits);
+        byte[] even = serializer.serialize(evenDigits);
+
+        // Then
+        assertThat(serializer.deserialize(odd)).isEqualTo(oddDigits);
+        assertThat(serializer.deserialize(even)).isEqualTo(evenDigits);
+        assertThat(odd.length).isEqualTo(2 + 2 + 6);
+    }
+
+    @Test
+    public void otherValues_roundTrip() {
+        // Given
+        String notE164 = "+1 (415) 555-0123";
+        Map<String, String> other = new HashMap<>(Map.of("key", "value"));
+
+        // When / Then
+        assertThat(serializer.deserialize(serializer.serialize(notE164))).isEqualTo(notE164);
+        assertThat(serializer.deserialize(serializer.serialize(other))).isEqualTo(other);
+    }
+
+    @Test
+    public void entryWrittenAsJson_stillReadable() {
+        // Given
+        CachedValue value = new CachedValue(VerificationStatus.MATCH, 1_760_000_000_000L, 12);
+        byte[] legacy = new GenericJackson2JsonRedisSerializer().serialize(value);
+
+        // When
+        Object read = serializer.deserialize(legacy);
+
+        // Then
+        assertThat(read).isEqualTo(value);
+    }
+
+    @Test
+    public void entryInNewerVersion_readAsMiss() {
+        // Given
+        byte[] bytes = serializer.serialize(VerificationStatus.MATCH);
+        bytes[1] = CompactCacheValueSerializer.VERSION + 1;
+
+        // When
+        Object read = serializer.deserialize(bytes);
+
+        // Then
+        assertThat(read).isNull();
+    }
+}
@@ -0,0 +1,243 @@
+package com.motive.numberverification.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class StampedeProtectedCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final int CONCURRENT_REQUESTS = 32;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCache shared;
+    private ExecutorService requestThreads;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        shared = new ConcurrentMapCache("verificationResults");
+        requestThreads = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        requestThreads.shutdownNow();
+    }
+
+    @Test
+    public void concurrentMisses_callProviderOncePerKey() throws Exception {
+        // Given
+        StampedeProtectedCache cache = protect(CacheLock.local(), 32);
+        CountingLoader loader = new CountingLoader();
+
+        // When
+        List<CompletableFuture<String>> results = concurrently(() -> cache.get("client-a:+1234567890",
+                String.class, loader, value -> true));
+        loader.complete("MATCH");
+
+        // Then
+        assertThat(results).allSatisfy(result -> assertThat(result.join()).isEqualTo("MATCH"));
+        assertThat(loader.calls.get()).isEqualTo(1);
+        assertThat(loads("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    public void expiredEntry_servedStaleWhileOneRequestRefreshesIt() throws Exception {
+        // Given
+        StampedeProtectedCache cache = protect(CacheLock.local(), 32);
+        CountingLoader loader = new CountingLoader();
+        loader.complete("NO_MATCH");
+        cache.get("client-a:+1234567890", String.class, loader, value -> true).join();
+        clock.addAndGet(TTL.toMillis() + 1);
+        CountingLoader refresh = new CountingLoader();
+
+        // When
+        List<CompletableFuture<String>> results = concurrently(() -> cache.get("client-a:+1234567890",
+                String.class, refresh, value -> true));
+
+        // Then
+        assertThat(results).allSatisfy(result -> assertThat(result.join()).isEqualTo("NO_MATCH"));
+        assertThat(refresh.calls.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cache.stampede.stale_served", "cache", "verificationResults").count())
+                .isEqualTo(CONCURRENT_REQUESTS);
+
+        // When the refresh completes, the new value is fresh for another TTL
+        refresh.complete("MATCH");
+        String refreshed = cache.get("client-a:+1234567890", String.class, refresh, value -> true).join();
+
+        // Then
+        assertThat(refreshed).isEqualTo("MATCH");
+        assertThat(refresh.calls.get()).isEqualTo(1);
+        assertThat(loads("stale_refresh")).isEqualTo(1.0);
+    }
+
+    @Test
+    public void expiredEntry_refreshedWithRefresherRatherThanRequestLoader() {
+        // Given
+        StampedeProtectedCache cache = protect(CacheLock.local(), 32);
+        CountingLoader loader = new CountingLoader();
+        loader.complete("NO_MATCH");
+        cache.get("client-a:+1234567890", String.class, loader, value -> true).join();
+        clock.addAndGet(TTL.toMillis() + 1);
+        CountingLoader requestLoader = new CountingLoader();
+        CountingLoader refresher = new CountingLoader();
+        refresher.complete("MATCH");
+
+        // When
+        String stale = cache.get("client-a:+1234567890", String.class, requestLoader, refresher, value -> true).join();
+        String refreshed = cache.get("client-a:+1234567890", String.class, requestLoader, refresher, value -> true).join();
+
+        // Then
+        assertThat(stale).isEqualTo("NO_MATCH");
+        assertThat(refreshed).isEqualTo("MATCH");
+        assertThat(requestLoader.calls.get()).isZero();
+        assertThat(refresher.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void refreshes_boundedByConcurrencyLimit() {
+        // Given
+        StampedeProtectedCache cache = protect(CacheLock.local(), 1);
+        CountingLoader loader = new CountingLoader();
+        loader.complete("MATCH");
+        cache.get("client-a:+1111111111", String.class, loader, value -> true).join();
+        cache.get("client-a:+2222222222", String.class, loader, value -> true).join();
+        clock.addAndGet(TTL.toMillis() + 1);
+        CountingLoader hangingRefresh = new CountingLoader();
+
+        // When
+        String first = cache.get("client-a:+1111111111", String.class, hangingRefresh, value -> true).join();
+        String second = cache.get("client-a:+2222222222", String.class, hangingRefresh, value -> true).join();
+
+        // Then
+        assertThat(first).isEqualTo("MATCH");
+        assertThat(second).isEqualTo("MATCH");
+        assertThat(hangingRefresh.calls.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cache.stampede.refresh_skipped",
+                "cache", "verificationResults", "reason", "capacity").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void failedRefresh_notRetriedUntilBackoffPasses() {
+        // Given
+        StampedeProtectedCache cache = protect(CacheLock.local(), 32);
+        CountingLoader loader = new CountingLoader();
+        loader.complete("MATCH");
+        cache.get("client-a:+1234567890", String.class, loader, value -> true).join();
+        clock.addAndGet(TTL.toMillis() + 1);
+        CountingLoader failingRefresh = new CountingLoader();
+        failingRefresh.result.completeExceptionally(new IllegalStateException("provider down"));
+
+        // When
+        String first = cache.get("client-a:+1234567890", String.class, failingRefresh, value -> true).join();
+        String second = cache.get("client-a:+1234567890", String.class, failingRefresh, value -> true).join();
+
+        // Then
+        assertThat(first).isEqualTo("MATCH");
+        assertThat(second).isEqualTo("MATCH");
+        assertThat(failingRefresh.calls.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cache.stampede.refresh_skipped",
+                "cache", "verificationResults", "reason", "backoff").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void miss_lockedByAnotherInstance_waitsForItsValue() {
+        // Given
+        CacheLock heldElsewhere = new CacheLock() {
+            @Override
+            public CompletableFuture<Boolean> tryLock(String key, String token, Duration ttl) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            @Override
+            public void unlock(String key, String token) {
+            }
+        };
+        StampedeProtectedCache cache = protect(heldElsewhere, 32);
+        CountingLoader loader = new CountingLoader();
+        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS).execute(() -> shared.put(
+                "client-a:+1234567890", new CachedValue("MATCH", clock.get() + TTL.toMillis(), 10)));
+
+        // When
+        String result = cache.get("client-a:+1234567890", String.class, loader, value -> true).join();
+
+        // Then
+        assertThat(result).isEqualTo("MATCH");
+        assertThat(loader.calls.get()).isZero();
+        assertThat(meterRegistry.counter("cache.stampede.lock_waits",
+                "cache", "verificationResults", "result", "filled").count()).isEqualTo(1.0);
+    }
+
+    private StampedeProtectedCache protect(CacheLock cacheLock, int maxConcurrentRefreshes) {
+        StampedeProtection protection = new StampedeProtection(cacheLock, 0.0, Duration.ofMinutes(1),
+                maxConcurrentRefreshes, Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(2),
+                meterRegistry, clock::get);
+        return protection.protect(shared, TTL);
+    }
+
+    /**
+     * Start the same lookup from many threads at once.
+     */
+    private <T> List<CompletableFuture<T>> concurrently(Supplier<CompletableFuture<T>> lookup) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<CompletableFuture<T>>> started = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            started.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return lookup.get();
+            }, requestThreads));
+        }
+        start.countDown();
+        List<CompletableFuture<T>> results = new ArrayList<>();
+        for (CompletableFuture<CompletableFuture<T>> request : started) {
+            results.add(request.get(5, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private double loads(String reason) {
+        return meterRegistry.counter("cache.stampede.loads", "cache", "verificationResults", "reason", reason).count();
+    }
+
+    /**
+     * Provider lookup that counts its calls and answers when the test completes it.
+     */
+    private static class CountingLoader implements Supplier<CompletableFuture<String>> {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        @Override
+        public CompletableFuture<String> get() {
+            calls.incrementAndGet();
+            return result;
+        }
+
+        void complete(String value) {
+            result.complete(value);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.motive.numberverification.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TwoTierCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCache shared;
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        shared = new ConcurrentMapCache("verificationResults");
+        local = Caffeine.newBuilder().maximumSize(100).expireAfterWrite(Duration.ofMinutes(1)).build();
+        cache = new TwoTierCache("verificationResults", local, shared, Runnable::run, meterRegistry);
+    }
+
+    @Test
+    public void put_writesBothTiers() {
+        // When
+        cache.put("client-a:+1234567890", "MATCH");
+
+        // Then
+        assertThat(local.getIfPresent("client-a:+1234567890")).isEqualTo("MATCH");
+        assertThat(shared.get("client-a:+1234567890").get()).isEqualTo("MATCH");
+    }
+
+    @Test
+    public void retrieve_sharedHit_isPromotedToLocal() {
+        // Given
+        shared.put("client-a:+1234567890", "MATCH");
+
+        // When
+        Object first = cache.retrieve("client-a:+1234567890").join();
+        Object second = cache.retrieve("client-a:+1234567890").join();
+
+        // Then
+        assertThat(first).isEqualTo("MATCH");
+        assertThat(second).isEqualTo("MATCH");
+        assertThat(gets(TwoTierCache.L1, "miss")).isEqualTo(1.0);
+        assertThat(gets(TwoTierCache.L2, "hit")).isEqualTo(1.0);
+        assertThat(gets(TwoTierCache.L1, "hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    public void retrieve_missInBothTiers_returnsNull() {
+        // When
+        Object value = cache.retrieve("client-a:+1234567890").join();
+
+        // Then
+        assertThat(value).isNull();
+        assertThat(gets(TwoTierCache.L1, "miss")).isEqualTo(1.0);
+        assertThat(gets(TwoTierCache.L2, "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    public void get_sharedTierUnavailable_treatedAsMiss() {
+        // Given
+        Cache unavailable = mock(Cache.class);
+        when(unavailable.get(any())).thenThrow(new IllegalStateException("Connection refused"));
+        TwoTierCache degraded = new TwoTierCache("verificationResults", local, unavailable, Runnable::run, meterRegistry);
+
+        // When
+        Cache.ValueWrapper value = degraded.get("client-a:+1234567890");
+
+        // Then
+        assertThat(value).isNull();
+        assertThat(meterRegistry.counter("cache.tier.errors", "cache", "verificationResults", "tier", TwoTierCache.L2)
+                .count()).isEqualTo(1.0);
+    }
+
+    private double gets(String tier, String result) {
+        return meterRegistry.counter("cache.tier.gets",
+                "cache", "verificationResults", "tier", tier, "result", result).count();
+    }
+}
@@ -0,0 +1,79 @@
+package com.motive.numberverification.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+public class PhoneNumberHasherTest {
+
+    // SHA-256 of "+1234567890"
+    private static final String HASH = "422ce82c6fc1724ac878042f7d055653ab5e983d186e616826a72d4384b68af8";
+
+    private final PhoneNumberHasher hasher = new PhoneNumberHasher();
+
+    @Test
+    public void hashHex_producesLowercaseSha256() {
+        // When
+        String hash = hasher.hashHex("+1234567890");
+
+        // Then
+        assertThat(hash).isEqualTo(HASH);
+    }
+
+    @Test
+    public void fieldsHashHex_separatesAbsentEmptyAndAdjacentFields() {
+        // When
+        String absent = hasher.fieldsHashHex(null, "");
+        String empty = hasher.fieldsHashHex("", null);
+        String joined = hasher.fieldsHashHex("+12", "34");
+        String split = hasher.fieldsHashHex("+1", "234");
+
+        // Then
+        assertThat(absent).hasSize(64).isNotEqualTo(empty);
+        assertThat(joined).isNotEqualTo(split);
+        assertThat(hasher.fieldsHashHex("+1234567890", null)).isEqualTo(hasher.fieldsHashHex("+1234567890", null));
+        assertThat(hasher.fieldsHashHex("+1234567890", null)).isNotEqualTo(HASH);
+    }
+
+    @Test
+    public void matches_acceptsEitherCase_rejectsOtherHashes() {
+        // When / Then
+        assertThat(hasher.matches("+1234567890", HASH)).isTrue();
+        assertThat(hasher.matches("+1234567890", HASH.toUpperCase())).isTrue();
+        assertThat(hasher.matches("+1234567891", HASH)).isFalse();
+        assertThat(hasher.matches(hasher.digest("+1234567890"), HASH)).isTrue();
+    }
+
+    @Test
+    public void matches_malformedHash_isNoMatch() {
+        // When / Then
+        assertThat(hasher.matches("+1234567890", null)).isFalse();
+        assertThat(hasher.matches("+1234567890", HASH.substring(2))).isFalse();
+        assertThat(hasher.matches("+1234567890", "zz" + HASH.substring(2))).isFalse();
+    }
+
+    @Test
+    public void buffersAreNotSharedBetweenThreads() {
+        // Given
+        String otherHash = hasher.hashHex("+447700900123");
+
+        // When
+        CompletableFuture<Boolean> other = CompletableFuture.supplyAsync(() -> {
+            boolean matched = true;
+            for (int i = 0; i < 10_000; i++) {
+                matched &= hasher.matches("+447700900123", otherHash);
+            }
+            return matched;
+        });
+        boolean matched = true;
+        for (int i = 0; i < 10_000; i++) {
+            matched &= hasher.matches("+1234567890", HASH);
+        }
+
+        // Then
+        assertThat(matched).isTrue();
+        assertThat(other.join()).isTrue();
+    }
+}
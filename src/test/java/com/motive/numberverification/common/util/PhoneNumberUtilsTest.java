@@ -0,0 +1,137 @@
+package com.motive.numberverification.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.PhoneNumberUtil.PhoneNumberFormat;
+import com.google.i18n.phonenumbers.PhoneNumberUtil.PhoneNumberType;
+import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
+import com.motive.numberverification.common.exception.ApiException;
+
+public class PhoneNumberUtilsTest {
+
+    private final PhoneNumberUtil phoneNumberUtil = PhoneNumberUtil.getInstance();
+    private final E164FastPath fastPath = new E164FastPath(phoneNumberUtil);
+
+    @Test
+    public void fastPath_agreesWithLibphonenumber_forEveryRegion() {
+        // Given
+        Set<String> candidates = candidates();
+        int decided = 0;
+
+        // When / Then
+        for (String candidate : candidates) {
+            int result = fastPath.check(candidate);
+            if (result != E164FastPath.UNDECIDED) {
+                decided++;
+                assertThat(result == E164FastPath.VALID)
+                        .as(candidate)
+                        .isEqualTo(libphonenumberValid(candidate));
+                if (result == E164FastPath.VALID) {
+                    assertThat(libphonenumberE164(candidate)).isEqualTo(candidate);
+                }
+            }
+        }
+        assertThat(decided).isGreaterThan(candidates.size() * 3 / 4);
+    }
+
+    @Test
+    public void normalize_validE164_returnedAsIs() {
+        // Given
+        PhoneNumberUtils utils = new PhoneNumberUtils();
+
+        // When / Then
+        assertThat(utils.normalizePhoneNumber("+14155550132")).isEqualTo("+14155550132");
+        assertThat(utils.normalizePhoneNumber("+442079460958")).isEqualTo("+442079460958");
+        assertThat(utils.isValidPhoneNumber("+442079460958")).isTrue();
+    }
+
+    @Test
+    public void normalize_ambiguousInput_fallsBackToLibphonenumber() {
+        // Given
+        PhoneNumberUtils utils = new PhoneNumberUtils(0);
+
+        // When / Then
+        assertThat(fastPath.check("+1 415 555 0132")).isEqualTo(E164FastPath.UNDECIDED);
+        assertThat(utils.normalizePhoneNumber("+1 415 555 0132")).isEqualTo("+14155550132");
+        assertThat(fastPath.check("+4402079460958")).isEqualTo(E164FastPath.UNDECIDED);
+        assertThat(utils.normalizePhoneNumber("+4402079460958")).isEqualTo("+442079460958");
+        assertThat(utils.normalizePhoneNumber("(415) 555-0132")).isEqualTo("+14155550132");
+        assertThat(utils.isValidPhoneNumber("4155550132")).isFalse();
+    }
+
+    @Test
+    public void normalize_invalidNumber_throwsEveryTime() {
+        // Given
+        PhoneNumberUtils utils = new PhoneNumberUtils();
+
+        // When / Then
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> utils.normalizePhoneNumber("+1234567890"))
+                    .isInstanceOf(ApiException.class)
+                    .hasMessage("Invalid phone number format");
+            assertThatThrownBy(() -> utils.normalizePhoneNumber("not a number"))
+                    .isInstanceOf(ApiException.class);
+        }
+        assertThat(utils.isValidPhoneNumber("+1234567890")).isFalse();
+        assertThat(utils.isValidPhoneNumber(null)).isFalse();
+    }
+
+    /**
+     * Example numbers of every type in every region and non-geographical entity, in E.164, each with
+     * near misses: last digit changed, a digit added and a digit dropped.
+     */
+    private Set<String> candidates() {
+        List<PhoneNumber> examples = new ArrayList<>();
+        for (String region : phoneNumberUtil.getSupportedRegions()) {
+            for (PhoneNumberType type : PhoneNumberType.values()) {
+                PhoneNumber example = phoneNumberUtil.getExampleNumberForType(region, type);
+                if (example != null) {
+                    examples.add(example);
+                }
+            }
+        }
+        for (int countryCode : phoneNumberUtil.getSupportedGlobalNetworkCallingCodes()) {
+            PhoneNumber example = phoneNumberUtil.getExampleNumberForNonGeoEntity(countryCode);
+            if (example != null) {
+                examples.add(example);
+            }
+        }
+
+        Set<String> candidates = new LinkedHashSet<>();
+        for (PhoneNumber example : examples) {
+            String e164 = phoneNumberUtil.format(example, PhoneNumberFormat.E164);
+            char last = e164.charAt(e164.length() - 1);
+            candidates.add(e164);
+            candidates.add(e164.substring(0, e164.length() - 1) + (char) ('0' + (last - '0' + 1) % 10));
+            candidates.add(e164 + last);
+            candidates.add(e164.substring(0, e164.length() - 1));
+        }
+        return candidates;
+    }
+
+    private String libphonenumberE164(String phoneNumber) {
+        try {
+            return phoneNumberUtil.format(phoneNumberUtil.parse(phoneNumber, null), PhoneNumberFormat.E164);
+        } catch (NumberParseException e) {
+            return null;
+        }
+    }
+
+    private boolean libphonenumberValid(String phoneNumber) {
+        try {
+            return phoneNumberUtil.isValidNumber(phoneNumberUtil.parse(phoneNumber, null));
+        } catch (NumberParseException e) {
+            return false;
+        }
+    }
+}
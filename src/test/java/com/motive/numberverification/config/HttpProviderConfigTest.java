@@ -0,0 +1,187 @@
+package com.motive.numberverification.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+import com.motive.numberverification.integration.provider.HttpTelecomProvider;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientConfig;
+
+/**
+ * Checks the pooled Reactor Netty client that {@link HttpProviderConfig} builds for each provider:
+ * its settings, and how it behaves against a local stub server once the pool is exhausted.
+ */
+public class HttpProviderConfigTest {
+
+    private static final int REQUESTS = 50;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch received = new CountDownLatch(1);
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private String baseUrl;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/verify", this::respond);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void httpClient_appliesPoolAndTimeoutSettings() {
+        HttpClientConfig client = config(200, 1000, Duration.ofSeconds(2), true)
+                .httpClient("primary", "https://provider.example.com")
+                .configuration();
+
+        assertThat(client.connectionProvider().name()).isEqualTo("telecom-provider-primary");
+        assertThat(client.connectionProvider().maxConnections()).isEqualTo(200);
+        assertThat(client.responseTimeout()).isEqualTo(Duration.ofSeconds(3));
+        assertThat(client.options().get(ChannelOption.CONNECT_TIMEOUT_MILLIS)).isEqualTo(1000);
+        assertThat(client.options().get(ChannelOption.SO_KEEPALIVE)).isEqualTo(true);
+    }
+
+    @Test
+    public void httpClient_tlsEndpoint_negotiatesHttp2WithHttp11Fallback() {
+        HttpClient client = config(200, 1000, Duration.ofSeconds(2), true)
+                .httpClient("primary", "https://provider.example.com");
+
+        assertThat(client.configuration().protocols()).containsExactly(HttpProtocol.H2, HttpProtocol.HTTP11);
+    }
+
+    @Test
+    public void httpClient_plainEndpoint_usesHttp11() {
+        HttpClient client = config(200, 1000, Duration.ofSeconds(2), true)
+                .httpClient("primary", "http://provider.example.com");
+
+        assertThat(client.configuration().protocols()).containsExactly(HttpProtocol.HTTP11);
+    }
+
+    @Test
+    public void httpClient_http2Disabled_usesHttp11() {
+        HttpClient client = config(200, 1000, Duration.ofSeconds(2), false)
+                .httpClient("primary", "https://provider.example.com");
+
+        assertThat(client.configuration().protocols()).containsExactly(HttpProtocol.HTTP11);
+    }
+
+    @Test
+    public void sequentialRequests_reusePooledConnections() {
+        HttpTelecomProvider provider = provider(config(10, 1000, Duration.ofSeconds(2), true));
+
+        for (int i = 0; i < REQUESTS; i++) {
+            assertThat(provider.verifyPhoneNumber("+1234567890")).isEqualTo(VerificationStatus.MATCH);
+        }
+
+        assertThat(clientPorts)
+                .as("connections opened for %d sequential requests", REQUESTS)
+                .hasSizeLessThan(REQUESTS / 10);
+    }
+
+    @Test
+    public void exhaustedPool_rejectsAcquiresBeyondPendingLimit() throws Exception {
+        HttpTelecomProvider provider = provider(config(1, 1, Duration.ofSeconds(5), true));
+        release = new CountDownLatch(1);
+
+        CompletableFuture<VerificationStatus> inFlight = provider.verifyPhoneNumberAsync("+1234567890");
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<VerificationStatus> queued = provider.verifyPhoneNumberAsync("+1234567890");
+        Thread.sleep(100);
+        CompletableFuture<VerificationStatus> rejected = provider.verifyPhoneNumberAsync("+1234567890");
+
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .hasMessageContaining("Pending acquire queue has reached its maximum size of 1");
+
+        release.countDown();
+        assertThat(inFlight.get(5, TimeUnit.SECONDS)).isEqualTo(VerificationStatus.MATCH);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(VerificationStatus.MATCH);
+        assertThat(clientPorts).hasSize(1);
+    }
+
+    @Test
+    public void exhaustedPool_failsPendingAcquireAfterTimeout() throws Exception {
+        HttpTelecomProvider provider = provider(config(1, 10, Duration.ofMillis(100), true));
+        release = new CountDownLatch(1);
+
+        CompletableFuture<VerificationStatus> inFlight = provider.verifyPhoneNumberAsync("+1234567890");
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<VerificationStatus> pending = provider.verifyPhoneNumberAsync("+1234567890");
+
+        assertThatThrownBy(() -> pending.get(5, TimeUnit.SECONDS))
+                .hasMessageContaining("configured timeout of 100ms");
+
+        release.countDown();
+        assertThat(inFlight.get(5, TimeUnit.SECONDS)).isEqualTo(VerificationStatus.MATCH);
+    }
+
+    private HttpProviderConfig config(int maxConnections, int pendingAcquireMaxCount,
+                                      Duration pendingAcquireTimeout, boolean http2Enabled) {
+        HttpProviderConfig config = new HttpProviderConfig();
+        ReflectionTestUtils.setField(config, "maxConnections", maxConnections);
+        ReflectionTestUtils.setField(config, "pendingAcquireMaxCount", pendingAcquireMaxCount);
+        ReflectionTestUtils.setField(config, "pendingAcquireTimeout", pendingAcquireTimeout);
+        ReflectionTestUtils.setField(config, "maxIdleTime", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(config, "maxLifeTime", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(config, "connectTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(config, "readTimeout", Duration.ofSeconds(3));
+        ReflectionTestUtils.setField(config, "http2Enabled", http2Enabled);
+        return config;
+    }
+
+    private HttpTelecomProvider provider(HttpProviderConfig config) {
+        return config.primaryHttpTelecomProvider(WebClient.builder(), baseUrl, "test-key");
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        exchange.getRequestBody().readAllBytes();
+        received.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = "{\"devicePhoneNumberVerified\":true}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.motive.numberverification.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class HedgedRequestExecutorTest {
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void slowPrimary_hedgeWinsAndPrimaryIsCancelled() {
+        // Given
+        HedgedRequestExecutor executor = executor(1.0, 10);
+        CompletableFuture<VerificationStatus> primary = new CompletableFuture<>();
+
+        // When
+        VerificationStatus result = executor.execute("verify",
+                () -> primary,
+                () -> CompletableFuture.completedFuture(VerificationStatus.NO_MATCH),
+                status -> status != VerificationStatus.INDETERMINATE).join();
+
+        // Then
+        assertThat(result).isEqualTo(VerificationStatus.NO_MATCH);
+        assertThat(primary).isCancelled();
+        assertThat(meterRegistry.counter("provider.hedge.issued").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("provider.hedge.won").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void fastPrimary_noHedgeIsSent() throws Exception {
+        // Given
+        HedgedRequestExecutor executor = executor(1.0, 10);
+        AtomicInteger secondaryCalls = new AtomicInteger();
+
+        // When
+        VerificationStatus result = executor.execute("verify",
+                () -> CompletableFuture.completedFuture(VerificationStatus.MATCH),
+                () -> {
+                    secondaryCalls.incrementAndGet();
+                    return CompletableFuture.completedFuture(VerificationStatus.NO_MATCH);
+                },
+                status -> status != VerificationStatus.INDETERMINATE).join();
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        // Then
+        assertThat(result).isEqualTo(VerificationStatus.MATCH);
+        assertThat(secondaryCalls).hasValue(0);
+        assertThat(meterRegistry.counter("provider.hedge.issued").count()).isZero();
+    }
+
+    @Test
+    public void exhaustedBudget_waitsForPrimary() {
+        // Given
+        HedgedRequestExecutor executor = executor(0.0, 0);
+        CompletableFuture<VerificationStatus> primary = CompletableFuture.supplyAsync(() -> VerificationStatus.MATCH,
+                CompletableFuture.delayedExecutor(150, TimeUnit.MILLISECONDS));
+
+        // When
+        VerificationStatus result = executor.execute("verify",
+                () -> primary,
+                () -> CompletableFuture.completedFuture(VerificationStatus.NO_MATCH),
+                status -> status != VerificationStatus.INDETERMINATE).join();
+
+        // Then
+        assertThat(result).isEqualTo(VerificationStatus.MATCH);
+        assertThat(meterRegistry.counter("provider.hedge.issued").count()).isZero();
+        assertThat(meterRegistry.counter("provider.hedge.skipped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void failedPrimary_usesSecondaryWithoutWaitingForHedgeDelay() {
+        // Given
+        HedgedRequestExecutor executor = new HedgedRequestExecutor(true, 0.95,
+                Duration.ofSeconds(10), Duration.ofSeconds(10), 0.0, 0, meterRegistry);
+
+        // When
+        String result = executor.<String>execute("device_phone_number",
+                () -> CompletableFuture.failedFuture(new RuntimeException("Provider unavailable")),
+                () -> CompletableFuture.completedFuture("+0987654321"),
+                phoneNumber -> phoneNumber != null).orTimeout(1, TimeUnit.SECONDS).join();
+
+        // Then
+        assertThat(result).isEqualTo("+0987654321");
+        assertThat(meterRegistry.counter("provider.hedge.issued").count()).isZero();
+    }
+
+    @Test
+    public void invalidAnswers_fromBothProviders_returnsInvalidAnswer() {
+        // Given
+        HedgedRequestExecutor executor = executor(1.0, 10);
+
+        // When
+        VerificationStatus result = executor.execute("verify",
+                () -> CompletableFuture.completedFuture(VerificationStatus.INDETERMINATE),
+                () -> CompletableFuture.failedFuture(new RuntimeException("Fallback provider unavailable")),
+                status -> status != VerificationStatus.INDETERMINATE).join();
+
+        // Then
+        assertThat(result).isEqualTo(VerificationStatus.INDETERMINATE);
+    }
+
+    private HedgedRequestExecutor executor(double maxHedgeRatio, int maxBurst) {
+        return new HedgedRequestExecutor(true, 0.95, Duration.ofMillis(10), Duration.ofMillis(50),
+                maxHedgeRatio, maxBurst, meterRegistry);
+    }
+}
@@ -0,0 +1,134 @@
+package com.motive.numberverification.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+import com.motive.numberverification.integration.provider.AsyncTelecomProvider;
+import com.motive.numberverification.integration.provider.TelecomProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MicroBatchingAggregatorTest {
+
+    private MeterRegistry meterRegistry;
+    private ScheduledExecutorService scheduler;
+    private List<List<String>> dispatchedBatches;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        dispatchedBatches = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void fullBatch_isDispatchedOnceAndResultsFanOutByPosition() {
+        // Given
+        MicroBatchingAggregator aggregator = aggregator(3, Duration.ofMinutes(1), numbers -> {
+            List<VerificationStatus> results = new ArrayList<>();
+            for (String number : numbers) {
+                results.add(number.endsWith("1") ? VerificationStatus.MATCH : VerificationStatus.NO_MATCH);
+            }
+            return CompletableFuture.completedFuture(results);
+        });
+
+        // When
+        CompletableFuture<VerificationStatus> first = aggregator.submit("+1000000001");
+        CompletableFuture<VerificationStatus> second = aggregator.submit("+1000000002");
+        CompletableFuture<VerificationStatus> third = aggregator.submit("+1000000001");
+
+        // Then
+        assertThat(dispatchedBatches).containsExactly(List.of("+1000000001", "+1000000002", "+1000000001"));
+        assertThat(first.join()).isEqualTo(VerificationStatus.MATCH);
+        assertThat(second.join()).isEqualTo(VerificationStatus.NO_MATCH);
+        assertThat(third.join()).isEqualTo(VerificationStatus.MATCH);
+        assertThat(meterRegistry.summary("provider.batch.size", "provider", "primaryProvider").max()).isEqualTo(3.0);
+    }
+
+    @Test
+    public void partialBatch_isDispatchedWhenWindowElapses() {
+        // Given
+        MicroBatchingAggregator aggregator = aggregator(50, Duration.ofMillis(20),
+                numbers -> CompletableFuture.completedFuture(
+                        numbers.stream().map(number -> VerificationStatus.MATCH).toList()));
+
+        // When
+        CompletableFuture<VerificationStatus> first = aggregator.submit("+1000000001");
+        CompletableFuture<VerificationStatus> second = aggregator.submit("+1000000002");
+
+        // Then
+        assertThat(first.orTimeout(1, TimeUnit.SECONDS).join()).isEqualTo(VerificationStatus.MATCH);
+        assertThat(second.join()).isEqualTo(VerificationStatus.MATCH);
+        assertThat(dispatchedBatches).hasSize(1);
+        assertThat(meterRegistry.counter("provider.batch.flushes", "provider", "primaryProvider", "trigger", "window")
+                .count()).isEqualTo(1.0);
+        assertThat(meterRegistry.timer("provider.batch.added_latency", "provider", "primaryProvider").count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void failedBatch_failsEveryCaller() {
+        // Given
+        MicroBatchingAggregator aggregator = aggregator(2, Duration.ofMinutes(1),
+                numbers -> CompletableFuture.failedFuture(new IllegalStateException("provider down")));
+
+        // When
+        CompletableFuture<VerificationStatus> first = aggregator.submit("+1000000001");
+        CompletableFuture<VerificationStatus> second = aggregator.submit("+1000000002");
+
+        // Then
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+    }
+
+    @Test
+    public void providerWithoutBatchSupport_isAdaptedPerItem() {
+        // Given
+        TelecomProvider provider = new TelecomProvider() {
+            @Override
+            public VerificationStatus verifyPhoneNumber(String phoneNumber) {
+                return phoneNumber.endsWith("1") ? VerificationStatus.MATCH : VerificationStatus.NO_MATCH;
+            }
+
+            @Override
+            public String getDevicePhoneNumber() {
+                return null;
+            }
+        };
+
+        // When
+        List<VerificationStatus> results = AsyncTelecomProvider.of(provider)
+                .verifyPhoneNumbersAsync(List.of("+1000000001", "+1000000002")).join();
+
+        // Then
+        assertThat(results).containsExactly(VerificationStatus.MATCH, VerificationStatus.NO_MATCH);
+    }
+
+    private MicroBatchingAggregator aggregator(int maxBatchSize, Duration maxWait,
+            Function<List<String>, CompletableFuture<List<VerificationStatus>>> provider) {
+        return new MicroBatchingAggregator("primaryProvider", numbers -> {
+            dispatchedBatches.add(numbers);
+            return provider.apply(numbers);
+        }, maxBatchSize, maxWait, scheduler, meterRegistry);
+    }
+}
@@ -0,0 +1,121 @@
+package com.motive.numberverification.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+import com.motive.numberverification.integration.provider.AsyncTelecomProvider;
+import com.motive.numberverification.integration.provider.TelecomProvider;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ProviderBatchingTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(10)
+            .minimumNumberOfCalls(5)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+    private final AsyncProvider primaryProvider = mock(AsyncProvider.class);
+    private final AsyncProvider fallbackProvider = mock(AsyncProvider.class);
+    private ProviderResilience providerResilience;
+    private ProviderBatching providerBatching;
+
+    interface AsyncProvider extends TelecomProvider, AsyncTelecomProvider {
+    }
+
+    @AfterEach
+    public void tearDown() {
+        providerBatching.shutdown();
+        providerResilience.shutdown();
+    }
+
+    @Test
+    public void failedBatch_countsAsOneCircuitBreakerCall() {
+        // Given
+        TelecomProviderClient client = client(1);
+        when(primaryProvider.verifyPhoneNumbersAsync(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("provider down")));
+        when(fallbackProvider.verifyPhoneNumbersAsync(anyList()))
+                .thenAnswer(invocation -> matches(invocation.getArgument(0)));
+
+        // When
+        List<VerificationStatus> results = verifyBatch(client);
+
+        // Then: the batch failed over to the fallback, and the primary's breaker saw one failure, not fifty
+        assertThat(results).hasSize(BATCH_SIZE).containsOnly(VerificationStatus.MATCH);
+        CircuitBreaker primary = circuitBreakerRegistry.circuitBreaker(TelecomProviderClient.DEFAULT_PROVIDER);
+        assertThat(primary.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+        assertThat(primary.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreakerRegistry.circuitBreaker(TelecomProviderClient.FALLBACK_PROVIDER)
+                .getMetrics().getNumberOfSuccessfulCalls()).isEqualTo(1);
+    }
+
+    @Test
+    public void failedBatch_isRetriedAsAWhole() {
+        // Given
+        TelecomProviderClient client = client(2);
+        when(primaryProvider.verifyPhoneNumbersAsync(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("timeout")))
+                .thenAnswer(invocation -> matches(invocation.getArgument(0)));
+
+        // When
+        List<VerificationStatus> results = verifyBatch(client);
+
+        // Then
+        assertThat(results).hasSize(BATCH_SIZE).containsOnly(VerificationStatus.MATCH);
+        verify(primaryProvider, times(2)).verifyPhoneNumbersAsync(anyList());
+        verify(fallbackProvider, never()).verifyPhoneNumbersAsync(anyList());
+    }
+
+    private TelecomProviderClient client(int maxAttempts) {
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .waitDuration(Duration.ofMillis(10))
+                .ignoreExceptions(CallNotPermittedException.class)
+                .build());
+        providerResilience = new ProviderResilience(circuitBreakerRegistry, retryRegistry, BulkheadRegistry.ofDefaults(),
+                new SimpleMeterRegistry());
+        // Batches are dispatched by size only
+        providerBatching = new ProviderBatching(true, BATCH_SIZE, Duration.ofMinutes(1), new SimpleMeterRegistry(),
+                providerResilience);
+        return new TelecomProviderClient(primaryProvider, fallbackProvider, null, providerResilience,
+                providerBatching, null, null, null);
+    }
+
+    private static List<VerificationStatus> verifyBatch(TelecomProviderClient client) {
+        List<CompletableFuture<VerificationStatus>> calls = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            calls.add(client.verifyPhoneNumberAsync(String.format("+1415555%04d", i)));
+        }
+        return calls.stream().map(CompletableFuture::join).toList();
+    }
+
+    private static CompletableFuture<List<VerificationStatus>> matches(List<String> phoneNumbers) {
+        return CompletableFuture.completedFuture(Collections.nCopies(phoneNumbers.size(), VerificationStatus.MATCH));
+    }
+}
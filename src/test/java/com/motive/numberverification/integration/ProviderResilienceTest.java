@@ -0,0 +1,190 @@
+package com.motive.numberverification.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+import com.motive.numberverification.integration.provider.AsyncTelecomProvider;
+import com.motive.numberverification.integration.provider.TelecomProvider;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ProviderResilienceTest {
+
+    private MeterRegistry meterRegistry;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private BulkheadRegistry bulkheadRegistry;
+    private ProviderResilience providerResilience;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(2)
+                .waitDuration(Duration.ofMillis(10))
+                .ignoreExceptions(CallNotPermittedException.class, BulkheadFullException.class)
+                .build());
+        bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        providerResilience = new ProviderResilience(circuitBreakerRegistry, retryRegistry, bulkheadRegistry, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        providerResilience.shutdown();
+    }
+
+    @Test
+    public void transientFailure_isRetried() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        VerificationStatus result = providerResilience.callAsync("defaultTelecomProvider", () ->
+                attempts.incrementAndGet() == 1
+                        ? CompletableFuture.<VerificationStatus>failedFuture(new IllegalStateException("timeout"))
+                        : CompletableFuture.completedFuture(VerificationStatus.MATCH)).join();
+
+        // Then
+        assertThat(result).isEqualTo(VerificationStatus.MATCH);
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void openCircuit_routesStraightToFallbackWithoutCallingPrimary() {
+        // Given
+        AsyncProvider primary = new AsyncProvider(CompletableFuture.failedFuture(new IllegalStateException("down")));
+        AsyncProvider fallback = new AsyncProvider(CompletableFuture.completedFuture(VerificationStatus.NO_MATCH));
+        TelecomProviderClient client = new TelecomProviderClient(primary, fallback, null, providerResilience, null, null, null, null);
+        client.verifyPhoneNumberAsync("+1234567890").join();
+        assertThat(circuitBreakerRegistry.circuitBreaker("defaultTelecomProvider").getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+        int primaryCalls = primary.calls.get();
+
+        // When
+        VerificationStatus result = client.verifyPhoneNumberAsync("+1234567890").join();
+
+        // Then
+        assertThat(result).isEqualTo(VerificationStatus.NO_MATCH);
+        assertThat(primary.calls.get()).isEqualTo(primaryCalls);
+        assertThat(meterRegistry.counter("provider.circuitbreaker.transitions",
+                "provider", "defaultTelecomProvider", "from", "CLOSED", "to", "OPEN").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void fullBulkhead_rejectsWithoutRetrying() {
+        // Given
+        CompletableFuture<VerificationStatus> slowCall = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger();
+        providerResilience.callAsync("fallbackTelecomProvider", () -> slowCall);
+
+        // When
+        CompletableFuture<VerificationStatus> rejected = providerResilience.callAsync("fallbackTelecomProvider", () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.completedFuture(VerificationStatus.MATCH);
+        });
+
+        // Then
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(attempts.get()).isZero();
+        slowCall.complete(VerificationStatus.MATCH);
+    }
+
+    @Test
+    public void cancellingCall_cancelsAttemptInFlightAndFreesBulkheadPermit() {
+        // Given
+        CompletableFuture<VerificationStatus> slowCall = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<VerificationStatus> call = providerResilience.callAsync("fallbackTelecomProvider", () -> {
+            attempts.incrementAndGet();
+            return slowCall;
+        });
+
+        // When
+        call.cancel(true);
+
+        // Then
+        assertThat(slowCall).isCancelled();
+        assertThat(bulkheadRegistry.bulkhead("fallbackTelecomProvider").getMetrics().getAvailableConcurrentCalls())
+                .isEqualTo(1);
+        assertThat(circuitBreakerRegistry.circuitBreaker("fallbackTelecomProvider").getMetrics()
+                .getNumberOfFailedCalls()).isZero();
+        VerificationStatus next = providerResilience.callAsync("fallbackTelecomProvider",
+                () -> CompletableFuture.completedFuture(VerificationStatus.MATCH)).join();
+        assertThat(next).isEqualTo(VerificationStatus.MATCH);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void cancellingCall_stopsRetrying() throws InterruptedException {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<VerificationStatus> call = providerResilience.callAsync("defaultTelecomProvider", () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("timeout"));
+        });
+
+        // When
+        call.cancel(true);
+        Thread.sleep(50);
+
+        // Then
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    private static class AsyncProvider implements TelecomProvider, AsyncTelecomProvider {
+
+        final AtomicInteger calls = new AtomicInteger();
+        private final CompletableFuture<VerificationStatus> answer;
+
+        AsyncProvider(CompletableFuture<VerificationStatus> answer) {
+            this.answer = answer;
+        }
+
+        @Override
+        public VerificationStatus verifyPhoneNumber(String phoneNumber) {
+            return answer.join();
+        }
+
+        @Override
+        public String getDevicePhoneNumber() {
+            return null;
+        }
+
+        @Override
+        public CompletableFuture<VerificationStatus> verifyPhoneNumberAsync(String phoneNumber) {
+            calls.incrementAndGet();
+            return answer;
+        }
+
+        @Override
+        public CompletableFuture<String> getDevicePhoneNumberAsync() {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
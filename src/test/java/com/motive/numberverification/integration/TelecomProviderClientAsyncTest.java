@@ -0,0 +1,193 @@
+package com.motive.numberverification.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+import com.motive.numberverification.common.deadline.Deadline;
+import com.motive.numberverification.common.deadline.RequestDeadlines;
+import com.motive.numberverification.common.util.PhoneNumberUtils;
+import com.motive.numberverification.integration.provider.AsyncTelecomProvider;
+import com.motive.numberverification.integration.provider.TelecomProvider;
+import com.motive.numberverification.integration.routing.ProviderRoutingTable;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TelecomProviderClientAsyncTest {
+
+    private static final String TEST_PHONE_NUMBER = "+1234567890";
+    private static final String UK_PHONE_NUMBER = "+447911123456";
+
+    private AsyncProvider primaryProvider;
+    private AsyncProvider fallbackProvider;
+    private TelecomProviderClient telecomProviderClient;
+
+    interface AsyncProvider extends TelecomProvider, AsyncTelecomProvider {
+    }
+
+    @BeforeEach
+    public void setup() {
+        primaryProvider = mock(AsyncProvider.class);
+        fallbackProvider = mock(AsyncProvider.class);
+        telecomProviderClient = new TelecomProviderClient(primaryProvider, fallbackProvider);
+    }
+
+    @Test
+    public void verifyPhoneNumberAsync_primaryProviderSuccessful_returnsMatch() {
+        // Given
+        when(primaryProvider.verifyPhoneNumberAsync(TEST_PHONE_NUMBER))
+                .thenReturn(CompletableFuture.completedFuture(VerificationStatus.MATCH));
+
+        // When
+        VerificationStatus result = telecomProviderClient.verifyPhoneNumberAsync(TEST_PHONE_NUMBER).join();
+
+        // Then
+        assertThat(result).isEqualTo(VerificationStatus.MATCH);
+        verifyNoInteractions(fallbackProvider);
+    }
+
+    @Test
+    public void verifyPhoneNumberAsync_primaryProviderFails_usesFallback() {
+        // Given
+        when(primaryProvider.verifyPhoneNumberAsync(TEST_PHONE_NUMBER))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Provider unavailable")));
+        when(fallbackProvider.verifyPhoneNumberAsync(TEST_PHONE_NUMBER))
+                .thenReturn(CompletableFuture.completedFuture(VerificationStatus.NO_MATCH));
+
+        // When
+        VerificationStatus result = telecomProviderClient.verifyPhoneNumberAsync(TEST_PHONE_NUMBER).join();
+
+        // Then
+        assertThat(result).isEqualTo(VerificationStatus.NO_MATCH);
+    }
+
+    @Test
+    public void verifyPhoneNumberAsync_bothProvidersFail_returnsIndeterminate() {
+        // Given
+        when(primaryProvider.verifyPhoneNumberAsync(TEST_PHONE_NUMBER))
+                .thenThrow(new RuntimeException("Primary provider unavailable"));
+        when(fallbackProvider.verifyPhoneNumberAsync(TEST_PHONE_NUMBER))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Fallback provider unavailable")));
+
+        // When
+        VerificationStatus result = telecomProviderClient.verifyPhoneNumberAsync(TEST_PHONE_NUMBER).join();
+
+        // Then
+        assertThat(result).isEqualTo(VerificationStatus.INDETERMINATE);
+    }
+
+    @Test
+    public void getDevicePhoneNumberAsync_primaryProviderFails_usesFallback() {
+        // Given
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        when(primaryProvider.getDevicePhoneNumberAsync()).thenReturn(pending);
+        when(fallbackProvider.getDevicePhoneNumberAsync())
+                .thenReturn(CompletableFuture.completedFuture("+0987654321"));
+
+        // When
+        CompletableFuture<String> result = telecomProviderClient.getDevicePhoneNumberAsync();
+
+        // Then
+        assertThat(result).isNotDone();
+        pending.completeExceptionally(new RuntimeException("Provider unavailable"));
+        assertThat(result.join()).isEqualTo("+0987654321");
+    }
+
+    @Test
+    public void getDevicePhoneNumberAsync_bothProvidersFail_returnsNull() {
+        // Given
+        when(primaryProvider.getDevicePhoneNumberAsync())
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Primary provider unavailable")));
+        when(fallbackProvider.getDevicePhoneNumberAsync())
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Fallback provider unavailable")));
+
+        // When
+        String result = telecomProviderClient.getDevicePhoneNumberAsync().join();
+
+        // Then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void verifyPhoneNumberAsync_routedChain_triesEachProviderInOrder() {
+        // Given
+        AsyncProvider regionalProvider = mock(AsyncProvider.class);
+        ProviderRoutingTable routingTable = new ProviderRoutingTable(
+                Map.of("regionalProvider", regionalProvider,
+                        "defaultTelecomProvider", primaryProvider,
+                        "fallbackTelecomProvider", fallbackProvider),
+                new PhoneNumberUtils(),
+                "defaultTelecomProvider,fallbackTelecomProvider",
+                "44=regionalProvider,defaultTelecomProvider,fallbackTelecomProvider");
+        TelecomProviderClient routedClient = new TelecomProviderClient(
+                primaryProvider, fallbackProvider, null, null, null, routingTable, null, null);
+        when(regionalProvider.verifyPhoneNumberAsync(UK_PHONE_NUMBER))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Regional provider unavailable")));
+        when(primaryProvider.verifyPhoneNumberAsync(UK_PHONE_NUMBER))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Primary provider unavailable")));
+        when(fallbackProvider.verifyPhoneNumberAsync(UK_PHONE_NUMBER))
+                .thenReturn(CompletableFuture.completedFuture(VerificationStatus.MATCH));
+
+        // When
+        VerificationStatus result = routedClient.verifyPhoneNumberAsync(UK_PHONE_NUMBER).join();
+
+        // Then
+        assertThat(result).isEqualTo(VerificationStatus.MATCH);
+        verify(regionalProvider).verifyPhoneNumberAsync(UK_PHONE_NUMBER);
+        verify(primaryProvider).verifyPhoneNumberAsync(UK_PHONE_NUMBER);
+    }
+
+    @Test
+    public void verifyPhoneNumberAsync_primaryHangs_fallbackAnswersWithinDeadline() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestDeadlines requestDeadlines = new RequestDeadlines(true, Duration.ofSeconds(3), Duration.ofSeconds(5),
+                0.5, meterRegistry);
+        TelecomProviderClient client = new TelecomProviderClient(
+                primaryProvider, fallbackProvider, null, null, null, null, null, requestDeadlines);
+        CompletableFuture<VerificationStatus> hangingCall = new CompletableFuture<>();
+        when(primaryProvider.verifyPhoneNumberAsync(TEST_PHONE_NUMBER)).thenReturn(hangingCall);
+        when(fallbackProvider.verifyPhoneNumberAsync(TEST_PHONE_NUMBER))
+                .thenReturn(CompletableFuture.completedFuture(VerificationStatus.MATCH));
+
+        // When
+        long start = System.nanoTime();
+        VerificationStatus result = client.verifyPhoneNumberAsync(TEST_PHONE_NUMBER,
+                Deadline.after(Duration.ofMillis(400))).join();
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        assertThat(result).isEqualTo(VerificationStatus.MATCH);
+        assertThat(elapsedMillis).isLessThan(400);
+        assertThat(hangingCall).isCancelled();
+        assertThat(meterRegistry.find("request.deadline.budget.consumed")
+                .tag("stage", RequestDeadlines.STAGE_PROVIDER_PRIMARY).summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("request.deadline.budget.consumed")
+                .tag("stage", RequestDeadlines.STAGE_PROVIDER_FALLBACK).summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void verifyPhoneNumberAsync_deadlinePassed_callsNoProvider() {
+        // Given
+        Deadline expired = Deadline.after(Duration.ZERO);
+
+        // When
+        VerificationStatus result = telecomProviderClient.verifyPhoneNumberAsync(TEST_PHONE_NUMBER, expired).join();
+
+        // Then
+        assertThat(result).isEqualTo(VerificationStatus.INDETERMINATE);
+        verify(primaryProvider, never()).verifyPhoneNumberAsync(TEST_PHONE_NUMBER);
+        verifyNoInteractions(fallbackProvider);
+    }
+}
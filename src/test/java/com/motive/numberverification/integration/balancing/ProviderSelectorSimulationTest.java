@@ -0,0 +1,114 @@
+package com.motive.numberverification.integration.balancing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.motive.numberverification.integration.provider.TelecomProvider;
+import com.motive.numberverification.integration.routing.ProviderChain;
+
+/**
+ * Discrete-event simulation on a virtual clock: one request arrives every millisecond and two
+ * equivalent providers serve them, until one degrades.
+ */
+public class ProviderSelectorSimulationTest {
+
+    private static final int DEGRADING = 1;
+    private static final int PHASE_REQUESTS = 3_000;
+
+    private AtomicLong clock;
+    private ProviderSelector selector;
+    private ProviderChain chain;
+    private Random random;
+
+    @BeforeEach
+    public void setup() {
+        clock = new AtomicLong();
+        selector = new ProviderSelector(true, Duration.ofSeconds(1), Duration.ofSeconds(1), clock::get);
+        chain = ProviderChain.of(List.of("healthy", "degrading"),
+                List.of(mock(TelecomProvider.class), mock(TelecomProvider.class)));
+        random = new Random(42);
+    }
+
+    @Test
+    public void trafficShiftsAwayFromDegradedProvider() {
+        // Given
+        PriorityQueue<Completion> completions = new PriorityQueue<>();
+
+        // When: both providers answer in 20ms, then one slows to 150ms and fails 20% of calls
+        double balancedShare = run(completions, false);
+        double degradedShare = run(completions, true);
+
+        // Then
+        assertThat(balancedShare).isBetween(0.3, 0.7);
+        assertThat(degradedShare).isLessThan(0.1);
+        assertThat(selector.stats("degrading").latencyMillis()).isGreaterThan(selector.stats("healthy").latencyMillis());
+        assertThat(selector.scores()).containsOnlyKeys("healthy", "degrading");
+    }
+
+    @Test
+    public void avoidedProviderIsRetriedOnceItsEstimateDecays() {
+        // Given
+        PriorityQueue<Completion> completions = new PriorityQueue<>();
+        run(completions, true);
+
+        // When: the degraded provider recovers and traffic continues after a quiet period
+        drain(completions, Long.MAX_VALUE);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        double recoveredShare = run(completions, false);
+
+        // Then
+        assertThat(recoveredShare).isGreaterThan(0.2);
+    }
+
+    /**
+     * Run one phase and return the share of its second half sent to the degrading provider.
+     */
+    private double run(PriorityQueue<Completion> completions, boolean degraded) {
+        int degradedCalls = 0;
+        long start = clock.get();
+        for (int i = 0; i < PHASE_REQUESTS; i++) {
+            long arrival = start + TimeUnit.MILLISECONDS.toNanos(i);
+            drain(completions, arrival);
+            clock.set(arrival);
+
+            int index = selector.select(chain);
+            ProviderStats stats = selector.stats(chain.name(index));
+            long callStart = stats.start();
+            boolean slow = degraded && index == DEGRADING;
+            long latency = TimeUnit.MILLISECONDS.toNanos(slow ? 150 : 20);
+            boolean success = !slow || random.nextDouble() >= 0.2;
+            completions.add(new Completion(arrival + latency, stats, callStart, success));
+
+            if (i >= PHASE_REQUESTS / 2 && index == DEGRADING) {
+                degradedCalls++;
+            }
+        }
+        return degradedCalls / (PHASE_REQUESTS / 2.0);
+    }
+
+    private void drain(PriorityQueue<Completion> completions, long until) {
+        while (!completions.isEmpty() && completions.peek().at <= until) {
+            Completion completion = completions.poll();
+            clock.set(Math.max(clock.get(), completion.at));
+            completion.stats.complete(completion.start, completion.success);
+        }
+    }
+
+    private record Completion(long at, ProviderStats stats, long start, boolean success)
+            implements Comparable<Completion> {
+        @Override
+        public int compareTo(Completion other) {
+            return Long.compare(at, other.at);
+        }
+    }
+}
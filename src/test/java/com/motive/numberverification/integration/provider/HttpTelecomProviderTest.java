@@ -0,0 +1,87 @@
+package com.motive.numberverification.integration.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Exercises {@link HttpTelecomProvider} against a local stub HTTP server.
+ * The pooled client it runs on in production is covered by {@code HttpProviderConfigTest}.
+ */
+public class HttpTelecomProviderTest {
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/verify", exchange -> respond(exchange, "{\"devicePhoneNumberVerified\":true}"));
+        server.createContext("/device-phone-number", exchange -> respond(exchange, "{\"phoneNumber\":\"+1234567890\"}"));
+        server.createContext("/", exchange -> respond(exchange, 503, "{}"));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void verifyPhoneNumber_mapsResponseToMatch() {
+        HttpTelecomProvider provider = provider();
+
+        assertThat(provider.verifyPhoneNumberAsync("+1234567890").join()).isEqualTo(VerificationStatus.MATCH);
+        assertThat(provider.verifyPhoneNumber("+1234567890")).isEqualTo(VerificationStatus.MATCH);
+    }
+
+    @Test
+    public void getDevicePhoneNumber_returnsProviderNumber() {
+        HttpTelecomProvider provider = provider();
+
+        assertThat(provider.getDevicePhoneNumberAsync().join()).isEqualTo("+1234567890");
+    }
+
+    @Test
+    public void errorResponse_failsTheFuture() {
+        WebClient webClient = WebClient.builder().baseUrl(baseUrl + "/broken").build();
+        HttpTelecomProvider provider = new HttpTelecomProvider("test", webClient, Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> provider.verifyPhoneNumberAsync("+1234567890").join())
+                .hasMessageContaining("503");
+    }
+
+    private HttpTelecomProvider provider() {
+        WebClient webClient = WebClient.builder().baseUrl(baseUrl).build();
+        return new HttpTelecomProvider("test", webClient, Duration.ofSeconds(5));
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        respond(exchange, 200, body);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.motive.numberverification.integration.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.motive.numberverification.api.model.VerificationStatus;
+
+public class SimulatedTelecomProviderTest {
+
+    @Test
+    public void statusIsDeterministicPerNumberAndSeed() {
+        // Given
+        SimulatedTelecomProvider first = new SimulatedTelecomProvider("first", instantSettings(7));
+        SimulatedTelecomProvider second = new SimulatedTelecomProvider("second", instantSettings(7));
+        List<String> numbers = IntStream.range(0, 1_000).mapToObj(i -> "+4479111" + (10_000 + i)).toList();
+
+        // When
+        List<VerificationStatus> firstResults = first.verifyPhoneNumbersAsync(numbers).join();
+        List<VerificationStatus> secondResults = numbers.stream().map(second::verifyPhoneNumber).toList();
+
+        // Then
+        assertThat(firstResults).isEqualTo(secondResults);
+        long matches = firstResults.stream().filter(status -> status == VerificationStatus.MATCH).count();
+        assertThat(matches).isBetween(620L, 780L);
+    }
+
+    @Test
+    public void errorsAndTimeoutsAreInjectedAtConfiguredRates() {
+        // Given
+        SimulatorSettings settings = instantSettings(1);
+        settings.setErrorRate(0.2);
+        settings.setTimeoutRate(0.1);
+        settings.setTimeout(Duration.ZERO);
+        SimulatedTelecomProvider provider = new SimulatedTelecomProvider("faulty", settings);
+
+        // When
+        List<CompletableFuture<VerificationStatus>> calls = IntStream.range(0, 2_000)
+                .mapToObj(i -> provider.verifyPhoneNumberAsync("+1234567890"))
+                .toList();
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+
+        // Then
+        long timeouts = calls.stream().filter(call -> causeOf(call) instanceof TimeoutException).count();
+        long errors = calls.stream().filter(call -> causeOf(call) instanceof IllegalStateException).count();
+        assertThat(timeouts).isBetween(140L, 260L);
+        // Errors are drawn for calls that did not time out
+        assertThat(errors).isBetween(280L, 440L);
+    }
+
+    @Test
+    public void scriptedBrownOutDegradesOnlyInsideItsWindow() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        SimulatorSettings.BrownOut brownOut = new SimulatorSettings.BrownOut();
+        brownOut.setStart(Duration.ofSeconds(10));
+        brownOut.setDuration(Duration.ofSeconds(5));
+        brownOut.setErrorRate(1.0);
+        SimulatorSettings settings = instantSettings(1);
+        settings.setBrownOuts(List.of(brownOut));
+        settings.setBrownOutPeriod(Duration.ofSeconds(60));
+        SimulatedTelecomProvider provider = new SimulatedTelecomProvider("browning", settings, clock::get);
+
+        // When / Then
+        assertThat(provider.getDevicePhoneNumberAsync().join()).isEqualTo("+1234567890");
+        clock.set(Duration.ofSeconds(12).toNanos());
+        assertThat(causeOf(provider.getDevicePhoneNumberAsync())).isInstanceOf(IllegalStateException.class);
+        clock.set(Duration.ofSeconds(16).toNanos());
+        assertThat(provider.getDevicePhoneNumberAsync().join()).isEqualTo("+1234567890");
+        clock.set(Duration.ofSeconds(72).toNanos());
+        assertThat(causeOf(provider.getDevicePhoneNumberAsync())).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void latencyDistributionsHaveTheConfiguredMedianAndTail() {
+        // Given
+        SimulatorSettings logNormal = instantSettings(3);
+        logNormal.setLatencyDistribution(SimulatorSettings.LatencyDistribution.LOG_NORMAL);
+        logNormal.setMedianLatency(Duration.ofMillis(100));
+        logNormal.setLatencySigma(0.5);
+        SimulatorSettings pareto = instantSettings(3);
+        pareto.setLatencyDistribution(SimulatorSettings.LatencyDistribution.PARETO);
+        pareto.setMedianLatency(Duration.ofMillis(100));
+        pareto.setParetoAlpha(1.5);
+
+        // When
+        long[] logNormalSamples = samples(new SimulatedTelecomProvider("log-normal", logNormal));
+        long[] paretoSamples = samples(new SimulatedTelecomProvider("pareto", pareto));
+
+        // Then
+        assertThat(millis(percentile(logNormalSamples, 0.5))).isBetween(90L, 110L);
+        assertThat(millis(percentile(paretoSamples, 0.5))).isBetween(90L, 110L);
+        // Pareto's heavier tail: p99 / p50 is about 16 for alpha 1.5 against about 3.2 for sigma 0.5
+        assertThat(percentile(paretoSamples, 0.99)).isGreaterThan(3 * percentile(logNormalSamples, 0.99));
+    }
+
+    private static SimulatorSettings instantSettings(long seed) {
+        SimulatorSettings settings = new SimulatorSettings();
+        settings.setSeed(seed);
+        settings.setLatencyDistribution(SimulatorSettings.LatencyDistribution.FIXED);
+        settings.setMedianLatency(Duration.ZERO);
+        return settings;
+    }
+
+    private static long[] samples(SimulatedTelecomProvider provider) {
+        long[] samples = new long[20_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = provider.sampleLatencyNanos(i);
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) (sorted.length * p)];
+    }
+
+    private static long millis(long nanos) {
+        return Duration.ofNanos(nanos).toMillis();
+    }
+
+    private static Throwable causeOf(CompletableFuture<?> future) {
+        try {
+            future.get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        }
+    }
+}
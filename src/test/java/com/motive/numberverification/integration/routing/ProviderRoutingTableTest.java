@@ -0,0 +1,99 @@
+package com.motive.numberverification.integration.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.motive.numberverification.common.util.PhoneNumberUtils;
+import com.motive.numberverification.integration.provider.TelecomProvider;
+
+public class ProviderRoutingTableTest {
+
+    private ProviderRoutingTable routingTable;
+
+    @BeforeEach
+    public void setup() {
+        Map<String, TelecomProvider> providers = Map.of(
+                "defaultTelecomProvider", mock(TelecomProvider.class),
+                "fallbackTelecomProvider", mock(TelecomProvider.class),
+                "ukOperator", mock(TelecomProvider.class),
+                "bayAreaOperator", mock(TelecomProvider.class));
+        routingTable = new ProviderRoutingTable(providers, new PhoneNumberUtils(),
+                "defaultTelecomProvider,fallbackTelecomProvider",
+                "44=ukOperator,fallbackTelecomProvider;1=defaultTelecomProvider;+1415=bayAreaOperator,defaultTelecomProvider");
+    }
+
+    @Test
+    public void route_picksLongestMatchingPrefix() {
+        // When
+        ProviderChain bayArea = routingTable.route("+14155550100");
+        ProviderChain northAmerica = routingTable.route("+12125550100");
+        ProviderChain uk = routingTable.route("+447911123456");
+
+        // Then
+        assertThat(bayArea.names()).containsExactly("bayAreaOperator", "defaultTelecomProvider");
+        assertThat(northAmerica.names()).containsExactly("defaultTelecomProvider");
+        assertThat(uk.names()).containsExactly("ukOperator", "fallbackTelecomProvider");
+    }
+
+    @Test
+    public void route_unmatchedNumberUsesDefaultChain() {
+        // When
+        ProviderChain chain = routingTable.route("+33612345678");
+
+        // Then
+        assertThat(chain).isSameAs(routingTable.defaultChain());
+        assertThat(chain.names()).containsExactly("defaultTelecomProvider", "fallbackTelecomProvider");
+    }
+
+    @Test
+    public void reload_replacesRoutesWithoutRestart() {
+        // When
+        routingTable.reload(null, "FR=fallbackTelecomProvider");
+
+        // Then
+        assertThat(routingTable.route("+33612345678").names()).containsExactly("fallbackTelecomProvider");
+        assertThat(routingTable.route("+447911123456")).isSameAs(routingTable.defaultChain());
+        assertThat(routingTable.describe()).containsOnlyKeys("default", "+33");
+    }
+
+    @Test
+    public void reload_invalidSpecKeepsCurrentTable() {
+        // When / Then
+        assertThatThrownBy(() -> routingTable.reload(null, "44=unknownOperator"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> routingTable.reload(null, "999=defaultTelecomProvider"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(routingTable.route("+447911123456").names()).containsExactly("ukOperator", "fallbackTelecomProvider");
+    }
+
+    @Test
+    public void reload_regionSharingCallingCode_rejected() {
+        // When / Then: US shares +1 with Canada and the Caribbean, GB shares +44 with the Crown Dependencies
+        assertThatThrownBy(() -> routingTable.reload(null, "US=fallbackTelecomProvider"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CA");
+        assertThatThrownBy(() -> routingTable.reload(null, "GB=fallbackTelecomProvider"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("JE");
+        assertThat(routingTable.route("+14165550100").names()).containsExactly("defaultTelecomProvider");
+    }
+
+    @Test
+    public void reload_duplicatePrefix_rejected() {
+        // When / Then
+        assertThatThrownBy(() -> routingTable.reload(null, "FR=ukOperator;+33=fallbackTelecomProvider"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("+33");
+        assertThatThrownBy(() -> routingTable.reload(null, "1415=ukOperator;+1415=bayAreaOperator"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("+1415");
+        assertThat(routingTable.route("+33612345678")).isSameAs(routingTable.defaultChain());
+        assertThat(routingTable.route("+14155550100").names()).containsExactly("bayAreaOperator", "defaultTelecomProvider");
+    }
+}
@@ -0,0 +1,100 @@
+package com.motive.numberverification.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.motive.numberverification.common.util.PhoneNumberHasher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class DeviceNumberDigestsTest {
+
+    private final PhoneNumberHasher hasher = new PhoneNumberHasher();
+    private PhoneNumberHasher hasherSpy;
+    private SimpleMeterRegistry meterRegistry;
+    private DeviceNumberDigests digests;
+
+    @BeforeEach
+    public void setup() {
+        hasherSpy = spy(new PhoneNumberHasher());
+        meterRegistry = new SimpleMeterRegistry();
+        digests = new DeviceNumberDigests(hasherSpy, DataSize.ofMegabytes(1), Duration.ofMinutes(30), false,
+                meterRegistry);
+    }
+
+    @Test
+    public void matches_anyInternationalSpellingOfTheDeviceNumber() {
+        // Given
+        String deviceNumber = "+447700900123";
+
+        // When / Then
+        assertThat(digests.matches("client-a", deviceNumber, hasher.hashHex("+447700900123"))).isTrue();
+        assertThat(digests.matches("client-a", deviceNumber, hasher.hashHex("447700900123"))).isTrue();
+        assertThat(digests.matches("client-a", deviceNumber, hasher.hashHex("00447700900123"))).isTrue();
+        assertThat(digests.matches("client-a", deviceNumber, hasher.hashHex("7700900123"))).isFalse();
+        assertThat(digests.matches("client-a", deviceNumber, hasher.hashHex("07700900123"))).isFalse();
+        assertThat(digests.matches("client-a", deviceNumber, hasher.hashHex("+447700900124"))).isFalse();
+    }
+
+    @Test
+    public void nationalForms_matchOnlyWhenEnabled() {
+        // Given
+        DeviceNumberDigests withNationalForms = new DeviceNumberDigests(new PhoneNumberHasher(),
+                DataSize.ofMegabytes(1), Duration.ofMinutes(30), true, meterRegistry);
+
+        // When / Then
+        assertThat(withNationalForms.matches("client-a", "+447700900123", hasher.hashHex("7700900123"))).isTrue();
+        assertThat(withNationalForms.matches("client-a", "+447700900123", hasher.hashHex("07700900123"))).isTrue();
+        assertThat(digests.variants("+447700900123"))
+                .containsExactly("+447700900123", "447700900123", "00447700900123");
+    }
+
+    @Test
+    public void repeatedChecks_hashTheDeviceNumberOnce() {
+        // Given
+        String hash = hasher.hashHex("+14155550123");
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertThat(digests.matches("client-a", "+14155550123", hash)).isTrue();
+        }
+
+        // Then
+        verify(hasherSpy, times(1)).digest(eq("+14155550123"), any(byte[].class), eq(0));
+        assertThat(meterRegistry.get("verification.hash.memo.bytes").gauge().value()).isPositive();
+    }
+
+    @Test
+    public void deviceNumberChanged_digestsRecomputed() {
+        // Given
+        digests.matches("client-a", "+14155550123", hasher.hashHex("+14155550123"));
+
+        // When
+        boolean oldNumber = digests.matches("client-a", "+14155550199", hasher.hashHex("+14155550123"));
+        boolean newNumber = digests.matches("client-a", "+14155550199", hasher.hashHex("+14155550199"));
+
+        // Then
+        assertThat(oldNumber).isFalse();
+        assertThat(newNumber).isTrue();
+        verify(hasherSpy, times(1)).digest(eq("+14155550199"), any(byte[].class), eq(0));
+    }
+
+    @Test
+    public void notE164_onlyExactNumberMatches() {
+        // When / Then
+        assertThat(digests.variants("device-42")).containsExactly("device-42");
+        assertThat(digests.matches("client-a", "device-42", hasher.hashHex("device-42"))).isTrue();
+        verify(hasherSpy, times(1)).digest(anyString(), any(byte[].class), eq(0));
+    }
+}
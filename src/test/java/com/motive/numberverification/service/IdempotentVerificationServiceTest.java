@@ -0,0 +1,244 @@
+package com.motive.numberverification.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import com.motive.numberverification.api.model.VerificationRequest;
+import com.motive.numberverification.api.model.VerificationStatus;
+import com.motive.numberverification.common.cache.CacheLock;
+import com.motive.numberverification.common.cache.StampedeProtection;
+import com.motive.numberverification.common.deadline.Deadline;
+import com.motive.numberverification.common.deadline.RequestDeadlines;
+import com.motive.numberverification.common.exception.ApiException;
+import com.motive.numberverification.common.exception.ValidationError;
+import com.motive.numberverification.common.util.PhoneNumberHasher;
+import com.motive.numberverification.common.util.PhoneNumberUtils;
+import com.motive.numberverification.integration.TelecomProviderClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class IdempotentVerificationServiceTest {
+
+    private VerificationService verificationService;
+    private ConcurrentMapCache responses;
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotentVerificationService service;
+
+    @BeforeEach
+    public void setup() {
+        verificationService = mock(VerificationService.class);
+        when(verificationService.verifyPhoneNumberDefinitiveAsync(any(VerificationRequest.class), anyString(), any(Deadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        responses = new ConcurrentMapCache("idempotentResponses");
+        meterRegistry = new SimpleMeterRegistry();
+        service = service(CacheLock.local());
+    }
+
+    @Test
+    public void sameKeyAndBody_replaysFirstResult() {
+        // When
+        boolean first = service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a", Deadline.none()).join();
+        boolean replayed = service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a", Deadline.none()).join();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(replayed).isTrue();
+        verify(verificationService, times(1)).verifyPhoneNumberDefinitiveAsync(any(VerificationRequest.class), anyString(), any(Deadline.class));
+        assertThat(meterRegistry.counter("verification.idempotency.requests", "result", "replayed").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void sameKeyDifferentBody_rejected() {
+        // Given
+        service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a", Deadline.none()).join();
+
+        // When / Then
+        assertThatThrownBy(() -> service.verifyPhoneNumberAsync("key-1", request("+14155550101"), "client-a",
+                Deadline.none()).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseReference(ValidationError.IDEMPOTENCY_KEY_REUSED.exception());
+        verify(verificationService, times(1)).verifyPhoneNumberDefinitiveAsync(any(VerificationRequest.class), anyString(), any(Deadline.class));
+    }
+
+    @Test
+    public void keys_scopedPerCaller() {
+        // When
+        service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a", Deadline.none()).join();
+        service.verifyPhoneNumberAsync("key-1", request("+14155550101"), "client-b", Deadline.none()).join();
+
+        // Then
+        verify(verificationService, times(2)).verifyPhoneNumberDefinitiveAsync(any(VerificationRequest.class), anyString(), any(Deadline.class));
+    }
+
+    @Test
+    public void concurrentDuplicates_waitForFirstExecution() {
+        // Given
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        when(verificationService.verifyPhoneNumberDefinitiveAsync(any(VerificationRequest.class), anyString(), any(Deadline.class)))
+                .thenReturn(pending);
+
+        // When
+        CompletableFuture<Boolean> first = service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a", Deadline.none());
+        CompletableFuture<Boolean> duplicate = service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a", Deadline.none());
+        CompletableFuture<Boolean> otherBody = service.verifyPhoneNumberAsync("key-1", request("+14155550101"), "client-a", Deadline.none());
+
+        // Then
+        assertThat(duplicate).isNotDone();
+        assertThat(otherBody).isCompletedExceptionally();
+        pending.complete(false);
+        assertThat(first.join()).isFalse();
+        assertThat(duplicate.join()).isFalse();
+        verify(verificationService, times(1)).verifyPhoneNumberDefinitiveAsync(any(VerificationRequest.class), anyString(), any(Deadline.class));
+    }
+
+    @Test
+    public void failedVerification_notStored() {
+        // Given
+        when(verificationService.verifyPhoneNumberDefinitiveAsync(any(VerificationRequest.class), anyString(), any(Deadline.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("provider down")))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        // When
+        CompletableFuture<Boolean> failed = service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a", Deadline.none());
+        boolean retried = service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a", Deadline.none()).join();
+
+        // Then
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(retried).isTrue();
+        verify(verificationService, times(2)).verifyPhoneNumberDefinitiveAsync(any(VerificationRequest.class), anyString(), any(Deadline.class));
+    }
+
+    @Test
+    public void providerFailure_notStoredAndRetried() {
+        // Given: the real verification workflow over a provider that fails once
+        TelecomProviderClient telecomProviderClient = mock(TelecomProviderClient.class);
+        when(telecomProviderClient.verifyPhoneNumberAsync(anyString(), any(Deadline.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("provider down")))
+                .thenReturn(CompletableFuture.completedFuture(VerificationStatus.MATCH));
+        verificationService = verificationService(telecomProviderClient);
+        service = service(CacheLock.local());
+
+        // When
+        CompletableFuture<Boolean> failed = service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a", Deadline.none());
+        boolean retried = service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a", Deadline.none()).join();
+
+        // Then
+        assertThatThrownBy(failed::join).hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(retried).isTrue();
+        verify(telecomProviderClient, times(2)).verifyPhoneNumberAsync(anyString(), any(Deadline.class));
+    }
+
+    @Test
+    public void indeterminateResult_notStored() {
+        // Given: the real verification workflow over a provider that cannot answer at first
+        TelecomProviderClient telecomProviderClient = mock(TelecomProviderClient.class);
+        when(telecomProviderClient.verifyPhoneNumberAsync(anyString(), any(Deadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(VerificationStatus.INDETERMINATE))
+                .thenReturn(CompletableFuture.completedFuture(VerificationStatus.NO_MATCH));
+        verificationService = verificationService(telecomProviderClient);
+        service = service(CacheLock.local());
+
+        // When
+        CompletableFuture<Boolean> unanswered = service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a", Deadline.none());
+        boolean retried = service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a", Deadline.none()).join();
+
+        // Then
+        assertThatThrownBy(unanswered::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseReference(ValidationError.VERIFICATION_UNAVAILABLE.exception());
+        assertThat(retried).isFalse();
+        assertThat(service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a", Deadline.none()).join())
+                .isFalse();
+        verify(telecomProviderClient, times(2)).verifyPhoneNumberAsync(anyString(), any(Deadline.class));
+    }
+
+    @Test
+    public void keyHeldByOtherInstance_waitsForItsResult() {
+        // Given: another instance holds the key and stores its result shortly
+        CacheLock heldElsewhere = mock(CacheLock.class);
+        when(heldElsewhere.tryLock(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        service = service(heldElsewhere);
+        VerificationRequest request = request("+14155550100");
+        CompletableFuture.runAsync(() -> responses.put("client-a:key-1",
+                        service.fingerprint(request) + ":0"),
+                CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+
+        // When
+        boolean verified = service.verifyPhoneNumberAsync("key-1", request, "client-a", Deadline.none()).join();
+
+        // Then
+        assertThat(verified).isFalse();
+        verify(verificationService, never()).verifyPhoneNumberDefinitiveAsync(any(VerificationRequest.class), anyString(), any(Deadline.class));
+        assertThat(meterRegistry.counter("verification.idempotency.requests", "result", "waited").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void keyHeldByOtherInstance_conflictOnceDeadlinePasses() {
+        // Given: another instance holds the key and never stores a result
+        CacheLock heldElsewhere = mock(CacheLock.class);
+        when(heldElsewhere.tryLock(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        service = service(heldElsewhere);
+        long start = System.nanoTime();
+
+        // When / Then: the 5s wait is cut short by the request deadline
+        assertThatThrownBy(() -> service.verifyPhoneNumberAsync("key-1", request("+14155550100"), "client-a",
+                Deadline.after(Duration.ofMillis(100))).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseReference(ValidationError.IDEMPOTENCY_KEY_IN_PROGRESS.exception());
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(ValidationError.IDEMPOTENCY_KEY_IN_PROGRESS.exception().getStatus()).isEqualTo(HttpStatus.CONFLICT);
+        verify(verificationService, never()).verifyPhoneNumberDefinitiveAsync(any(VerificationRequest.class), anyString(), any(Deadline.class));
+        assertThat(meterRegistry.counter("verification.idempotency.requests", "result", "in_progress").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void validateKey_rejectsEmptyAndOverlongKeys() {
+        // When / Then
+        assertThat(IdempotentVerificationService.validateKey("0f8fad5b-d9cb-469f-a165-70867728950e")).isNull();
+        assertThat(IdempotentVerificationService.validateKey("")).isEqualTo(ValidationError.IDEMPOTENCY_KEY_FORMAT);
+        assertThat(IdempotentVerificationService.validateKey("k".repeat(256))).isEqualTo(ValidationError.IDEMPOTENCY_KEY_FORMAT);
+        assertThat(ValidationError.IDEMPOTENCY_KEY_FORMAT.exception()).isInstanceOf(ApiException.class);
+    }
+
+    private static VerificationService verificationService(TelecomProviderClient telecomProviderClient) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StampedeProtection stampedeProtection = new StampedeProtection(CacheLock.local(), 0.0, Duration.ofMinutes(1),
+                32, Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofMillis(250), registry);
+        DeviceNumberDigests deviceNumberDigests = new DeviceNumberDigests(new PhoneNumberHasher(),
+                DataSize.ofMegabytes(1), Duration.ofMinutes(30), false, registry);
+        return new VerificationService(telecomProviderClient, registry, new RequestDeadlines(true, Duration.ofSeconds(3), Duration.ofSeconds(5), 0.6, registry),
+                new ConcurrentMapCacheManager(), stampedeProtection, deviceNumberDigests, new PhoneNumberUtils());
+    }
+
+    private IdempotentVerificationService service(CacheLock cacheLock) {
+        return new IdempotentVerificationService(verificationService, responses, cacheLock, Duration.ofSeconds(10),
+                Duration.ofSeconds(5), meterRegistry, new PhoneNumberHasher(), System::currentTimeMillis);
+    }
+
+    private static VerificationRequest request(String phoneNumber) {
+        VerificationRequest request = new VerificationRequest();
+        request.setPhoneNumber(phoneNumber);
+        return request;
+    }
+}
@@ -1,25 +1,45 @@
 package com.motive.numberverification.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.motive.numberverification.api.model.DevicePhoneNumberResponse;
 import com.motive.numberverification.api.model.VerificationRequest;
 import com.motive.numberverification.api.model.VerificationStatus;
+import com.motive.numberverification.common.cache.CacheLock;
+import com.motive.numberverification.common.cache.StampedeProtection;
+import com.motive.numberverification.common.deadline.Deadline;
+import com.motive.numberverification.common.deadline.RequestDeadlines;
+import com.motive.numberverification.common.exception.ValidationError;
+import com.motive.numberverification.common.util.PhoneNumberHasher;
+import com.motive.numberverification.common.util.PhoneNumberUtils;
 import com.motive.numberverification.integration.TelecomProviderClient;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +54,28 @@ public class VerificationServiceTest {
     @Mock
     private ServletRequestAttributes servletRequestAttributes;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private RequestDeadlines requestDeadlines = new RequestDeadlines(true, Duration.ofSeconds(3), Duration.ofSeconds(5),
+            0.6, new SimpleMeterRegistry());
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    @Spy
+    private StampedeProtection stampedeProtection = new StampedeProtection(CacheLock.local(), 0.0,
+            Duration.ofMinutes(1), 32, Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofMillis(250),
+            new SimpleMeterRegistry());
+
+    @Spy
+    private DeviceNumberDigests deviceNumberDigests = new DeviceNumberDigests(new PhoneNumberHasher(),
+            DataSize.ofMegabytes(1), Duration.ofMinutes(30), false, new SimpleMeterRegistry());
+
+    @Spy
+    private PhoneNumberUtils phoneNumberUtils = new PhoneNumberUtils();
+
     @InjectMocks
     private VerificationService verificationService;
 
@@ -41,8 +83,8 @@ public class VerificationServiceTest {
     public void setup() {
         // Mock request context holder
         RequestContextHolder.setRequestAttributes(servletRequestAttributes);
-        when(servletRequestAttributes.getRequest()).thenReturn(request);
-        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        lenient().when(servletRequestAttributes.getRequest()).thenReturn(request);
+        lenient().when(request.getRemoteAddr()).thenReturn("127.0.0.1");
     }
 
     @Test
@@ -53,7 +95,6 @@ public class VerificationServiceTest {
         
         // Mock telecom provider responses
         when(telecomProviderClient.verifyPhoneNumber(anyString())).thenReturn(VerificationStatus.MATCH);
-        when(telecomProviderClient.getDevicePhoneNumber()).thenReturn("+1234567890");
 
         // When
         boolean result = verificationService.verifyPhoneNumber(verificationRequest);
@@ -61,6 +102,27 @@ public class VerificationServiceTest {
         // Then
         assertThat(result).isTrue();
         verify(telecomProviderClient).verifyPhoneNumber("+1234567890");
+        verify(telecomProviderClient, never()).getDevicePhoneNumber();
+        assertThat(meterRegistry.counter("verification.provider.calls", "path", "plain", "lookup", "verify").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    public void verifyPhoneNumber_withHashedNumber_onlyFetchesDeviceNumber() {
+        // Given
+        VerificationRequest verificationRequest = new VerificationRequest();
+        // SHA-256 of "+1234567890"
+        verificationRequest.setHashedPhoneNumber("422ce82c6fc1724ac878042f7d055653ab5e983d186e616826a72d4384b68af8");
+        when(telecomProviderClient.getDevicePhoneNumber()).thenReturn("+1234567890");
+
+        // When
+        boolean result = verificationService.verifyPhoneNumber(verificationRequest);
+
+        // Then
+        assertThat(result).isTrue();
+        verify(telecomProviderClient, never()).verifyPhoneNumber(anyString());
+        assertThat(meterRegistry.counter("verification.provider.calls", "path", "hashed", "lookup", "device_phone_number").count())
+                .isEqualTo(1.0);
     }
 
     @Test
@@ -75,4 +137,119 @@ public class VerificationServiceTest {
         assertThat(phoneNumber).isEqualTo("+1234567890");
         verify(telecomProviderClient).getDevicePhoneNumber();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void verifyPhoneNumberAsync_identicalConcurrentRequests_shareOneProviderCall() {
+        // Given
+        VerificationRequest verificationRequest = new VerificationRequest();
+        verificationRequest.setPhoneNumber("+1234567890");
+        CompletableFuture<VerificationStatus> providerCall = new CompletableFuture<>();
+        Deadline deadline = Deadline.none();
+        when(telecomProviderClient.verifyPhoneNumberAsync("+1234567890", deadline)).thenReturn(providerCall);
+
+        // When
+        CompletableFuture<Boolean> first = verificationService.verifyPhoneNumberAsync(verificationRequest, "client-a", deadline);
+        CompletableFuture<Boolean> second = verificationService.verifyPhoneNumberAsync(verificationRequest, "client-a", deadline);
+        CompletableFuture<Boolean> otherCaller = verificationService.verifyPhoneNumberAsync(verificationRequest, "client-b", deadline);
+        providerCall.complete(VerificationStatus.MATCH);
+
+        // Then
+        assertThat(first.join()).isTrue();
+        assertThat(second.join()).isTrue();
+        assertThat(otherCaller.join()).isTrue();
+        verify(telecomProviderClient, times(2)).verifyPhoneNumberAsync("+1234567890", deadline);
+    }
+
+    @Test
+    public void verifyPhoneNumberAsync_repeatedRequest_answeredFromCache() {
+        // Given
+        VerificationRequest verificationRequest = new VerificationRequest();
+        verificationRequest.setPhoneNumber("+1234567890");
+        Deadline deadline = Deadline.none();
+        when(telecomProviderClient.verifyPhoneNumberAsync("+1234567890", deadline))
+                .thenReturn(CompletableFuture.completedFuture(VerificationStatus.NO_MATCH));
+
+        // When
+        boolean first = verificationService.verifyPhoneNumberAsync(verificationRequest, "client-a", deadline).join();
+        boolean second = verificationService.verifyPhoneNumberAsync(verificationRequest, "client-a", deadline).join();
+
+        // Then
+        assertThat(first).isFalse();
+        assertThat(second).isFalse();
+        verify(telecomProviderClient, times(1)).verifyPhoneNumberAsync("+1234567890", deadline);
+        assertThat(meterRegistry.counter("verification.provider.calls", "path", "plain", "lookup", "verify").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    public void verifyPhoneNumberAsync_indeterminateResult_notCached() {
+        // Given
+        VerificationRequest verificationRequest = new VerificationRequest();
+        verificationRequest.setPhoneNumber("+1234567890");
+        Deadline deadline = Deadline.none();
+        when(telecomProviderClient.verifyPhoneNumberAsync("+1234567890", deadline))
+                .thenReturn(CompletableFuture.completedFuture(VerificationStatus.INDETERMINATE));
+
+        // When
+        verificationService.verifyPhoneNumberAsync(verificationRequest, "client-a", deadline).join();
+        verificationService.verifyPhoneNumberAsync(verificationRequest, "client-a", deadline).join();
+
+        // Then
+        verify(telecomProviderClient, times(2)).verifyPhoneNumberAsync("+1234567890", deadline);
+    }
+
+    @Test
+    public void verifyPhoneNumberAsync_spellingsOfOneNumber_shareCachedResult() {
+        // Given
+        VerificationRequest withPlus = new VerificationRequest();
+        withPlus.setPhoneNumber("+14155550100");
+        VerificationRequest withoutPlus = new VerificationRequest();
+        withoutPlus.setPhoneNumber("14155550100");
+        Deadline deadline = Deadline.none();
+        when(telecomProviderClient.verifyPhoneNumberAsync("+14155550100", deadline))
+                .thenReturn(CompletableFuture.completedFuture(VerificationStatus.MATCH));
+
+        // When
+        boolean first = verificationService.verifyPhoneNumberAsync(withPlus, "client-a", deadline).join();
+        boolean second = verificationService.verifyPhoneNumberAsync(withoutPlus, "client-a", deadline).join();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        verify(telecomProviderClient, times(1)).verifyPhoneNumberAsync(anyString(), any(Deadline.class));
+    }
+
+    @Test
+    public void verifyPhoneNumberDefinitiveAsync_providerFailure_failsRatherThanNotVerified() {
+        // Given
+        VerificationRequest verificationRequest = new VerificationRequest();
+        verificationRequest.setPhoneNumber("+1234567890");
+        Deadline deadline = Deadline.none();
+        when(telecomProviderClient.verifyPhoneNumberAsync("+1234567890", deadline))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("provider down")));
+
+        // When
+        CompletableFuture<Boolean> lenientResult = verificationService.verifyPhoneNumberAsync(verificationRequest, "client-a", deadline);
+        CompletableFuture<Boolean> definitiveResult = verificationService.verifyPhoneNumberDefinitiveAsync(verificationRequest, "client-a", deadline);
+
+        // Then
+        assertThat(lenientResult.join()).isFalse();
+        assertThatThrownBy(definitiveResult::join).hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void verifyPhoneNumberDefinitiveAsync_indeterminateResult_failsAsUnavailable() {
+        // Given
+        VerificationRequest verificationRequest = new VerificationRequest();
+        verificationRequest.setPhoneNumber("+1234567890");
+        Deadline deadline = Deadline.none();
+        when(telecomProviderClient.verifyPhoneNumberAsync("+1234567890", deadline))
+                .thenReturn(CompletableFuture.completedFuture(VerificationStatus.INDETERMINATE));
+
+        // When
+        CompletableFuture<Boolean> result = verificationService.verifyPhoneNumberDefinitiveAsync(verificationRequest, "client-a", deadline);
+
+        // Then
+        assertThatThrownBy(result::join).hasCauseReference(ValidationError.VERIFICATION_UNAVAILABLE.exception());
+    }
+}